@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.Instance;
+
+import org.jboss.weld.benchmarks.beans.ApplicationScopedService;
+import org.jboss.weld.benchmarks.beans.DependentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures programmatic lookup through {@code InstanceImpl}, both with a cached {@link Instance} and with a {@code select()} per lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InstanceBenchmark {
+
+    private Instance<Object> root;
+
+    private Instance<ApplicationScopedService> applicationScoped;
+
+    private Instance<DependentService> dependent;
+
+    @Setup
+    public void setup(WeldContainerState state) {
+        root = state.getContainer();
+        applicationScoped = root.select(ApplicationScopedService.class);
+        dependent = root.select(DependentService.class);
+    }
+
+    @Benchmark
+    public ApplicationScopedService getApplicationScoped() {
+        return applicationScoped.get();
+    }
+
+    @Benchmark
+    public void getAndDestroyDependent(Blackhole blackhole) {
+        DependentService service = dependent.get();
+        blackhole.consume(service);
+        dependent.destroy(service);
+    }
+
+    @Benchmark
+    public ApplicationScopedService selectAndGet() {
+        return root.select(ApplicationScopedService.class).get();
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.benchmarks.beans.InterceptedService;
+import org.jboss.weld.interceptor.proxy.MethodInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the reflective invocation formerly used to proceed to the target method with the cached {@link MethodInvoker} used by the interception chain.
+ * The container is not involved so that only the invocation itself is measured, {@link InterceptionBenchmark} measures the whole chain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MethodInvokerBenchmark {
+
+    private InterceptedService target;
+
+    private Method method;
+
+    private MethodInvoker invoker;
+
+    private int value;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        target = new InterceptedService();
+        method = InterceptedService.class.getMethod("compute", int.class);
+        invoker = MethodInvoker.of(method);
+    }
+
+    @Benchmark
+    public Object invokeReflection() throws Exception {
+        if (!method.isAccessible()) {
+            method.setAccessible(true);
+        }
+        return method.invoke(target, value++);
+    }
+
+    @Benchmark
+    public Object invokeMethodInvoker() throws Exception {
+        return invoker.invoke(target, new Object[] { value++ });
+    }
+
+}
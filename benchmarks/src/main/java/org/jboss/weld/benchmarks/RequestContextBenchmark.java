@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.benchmarks.beans.RequestScopedService;
+import org.jboss.weld.context.bound.BoundLiteral;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link javax.enterprise.context.RequestScoped} context activation and deactivation, alone and together with the creation and use of a
+ * request scoped instance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RequestContextBenchmark {
+
+    private BoundRequestContext requestContext;
+
+    private RequestScopedService service;
+
+    @Setup
+    public void setup(WeldContainerState state) {
+        requestContext = state.getContainer().select(BoundRequestContext.class, BoundLiteral.INSTANCE).get();
+        service = state.getContainer().select(RequestScopedService.class).get();
+    }
+
+    @Benchmark
+    public void activateAndDeactivate() {
+        Map<String, Object> storage = new HashMap<String, Object>();
+        requestContext.associate(storage);
+        requestContext.activate();
+        requestContext.invalidate();
+        requestContext.deactivate();
+        requestContext.dissociate(storage);
+    }
+
+    @Benchmark
+    public int activateAndInvoke() {
+        Map<String, Object> storage = new HashMap<String, Object>();
+        requestContext.associate(storage);
+        requestContext.activate();
+        try {
+            return service.increment();
+        } finally {
+            requestContext.invalidate();
+            requestContext.deactivate();
+            requestContext.dissociate(storage);
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks;
+
+import org.jboss.weld.benchmarks.beans.ApplicationScopedService;
+import org.jboss.weld.benchmarks.beans.CountingInterceptor;
+import org.jboss.weld.benchmarks.beans.DependentService;
+import org.jboss.weld.benchmarks.beans.InterceptedService;
+import org.jboss.weld.benchmarks.beans.PayloadObserver;
+import org.jboss.weld.benchmarks.beans.RequestScopedService;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Boots a single Weld SE container per trial. Discovery is disabled and the benchmark beans are registered explicitly so that the measured numbers do
+ * not depend on the contents of the classpath.
+ */
+@State(Scope.Benchmark)
+public class WeldContainerState {
+
+    private Weld weld;
+
+    private WeldContainer container;
+
+    @Setup(Level.Trial)
+    public void start() {
+        weld = new Weld().disableDiscovery()
+                .beanClasses(ApplicationScopedService.class, DependentService.class, RequestScopedService.class, InterceptedService.class,
+                        PayloadObserver.class, CountingInterceptor.class)
+                .interceptors(CountingInterceptor.class);
+        container = weld.initialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        weld.shutdown();
+    }
+
+    public WeldContainer getContainer() {
+        return container;
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.benchmarks.beans;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+
+@Counted
+@Interceptor
+public class CountingInterceptor {
+
+    private static final AtomicLong INVOCATIONS = new AtomicLong();
+
+    @AroundInvoke
+    Object count(InvocationContext ctx) throws Exception {
+        INVOCATIONS.incrementAndGet();
+        return ctx.proceed();
+    }
+
+    public static long getInvocations() {
+        return INVOCATIONS.get();
+    }
+
+}
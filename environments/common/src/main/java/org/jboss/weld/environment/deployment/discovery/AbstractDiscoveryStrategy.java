@@ -20,10 +20,14 @@ import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import org.jboss.logging.Logger;
 import org.jboss.weld.bootstrap.api.Bootstrap;
@@ -55,6 +59,10 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
 
     private final List<BeanArchiveHandler> handlers;
 
+    private Executor executor;
+
+    protected DiscoveryCache cache;
+
     /**
      *
      * @param resourceLoader
@@ -73,6 +81,19 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
         this.scanner = scanner;
     }
 
+    @Override
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void setCache(DiscoveryCache cache) {
+        this.cache = cache;
+        for (BeanArchiveHandler handler : handlers) {
+            applyCache(handler);
+        }
+    }
+
     @Override
     public Set<WeldBeanDeploymentArchive> performDiscovery() {
 
@@ -80,63 +101,128 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
             scanner = new DefaultBeanArchiveScanner(resourceLoader, bootstrap);
         }
 
-        final List<BeanArchiveBuilder> beanArchiveBuilders = new ArrayList<BeanArchiveBuilder>();
+        final List<ScanResult> scanResults = scanner.scan();
         final Set<String> processedRefs = new HashSet<String>();
 
-        for (ScanResult scanResult : scanner.scan()) {
+        for (ScanResult scanResult : scanResults) {
             final String ref = scanResult.getBeanArchiveRef();
             if (processedRefs.contains(ref)) {
                 throw CommonLogger.LOG.invalidScanningResult(ref);
             }
-            CommonLogger.LOG.processingBeanArchiveReference(ref);
             processedRefs.add(ref);
-            BeanArchiveBuilder builder = null;
-            for (BeanArchiveHandler handler : handlers) {
-                builder = handler.handle(ref);
-                if (builder != null) {
-                    builder.setId(scanResult.getBeanArchiveId());
-                    builder.setBeansXml(scanResult.getBeansXml());
-                    beanArchiveBuilders.add(builder);
-                    break;
-                }
-            }
-            if (builder == null) {
-                CommonLogger.LOG.beanArchiveReferenceCannotBeHandled(ref, handlers);
+        }
+
+        final List<BeanArchiveBuilder> beanArchiveBuilders = new ArrayList<BeanArchiveBuilder>();
+        for (BeanArchiveBuilder builder : map(scanResults, this::handle)) {
+            if (builder != null) {
+                beanArchiveBuilders.add(builder);
             }
         }
 
         beforeDiscovery(beanArchiveBuilders);
-        Set<WeldBeanDeploymentArchive> archives = new HashSet<WeldBeanDeploymentArchive>();
-
-        for (Iterator<BeanArchiveBuilder> iterator = beanArchiveBuilders.iterator(); iterator.hasNext();) {
-            BeanArchiveBuilder builder = iterator.next();
-            BeansXml beansXml = builder.getBeansXml();
-            if(beansXml != null) {
-                switch (beansXml.getBeanDiscoveryMode()) {
-                    case ALL:
-                        addToArchives(archives, processAllDiscovery(builder));
-                        break;
-                    case ANNOTATED:
-                        addToArchives(archives, processAnnotatedDiscovery(builder));
-                        break;
-                    case NONE:
-                        addToArchives(archives, processNoneDiscovery(builder));
-                        break;
-                    default:
-                        throw CommonLogger.LOG.undefinedBeanDiscoveryValue(beansXml.getBeanDiscoveryMode());
-                }
-            } else {
-                // A candidate for an implicit bean archive with no beans.xml
-                addToArchives(archives, processAnnotatedDiscovery(builder));
-            }
+        // Keep the order of the scanning results
+        Set<WeldBeanDeploymentArchive> archives = new LinkedHashSet<WeldBeanDeploymentArchive>();
+
+        for (WeldBeanDeploymentArchive archive : map(beanArchiveBuilders, this::process)) {
+            addToArchives(archives, archive);
         }
         for (WeldBeanDeploymentArchive archive : archives) {
             archive.getServices().add(ResourceLoader.class, resourceLoader);
         }
         afterDiscovery(archives);
+        if (cache != null) {
+            CommonLogger.LOG.discoveryCacheStatistics(cache.getDirectory(), cache.getHitCount(), cache.getMissCount(), cache.getTimeSaved());
+        }
         return archives;
     }
 
+    /**
+     * Invoked instead of {@link #performDiscovery()} if the bean archives are restored from a {@link DiscoverySnapshot}. If the strategy keeps state built from
+     * the handled bean archives (see {@link #isArchiveStateRequired()}), the archives are handled and {@link #beforeDiscovery(Collection)} is invoked so that
+     * the state, e.g. the {@link ClassFileServices}, is the same as after a full discovery. The bean classes are never processed.
+     *
+     * @param scanResults
+     * @param archives the restored archives
+     */
+    void restoreDiscovery(List<ScanResult> scanResults, Set<WeldBeanDeploymentArchive> archives) {
+        if (isArchiveStateRequired()) {
+            final List<BeanArchiveBuilder> beanArchiveBuilders = new ArrayList<BeanArchiveBuilder>();
+            for (BeanArchiveBuilder builder : map(scanResults, this::handle)) {
+                if (builder != null) {
+                    beanArchiveBuilders.add(builder);
+                }
+            }
+            beforeDiscovery(beanArchiveBuilders);
+        }
+        afterDiscovery(archives);
+    }
+
+    private BeanArchiveBuilder handle(ScanResult scanResult) {
+        final String ref = scanResult.getBeanArchiveRef();
+        CommonLogger.LOG.processingBeanArchiveReference(ref);
+        for (BeanArchiveHandler handler : handlers) {
+            BeanArchiveBuilder builder = handler.handle(ref);
+            if (builder != null) {
+                builder.setId(scanResult.getBeanArchiveId());
+                builder.setBeansXml(scanResult.getBeansXml());
+                return builder;
+            }
+        }
+        CommonLogger.LOG.beanArchiveReferenceCannotBeHandled(ref, handlers);
+        return null;
+    }
+
+    private WeldBeanDeploymentArchive process(BeanArchiveBuilder builder) {
+        BeansXml beansXml = builder.getBeansXml();
+        if (beansXml != null) {
+            switch (beansXml.getBeanDiscoveryMode()) {
+                case ALL:
+                    return processAllDiscovery(builder);
+                case ANNOTATED:
+                    return processAnnotatedDiscovery(builder);
+                case NONE:
+                    return processNoneDiscovery(builder);
+                default:
+                    throw CommonLogger.LOG.undefinedBeanDiscoveryValue(beansXml.getBeanDiscoveryMode());
+            }
+        } else {
+            // A candidate for an implicit bean archive with no beans.xml
+            return processAnnotatedDiscovery(builder);
+        }
+    }
+
+    /**
+     * Applies the function to each element. If an executor is set, the elements are processed concurrently. In any case, the results are returned in the
+     * order of the elements.
+     */
+    private <T, R> List<R> map(List<T> elements, Function<T, R> function) {
+        final List<R> results = new ArrayList<R>(elements.size());
+        if (executor == null || elements.size() < 2) {
+            for (T element : elements) {
+                results.add(function.apply(element));
+            }
+            return results;
+        }
+        final List<CompletableFuture<R>> futures = new ArrayList<CompletableFuture<R>>(elements.size());
+        for (T element : elements) {
+            futures.add(CompletableFuture.supplyAsync(() -> function.apply(element), executor));
+        }
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return results;
+    }
+
     @Override
     public ClassFileServices getClassFileServices() {
         // By default no bytecode scanning facility available
@@ -155,6 +241,15 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
         deploymentArchives.add(bda);
     }
 
+    /**
+     * @return <code>true</code> if {@link #beforeDiscovery(Collection)} builds a state which is needed after the discovery (e.g. the {@link ClassFileServices}),
+     *         <code>false</code> otherwise
+     * @see #restoreDiscovery(List, Set)
+     */
+    protected boolean isArchiveStateRequired() {
+        return false;
+    }
+
     /**
      * Initialize the strategy before accessing found BeanArchiveBuilder builders. Best used for saving some information before the process method for each
      * builder is called.
@@ -190,7 +285,14 @@ public abstract class AbstractDiscoveryStrategy implements DiscoveryStrategy {
 
     @Override
     public void registerHandler(BeanArchiveHandler handler) {
+        applyCache(handler);
         handlers.add(handler);
     }
 
+    private void applyCache(BeanArchiveHandler handler) {
+        if (handler instanceof FileSystemBeanArchiveHandler) {
+            ((FileSystemBeanArchiveHandler) handler).setCache(cache);
+        }
+    }
+
 }
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.weld.environment.logging.CommonLogger;
+
+/**
+ * A directory with cached per-archive discovery results, e.g. a Jandex index built for a jar file.
+ * <p>
+ * Each entry is stored in a separate file named after the archive path and the kind of the data. An entry is only used if the size and the last
+ * modification time of the archive match the values recorded when the entry was written, i.e. the archive itself is never read. If the cached data depends on
+ * anything else than the contents of the archive, e.g. on the class loader used to load the classes, it must be reflected in the kind of the data. This class
+ * is thread-safe.
+ */
+public class DiscoveryCache {
+
+    private static final int MAGIC = 0x57444332;
+
+    private static final String ENTRY_SUFFIX = ".cache";
+
+    private final Path directory;
+
+    private final LongAdder hits;
+
+    private final LongAdder misses;
+
+    private final LongAdder savedNanos;
+
+    public DiscoveryCache(File directory) {
+        this.directory = directory.toPath();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.savedNanos = new LongAdder();
+    }
+
+    /**
+     *
+     * @param archive
+     * @param kind the kind of the cached data
+     * @return the cached data or <code>null</code> if there is no valid entry for the given archive
+     */
+    public byte[] get(File archive, String kind) {
+        final long start = System.nanoTime();
+        final Path entry = getEntryPath(archive, kind);
+        if (Files.isRegularFile(entry)) {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(entry)))) {
+                if (in.readInt() == MAGIC && in.readUTF().equals(archive.getAbsolutePath()) && in.readUTF().equals(kind) && in.readLong() == archive.length()
+                        && in.readLong() == archive.lastModified()) {
+                    long buildNanos = in.readLong();
+                    byte[] data = new byte[in.readInt()];
+                    in.readFully(data);
+                    hits.increment();
+                    savedNanos.add(Math.max(0, buildNanos - (System.nanoTime() - start)));
+                    return data;
+                }
+            } catch (IOException e) {
+                CommonLogger.LOG.unableToReadDiscoveryCacheEntry(entry, e);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     *
+     * @param archive
+     * @param kind the kind of the cached data
+     * @param data
+     * @param buildNanos the time it took to build the data, used to compute the time saved by subsequent cache hits
+     */
+    public void put(File archive, String kind, byte[] data, long buildNanos) {
+        final Path entry = getEntryPath(archive, kind);
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length + 256);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeUTF(archive.getAbsolutePath());
+                out.writeUTF(kind);
+                out.writeLong(archive.length());
+                out.writeLong(archive.lastModified());
+                out.writeLong(buildNanos);
+                out.writeInt(data.length);
+                out.write(data);
+            }
+            Files.createDirectories(directory);
+            // Write to a temporary file first so that a concurrent boot never reads an incomplete entry
+            Path tmp = Files.createTempFile(directory, entry.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tmp, bytes.toByteArray());
+                Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            CommonLogger.LOG.unableToWriteDiscoveryCacheEntry(entry, e);
+        }
+    }
+
+    public File getDirectory() {
+        return directory.toFile();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     *
+     * @return the estimated time saved by the cache hits, in milliseconds
+     */
+    public long getTimeSaved() {
+        return TimeUnit.NANOSECONDS.toMillis(savedNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DiscoveryCache [directory=%s, hits=%s, misses=%s, timeSaved=%s ms]", directory, getHitCount(), getMissCount(), getTimeSaved());
+    }
+
+    private Path getEntryPath(File archive, String kind) {
+        return directory.resolve(hash(kind + ":" + archive.getAbsolutePath()) + ENTRY_SUFFIX);
+    }
+
+    /**
+     *
+     * @param value
+     * @return the hex-encoded SHA-1 hash of the given value
+     */
+    static String hash(String value) {
+        try {
+            StringBuilder builder = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8))) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,280 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.enterprise.inject.spi.Extension;
+
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.bootstrap.spi.Metadata;
+import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
+import org.jboss.weld.environment.deployment.discovery.BeanArchiveScanner.ScanResult;
+import org.jboss.weld.environment.logging.CommonLogger;
+import org.jboss.weld.resources.spi.ResourceLoader;
+
+/**
+ * A persistent image of the discovery results, i.e. the bean archives found and the bean classes of each archive.
+ * <p>
+ * Locating the bean archives is cheap, while processing them (listing the classes, building the Jandex index or loading each class in order to find the
+ * bean defining annotations) is not. The snapshot is keyed by a hash of the bean archive references, their contents (file names, sizes and modification
+ * times), the extensions and the bean defining annotations. If the key matches, the archives are restored from the snapshot and the
+ * {@link DiscoveryStrategy} is not used at all. Any mismatch results in a full discovery and the snapshot is rewritten.
+ * <p>
+ * Note that only the discovery is skipped. Type processing, container lifecycle events and resolution are always performed as these depend on the portable
+ * extensions. If the strategy keeps a state built from the bean archives, e.g. the {@link org.jboss.weld.resources.spi.ClassFileServices} of the Jandex
+ * strategy, the archives are still handled when the snapshot is restored so that the state is available. Only the strategies extending
+ * {@link AbstractDiscoveryStrategy} support snapshots, other strategies always perform a full discovery.
+ */
+public final class DiscoverySnapshot {
+
+    private static final int MAGIC = 0x57454C44;
+
+    private static final int VERSION = 1;
+
+    private final String key;
+
+    private final Map<String, Collection<String>> beanClasses;
+
+    private DiscoverySnapshot(String key, Map<String, Collection<String>> beanClasses) {
+        this.key = key;
+        this.beanClasses = beanClasses;
+    }
+
+    /**
+     * Restores the bean archives from the snapshot file if it matches the current deployment, otherwise performs the discovery using the given strategy and
+     * writes a new snapshot.
+     *
+     * @param snapshotFile
+     * @param strategy
+     * @param scanner
+     * @param resourceLoader
+     * @param extensions
+     * @param beanDefiningAnnotations
+     * @return the set of discovered {@link WeldBeanDeploymentArchive}s
+     */
+    public static Set<WeldBeanDeploymentArchive> performDiscovery(File snapshotFile, DiscoveryStrategy strategy, BeanArchiveScanner scanner,
+            ResourceLoader resourceLoader, Iterable<Metadata<Extension>> extensions, Set<Class<? extends Annotation>> beanDefiningAnnotations) {
+        if (!(strategy instanceof AbstractDiscoveryStrategy)) {
+            // The state of the strategy cannot be restored
+            strategy.setScanner(scanner);
+            return strategy.performDiscovery();
+        }
+        final List<ScanResult> scanResults = scanner.scan();
+        final String key = computeKey(scanResults, strategy, extensions, beanDefiningAnnotations);
+        if (key != null && snapshotFile.isFile()) {
+            DiscoverySnapshot snapshot = read(snapshotFile);
+            if (snapshot != null && snapshot.key.equals(key)) {
+                Set<WeldBeanDeploymentArchive> archives = snapshot.restore(scanResults, resourceLoader);
+                if (archives != null) {
+                    ((AbstractDiscoveryStrategy) strategy).restoreDiscovery(scanResults, archives);
+                    CommonLogger.LOG.discoverySnapshotRestored(snapshotFile);
+                    return archives;
+                }
+            }
+            CommonLogger.LOG.discoverySnapshotMismatch(snapshotFile);
+        }
+        // Do not scan twice
+        strategy.setScanner(() -> scanResults);
+        Set<WeldBeanDeploymentArchive> archives = strategy.performDiscovery();
+        if (key != null) {
+            Map<String, Collection<String>> beanClasses = new HashMap<>();
+            for (WeldBeanDeploymentArchive archive : archives) {
+                beanClasses.put(archive.getId(), archive.getBeanClasses());
+            }
+            new DiscoverySnapshot(key, beanClasses).write(snapshotFile);
+        }
+        return archives;
+    }
+
+    /**
+     *
+     * @return the key or <code>null</code> if any of the bean archives cannot be inspected, i.e. the snapshot cannot be used
+     */
+    static String computeKey(List<ScanResult> scanResults, DiscoveryStrategy strategy, Iterable<Metadata<Extension>> extensions,
+            Set<Class<? extends Annotation>> beanDefiningAnnotations) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        update(digest, VERSION);
+        update(digest, strategy.getClass().getName());
+        Set<String> names = new TreeSet<>();
+        for (Metadata<Extension> extension : extensions) {
+            names.add(extension.getValue().getClass().getName());
+        }
+        for (Class<? extends Annotation> annotation : beanDefiningAnnotations) {
+            names.add("@" + annotation.getName());
+        }
+        for (String name : names) {
+            update(digest, name);
+        }
+        for (ScanResult result : scanResults) {
+            update(digest, result.getBeanArchiveRef());
+            update(digest, result.getBeanArchiveId());
+            BeansXml beansXml = result.getBeansXml();
+            update(digest, beansXml != null ? beansXml.getBeanDiscoveryMode().toString() : "");
+            File file = new File(result.getBeanArchiveRef());
+            if (!file.exists()) {
+                // Not a file system reference, e.g. a jar inside another archive
+                return null;
+            }
+            try {
+                updateFingerprint(digest, file.toPath());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    private static void updateFingerprint(MessageDigest digest, Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(path)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                update(digest, path.relativize(file).toString());
+                updateFileAttributes(digest, file);
+            }
+        } else {
+            updateFileAttributes(digest, path);
+        }
+    }
+
+    private static void updateFileAttributes(MessageDigest digest, Path file) throws IOException {
+        update(digest, Long.toString(Files.size(file)));
+        update(digest, Long.toString(Files.getLastModifiedTime(file).toMillis()));
+    }
+
+    private static void update(MessageDigest digest, int value) {
+        update(digest, Integer.toString(value));
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // Separator
+        digest.update((byte) 0);
+    }
+
+    /**
+     *
+     * @return the restored archives or <code>null</code> if the snapshot does not match the scanning results
+     */
+    private Set<WeldBeanDeploymentArchive> restore(List<ScanResult> scanResults, ResourceLoader resourceLoader) {
+        Map<String, ScanResult> results = new HashMap<>();
+        for (ScanResult result : scanResults) {
+            results.put(result.getBeanArchiveId(), result);
+        }
+        Set<WeldBeanDeploymentArchive> archives = new HashSet<>();
+        for (Map.Entry<String, Collection<String>> entry : beanClasses.entrySet()) {
+            ScanResult result = results.get(entry.getKey());
+            if (result == null) {
+                return null;
+            }
+            WeldBeanDeploymentArchive archive = new WeldBeanDeploymentArchive(entry.getKey(), entry.getValue(), result.getBeansXml());
+            archive.getServices().add(ResourceLoader.class, resourceLoader);
+            archives.add(archive);
+        }
+        return archives;
+    }
+
+    static DiscoverySnapshot read(File file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            String key = in.readUTF();
+            int archiveCount = in.readInt();
+            Map<String, Collection<String>> beanClasses = new HashMap<>();
+            for (int i = 0; i < archiveCount; i++) {
+                String id = in.readUTF();
+                int classCount = in.readInt();
+                List<String> classes = new ArrayList<>(classCount);
+                for (int j = 0; j < classCount; j++) {
+                    classes.add(in.readUTF());
+                }
+                beanClasses.put(id, classes);
+            }
+            return new DiscoverySnapshot(key, beanClasses);
+        } catch (IOException e) {
+            CommonLogger.LOG.unableToReadDiscoverySnapshot(file, e);
+            return null;
+        }
+    }
+
+    void write(File file) {
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            Files.createDirectories(directory.toPath());
+            // Write to a temporary file first so that a concurrent boot never reads an incomplete snapshot
+            File tmp = File.createTempFile(file.getName(), ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(key);
+                out.writeInt(beanClasses.size());
+                for (Map.Entry<String, Collection<String>> entry : beanClasses.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for (String beanClass : entry.getValue()) {
+                        out.writeUTF(beanClass);
+                    }
+                }
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp.toPath());
+            }
+        } catch (IOException e) {
+            CommonLogger.LOG.unableToWriteDiscoverySnapshot(file, e);
+        }
+    }
+
+}
@@ -17,6 +17,7 @@
 package org.jboss.weld.environment.deployment.discovery;
 
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
 import org.jboss.weld.resources.spi.ClassFileServices;
@@ -43,6 +44,25 @@ public interface DiscoveryStrategy {
      */
     void registerHandler(BeanArchiveHandler handler);
 
+    /**
+     * Optionally, a client may set an executor used to handle and process the bean archives concurrently. The order of the discovered archives does not
+     * depend on whether an executor is used. The handlers and the strategy itself must be thread-safe if an executor is set.
+     *
+     * @param executor the executor or <code>null</code> if the bean archives should be processed serially
+     */
+    default void setExecutor(Executor executor) {
+        // No-op by default
+    }
+
+    /**
+     * Optionally, a client may set a cache used to store the per-archive discovery results, e.g. Jandex indexes, between restarts.
+     *
+     * @param cache the cache or <code>null</code> if no cache should be used
+     */
+    default void setCache(DiscoveryCache cache) {
+        // No-op by default
+    }
+
     /**
      *
      * @return the set of discovered {@link WeldBeanDeploymentArchive}s
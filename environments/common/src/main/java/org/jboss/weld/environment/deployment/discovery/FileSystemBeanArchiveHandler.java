@@ -19,7 +19,9 @@ package org.jboss.weld.environment.deployment.discovery;
 import static org.jboss.weld.environment.util.URLUtils.PROCOTOL_JAR;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Enumeration;
@@ -44,6 +46,13 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
 
     public static final String CLASS_FILE_EXTENSION = Files.CLASS_FILE_EXTENSION;
 
+    /**
+     * The archive {@link File} is only set for archive files, not for directories.
+     */
+    public static final String ARCHIVE_FILE_ATTRIBUTE_NAME = FileSystemBeanArchiveHandler.class.getName() + ".archiveFile";
+
+    private volatile DiscoveryCache cache;
+
     @Override
     public BeanArchiveBuilder handle(String path) {
 
@@ -61,6 +70,7 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
             if (file.isDirectory()) {
                 handleDirectory(new DirectoryEntry().setFile(file), builder);
             } else {
+                builder.setAttribute(ARCHIVE_FILE_ATTRIBUTE_NAME, file);
                 handleFile(file, builder);
             }
         } catch (IOException e) {
@@ -69,18 +79,32 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
         return builder;
     }
 
+    /**
+     *
+     * @param cache the cache or <code>null</code>
+     */
+    public void setCache(DiscoveryCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     *
+     * @return the cache or <code>null</code> if no cache should be used
+     */
+    protected DiscoveryCache getCache() {
+        return cache;
+    }
+
     protected void handleFile(File file, BeanArchiveBuilder builder) throws IOException {
 
         log.debugv("Handle archive file: {0}", file);
 
-        try {
-            ZipFile zip = new ZipFile(file);
+        try (ZipFile zip = new ZipFile(file)) {
             Enumeration<? extends ZipEntry> entries = zip.entries();
-            ZipFileEntry entry = new ZipFileEntry(PROCOTOL_JAR + ":" + file.toURI().toURL().toExternalForm() + "!/");
+            ZipFileEntry entry = new ZipFileEntry(zip, PROCOTOL_JAR + ":" + file.toURI().toURL().toExternalForm() + "!/");
             while (entries.hasMoreElements()) {
-                add(entry.setName(entries.nextElement().getName()), builder);
+                add(entry.setEntry(entries.nextElement()), builder);
             }
-            zip.close();
         } catch (ZipException e) {
             throw CommonLogger.LOG.cannotHandleFile(file, e);
         }
@@ -135,30 +159,49 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
          */
         URL getUrl() throws MalformedURLException;
 
+        /**
+         * The stream must only be opened while the entry is being added, e.g. the underlying zip file is closed afterwards.
+         *
+         * @return the input stream to read the entry contents
+         * @throws IOException
+         */
+        default InputStream openStream() throws IOException {
+            return getUrl().openStream();
+        }
+
     }
 
     private static class ZipFileEntry implements Entry {
 
-        private String name;
+        private final ZipFile zip;
+
+        private ZipEntry entry;
 
         private String archiveUrl;
 
-        ZipFileEntry(String archiveUrl) {
+        ZipFileEntry(ZipFile zip, String archiveUrl) {
+            this.zip = zip;
             this.archiveUrl = archiveUrl;
         }
 
         @Override
         public String getName() {
-            return name;
+            return entry.getName();
         }
 
         @Override
         public URL getUrl() throws MalformedURLException {
-            return new URL(archiveUrl + name);
+            return new URL(archiveUrl + entry.getName());
         }
 
-        ZipFileEntry setName(String name) {
-            this.name = name;
+        @Override
+        public InputStream openStream() throws IOException {
+            // Read from the zip file which is already open
+            return zip.getInputStream(entry);
+        }
+
+        ZipFileEntry setEntry(ZipEntry entry) {
+            this.entry = entry;
             return this;
         }
 
@@ -180,6 +223,11 @@ public class FileSystemBeanArchiveHandler implements BeanArchiveHandler {
             return file.toURI().toURL();
         }
 
+        @Override
+        public InputStream openStream() throws IOException {
+            return new FileInputStream(file);
+        }
+
         public DirectoryEntry setPath(String path) {
             this.path = path;
             return this;
@@ -17,12 +17,19 @@
 package org.jboss.weld.environment.deployment.discovery;
 
 import static org.jboss.weld.environment.util.Reflections.hasBeanDefiningMetaAnnotationSpecified;
+import static org.jboss.weld.environment.util.URLUtils.PROCOTOL_FILE;
 
+import java.io.File;
 import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import javax.enterprise.context.NormalScope;
 import javax.enterprise.inject.Stereotype;
@@ -46,6 +53,8 @@ public class ReflectionDiscoveryStrategy extends AbstractDiscoveryStrategy {
 
     private final AtomicBoolean annotatedDiscoveryProcessed;
 
+    private volatile String cacheKind;
+
     public ReflectionDiscoveryStrategy(ResourceLoader resourceLoader, Bootstrap bootstrap, Set<Class<? extends Annotation>> initialBeanDefiningAnnotations) {
         super(resourceLoader, bootstrap, initialBeanDefiningAnnotations);
         this.metaAnnotations = ImmutableList.of(Stereotype.class, NormalScope.class);
@@ -58,6 +67,22 @@ public class ReflectionDiscoveryStrategy extends AbstractDiscoveryStrategy {
         if (annotatedDiscoveryProcessed.compareAndSet(false, true)) {
             CommonLogger.LOG.reflectionFallback();
         }
+        final File archive = cache != null ? (File) builder.getAttribute(FileSystemBeanArchiveHandler.ARCHIVE_FILE_ATTRIBUTE_NAME) : null;
+        final String kind = archive != null ? getCacheKind(builder) : null;
+        if (kind != null) {
+            byte[] data = cache.get(archive, kind);
+            if (data != null) {
+                // The cached data contains the names of the classes with a bean defining annotation
+                builder.clearClasses();
+                if (data.length > 0) {
+                    for (String className : new String(data, StandardCharsets.UTF_8).split("\n")) {
+                        builder.addClass(className);
+                    }
+                }
+                return builder.build();
+            }
+        }
+        final long start = System.nanoTime();
         Iterator<String> classIterator = builder.getClassIterator();
         while (classIterator.hasNext()) {
             String className = classIterator.next();
@@ -66,9 +91,61 @@ public class ReflectionDiscoveryStrategy extends AbstractDiscoveryStrategy {
                 classIterator.remove();
             }
         }
+        if (kind != null) {
+            cache.put(archive, kind, String.join("\n", builder.getClasses()).getBytes(StandardCharsets.UTF_8), System.nanoTime() - start);
+        }
         return builder.build();
     }
 
+    /**
+     * The result depends on the set of bean defining annotations, which may be extended by portable extensions. It also depends on the class loader, e.g. a
+     * stereotype may be declared in another archive. Therefore, the class loader chain is identified by the types of the class loaders and the paths, sizes
+     * and last modification times of the {@link URLClassLoader} entries. Note that a change of a directory entry, e.g. of a stereotype declared in an
+     * exploded directory, is not detected.
+     *
+     * @param builder
+     * @return the kind of the cached data or <code>null</code> if the result should not be cached
+     */
+    private String getCacheKind(BeanArchiveBuilder builder) {
+        String kind = cacheKind;
+        if (kind == null) {
+            Iterator<String> classIterator = builder.getClassIterator();
+            if (!classIterator.hasNext()) {
+                return null;
+            }
+            Class<?> clazz = Reflections.loadClass(classIterator.next(), resourceLoader);
+            if (clazz == null) {
+                return null;
+            }
+            StringBuilder context = new StringBuilder();
+            for (String annotation : initialBeanDefiningAnnotations.stream().map(Class::getName).sorted().collect(Collectors.toList())) {
+                context.append(annotation).append('\n');
+            }
+            for (ClassLoader classLoader = clazz.getClassLoader(); classLoader != null; classLoader = classLoader.getParent()) {
+                context.append(classLoader.getClass().getName()).append('\n');
+                if (classLoader instanceof URLClassLoader) {
+                    for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+                        context.append(url);
+                        if (PROCOTOL_FILE.equals(url.getProtocol())) {
+                            try {
+                                File file = new File(url.toURI());
+                                if (file.isFile()) {
+                                    context.append(' ').append(file.length()).append(' ').append(file.lastModified());
+                                }
+                            } catch (URISyntaxException | IllegalArgumentException e) {
+                                CommonLogger.LOG.catchingDebug(e);
+                            }
+                        }
+                        context.append('\n');
+                    }
+                }
+            }
+            kind = "reflection:" + DiscoveryCache.hash(context.toString());
+            cacheKind = kind;
+        }
+        return kind;
+    }
+
     private boolean hasBeanDefiningAnnotation(Class<?> clazz, Set<Class<? extends Annotation>> initialBeanDefiningAnnotations) {
         for (Class<? extends Annotation> beanDefiningAnnotation : initialBeanDefiningAnnotations) {
             if (clazz.isAnnotationPresent(beanDefiningAnnotation)) {
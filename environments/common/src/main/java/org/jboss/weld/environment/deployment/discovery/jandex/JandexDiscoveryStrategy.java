@@ -66,6 +66,12 @@ public class JandexDiscoveryStrategy extends AbstractDiscoveryStrategy {
         return classFileServices;
     }
 
+    @Override
+    protected boolean isArchiveStateRequired() {
+        // The class file services are backed by the composite index
+        return true;
+    }
+
     @Override
     protected void beforeDiscovery(Collection<BeanArchiveBuilder> builders) {
         List<IndexView> indexes = new ArrayList<IndexView>();
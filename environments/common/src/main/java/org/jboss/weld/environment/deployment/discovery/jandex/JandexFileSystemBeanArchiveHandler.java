@@ -16,14 +16,20 @@
  */
 package org.jboss.weld.environment.deployment.discovery.jandex;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
-import java.net.URL;
 
+import org.jboss.jandex.ClassInfo;
 import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
 import org.jboss.jandex.Indexer;
 import org.jboss.weld.environment.deployment.discovery.BeanArchiveBuilder;
+import org.jboss.weld.environment.deployment.discovery.DiscoveryCache;
 import org.jboss.weld.environment.deployment.discovery.FileSystemBeanArchiveHandler;
 import org.jboss.weld.environment.logging.CommonLogger;
 import org.jboss.weld.environment.util.Files;
@@ -36,15 +42,40 @@ import org.jboss.weld.environment.util.Files;
  */
 public class JandexFileSystemBeanArchiveHandler extends FileSystemBeanArchiveHandler {
 
-    private final Indexer indexer = new Indexer();
+    private static final String INDEXER_ATTRIBUTE_NAME = JandexFileSystemBeanArchiveHandler.class.getName() + ".indexer";
+
+    private static final String CACHE_KIND = "jandex";
 
     @Override
     public BeanArchiveBuilder handle(String path) {
+        final DiscoveryCache cache = getCache();
+        final File file = new File(path);
+        final boolean cacheable = cache != null && file.isFile() && file.canRead();
+        if (cacheable) {
+            Index index = readIndex(cache.get(file, CACHE_KIND));
+            if (index != null) {
+                BeanArchiveBuilder builder = new BeanArchiveBuilder().setAttribute(Jandex.INDEX_ATTRIBUTE_NAME, index).setAttribute(ARCHIVE_FILE_ATTRIBUTE_NAME,
+                        file);
+                for (ClassInfo classInfo : index.getKnownClasses()) {
+                    builder.addClass(classInfo.name().toString());
+                }
+                return builder;
+            }
+        }
+        final long start = System.nanoTime();
         BeanArchiveBuilder builder = super.handle(path);
         if (builder == null) {
             return null;
         }
-        builder.setAttribute(Jandex.INDEX_ATTRIBUTE_NAME, buildIndex());
+        Index index = getIndexer(builder).complete();
+        builder.setAttribute(Jandex.INDEX_ATTRIBUTE_NAME, index);
+        builder.setAttribute(INDEXER_ATTRIBUTE_NAME, null);
+        if (cacheable) {
+            byte[] data = writeIndex(index);
+            if (data != null) {
+                cache.put(file, CACHE_KIND, data, System.nanoTime() - start);
+            }
+        }
         return builder;
     }
 
@@ -52,29 +83,60 @@ public class JandexFileSystemBeanArchiveHandler extends FileSystemBeanArchiveHan
     protected void add(Entry entry, BeanArchiveBuilder builder) throws MalformedURLException {
         super.add(entry, builder);
         if (Files.isClass(entry.getName())) {
-            addToIndex(entry.getUrl());
+            addToIndex(entry, getIndexer(builder));
         }
     }
 
-    private void addToIndex(URL url) {
+    /**
+     * Each bean archive has its own indexer so that the handler is stateless and may be used to handle multiple archives concurrently.
+     */
+    private Indexer getIndexer(BeanArchiveBuilder builder) {
+        Indexer indexer = (Indexer) builder.getAttribute(INDEXER_ATTRIBUTE_NAME);
+        if (indexer == null) {
+            indexer = new Indexer();
+            builder.setAttribute(INDEXER_ATTRIBUTE_NAME, indexer);
+        }
+        return indexer;
+    }
+
+    private Index readIndex(byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return new IndexReader(new ByteArrayInputStream(data)).read();
+        } catch (IOException | RuntimeException e) {
+            CommonLogger.LOG.catchingDebug(e);
+            return null;
+        }
+    }
+
+    private byte[] writeIndex(Index index) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            new IndexWriter(out).write(index);
+            return out.toByteArray();
+        } catch (IOException e) {
+            CommonLogger.LOG.catchingDebug(e);
+            return null;
+        }
+    }
+
+    private void addToIndex(Entry entry, Indexer indexer) throws MalformedURLException {
         InputStream fs = null;
         try {
-            fs = url.openStream();
+            fs = entry.openStream();
             indexer.index(fs);
         } catch (IOException ex) {
-            CommonLogger.LOG.couldNotOpenStreamForURL(url, ex);
+            CommonLogger.LOG.couldNotOpenStreamForURL(entry.getUrl(), ex);
         } finally {
             try {
                 if (fs != null) {
                     fs.close();
                 }
             } catch (IOException ex) {
-                CommonLogger.LOG.couldNotCloseStreamForURL(url, ex);
+                CommonLogger.LOG.couldNotCloseStreamForURL(entry.getUrl(), ex);
             }
         }
     }
-
-    private Index buildIndex() {
-        return indexer.complete();
-    }
 }
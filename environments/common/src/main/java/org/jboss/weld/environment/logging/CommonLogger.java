@@ -143,4 +143,32 @@ public interface CommonLogger extends WeldEnvironmentLogger {
     @Message(id = 38, value = "Development mode is enabled but the following Probe component is not found on the classpath: {0}", format = Format.MESSAGE_FORMAT)
     IllegalStateException probeComponentNotFoundOnClasspath(Object component);
 
+    @LogMessage(level = Level.INFO)
+    @Message(id = 39, value = "Bean archives restored from the discovery snapshot: {0}", format = Format.MESSAGE_FORMAT)
+    void discoverySnapshotRestored(Object file);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 40, value = "Discovery snapshot {0} does not match the current deployment - performing full discovery", format = Format.MESSAGE_FORMAT)
+    void discoverySnapshotMismatch(Object file);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 41, value = "Unable to read the discovery snapshot: {0}", format = Format.MESSAGE_FORMAT)
+    void unableToReadDiscoverySnapshot(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 42, value = "Unable to write the discovery snapshot: {0}", format = Format.MESSAGE_FORMAT)
+    void unableToWriteDiscoverySnapshot(Object file, @Cause Throwable cause);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 43, value = "Unable to read the discovery cache entry: {0}", format = Format.MESSAGE_FORMAT)
+    void unableToReadDiscoveryCacheEntry(Object entry, @Cause Throwable cause);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 44, value = "Unable to write the discovery cache entry: {0}", format = Format.MESSAGE_FORMAT)
+    void unableToWriteDiscoveryCacheEntry(Object entry, @Cause Throwable cause);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 45, value = "Discovery cache {0}: {1} hits, {2} misses, approximately {3} ms saved", format = Format.MESSAGE_FORMAT)
+    void discoveryCacheStatistics(Object directory, long hits, long misses, long timeSaved);
+
 }
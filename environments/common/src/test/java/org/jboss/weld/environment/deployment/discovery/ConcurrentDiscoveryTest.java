@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.weld.bootstrap.spi.BeansXml;
+import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
+import org.jboss.weld.environment.deployment.discovery.BeanArchiveScanner.ScanResult;
+import org.jboss.weld.resources.ClassLoaderResourceLoader;
+import org.junit.Test;
+
+/**
+ * Tests that the concurrent discovery preserves the order of the scanning results.
+ */
+public class ConcurrentDiscoveryTest {
+
+    private static final int ARCHIVES = 50;
+
+    @Test
+    public void testArchiveOrderIsDeterministic() throws InterruptedException {
+        final List<ScanResult> scanResults = new ArrayList<>();
+        final List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < ARCHIVES; i++) {
+            scanResults.add(new ScanResult(BeansXml.EMPTY_BEANS_XML, "archive" + i));
+            expectedIds.add("archive" + i);
+        }
+        assertEquals(expectedIds, discover(scanResults, null));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(expectedIds, discover(scanResults, executor));
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private List<String> discover(List<ScanResult> scanResults, ExecutorService executor) {
+        AbstractDiscoveryStrategy strategy = new AbstractDiscoveryStrategy(new ClassLoaderResourceLoader(getClass().getClassLoader()), null,
+                Collections.emptySet()) {
+        };
+        strategy.setScanner(() -> scanResults);
+        strategy.setExecutor(executor);
+        strategy.registerHandler(ref -> {
+            if (executor != null) {
+                // Make the handlers complete in random order
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new BeanArchiveBuilder().addClass("org.jboss.weld." + ref + ".Foo");
+        });
+        Set<WeldBeanDeploymentArchive> archives = strategy.performDiscovery();
+        List<String> ids = new ArrayList<>();
+        for (WeldBeanDeploymentArchive archive : archives) {
+            assertEquals(Collections.singleton("org.jboss.weld." + archive.getId() + ".Foo"), archive.getBeanClasses());
+            ids.add(archive.getId());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.deployment.discovery;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the validation of the discovery cache entries.
+ */
+public class DiscoveryCacheTest {
+
+    private static final String KIND = "test";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEntryInvalidatedWhenArchiveChanges() throws IOException {
+        File archive = folder.newFile("archive.jar");
+        Files.write(archive.toPath(), "foo".getBytes(StandardCharsets.UTF_8));
+        byte[] data = new byte[] { 1, 2, 3 };
+
+        DiscoveryCache cache = new DiscoveryCache(new File(folder.getRoot(), "cache"));
+        assertNull(cache.get(archive, KIND));
+        cache.put(archive, KIND, data, 1000000);
+        assertArrayEquals(data, cache.get(archive, KIND));
+        // Different kind of data
+        assertNull(cache.get(archive, "other"));
+
+        // A new cache instance reads the same directory, e.g. after restart
+        cache = new DiscoveryCache(new File(folder.getRoot(), "cache"));
+        assertArrayEquals(data, cache.get(archive, KIND));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+
+        // Same size but different modification time
+        long lastModified = archive.lastModified();
+        Files.write(archive.toPath(), "bar".getBytes(StandardCharsets.UTF_8));
+        assertTrue(archive.setLastModified(lastModified + 2000));
+        assertNull(cache.get(archive, KIND));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // Same modification time but different size
+        cache.put(archive, KIND, data, 1000000);
+        Files.write(archive.toPath(), "barbaz".getBytes(StandardCharsets.UTF_8));
+        assertTrue(archive.setLastModified(lastModified + 2000));
+        assertNull(cache.get(archive, KIND));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+}
@@ -42,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -74,9 +75,13 @@ import org.jboss.weld.environment.ContainerInstanceFactory;
 import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
 import org.jboss.weld.environment.deployment.WeldDeployment;
 import org.jboss.weld.environment.deployment.WeldResourceLoader;
+import org.jboss.weld.environment.deployment.discovery.BeanArchiveScanner;
 import org.jboss.weld.environment.deployment.discovery.ClassPathBeanArchiveScanner;
+import org.jboss.weld.environment.deployment.discovery.DefaultBeanArchiveScanner;
+import org.jboss.weld.environment.deployment.discovery.DiscoveryCache;
 import org.jboss.weld.environment.deployment.discovery.DiscoveryStrategy;
 import org.jboss.weld.environment.deployment.discovery.DiscoveryStrategyFactory;
+import org.jboss.weld.environment.deployment.discovery.DiscoverySnapshot;
 import org.jboss.weld.environment.logging.CommonLogger;
 import org.jboss.weld.environment.se.contexts.ThreadScoped;
 import org.jboss.weld.environment.se.logging.WeldSELogger;
@@ -677,14 +682,32 @@ public class Weld implements ContainerInstanceFactory {
         final Map<Class<? extends Service>, Service> additionalServices = new HashMap<>();
 
         if (discoveryEnabled) {
-            DiscoveryStrategy strategy = DiscoveryStrategyFactory.create(resourceLoader, bootstrap,
-                    ImmutableSet.<Class<? extends Annotation>> builder().addAll(typeDiscoveryConfiguration.getKnownBeanDefiningAnnotations())
-                            // Add ThreadScoped manually as Weld SE doesn't support implicit bean archives without beans.xml
-                            .add(ThreadScoped.class).build());
-            if (isImplicitScanEnabled()) {
-                strategy.setScanner(new ClassPathBeanArchiveScanner(bootstrap));
+            Set<Class<? extends Annotation>> beanDefiningAnnotations = ImmutableSet.<Class<? extends Annotation>> builder()
+                    .addAll(typeDiscoveryConfiguration.getKnownBeanDefiningAnnotations())
+                    // Add ThreadScoped manually as Weld SE doesn't support implicit bean archives without beans.xml
+                    .add(ThreadScoped.class).build();
+            DiscoveryStrategy strategy = DiscoveryStrategyFactory.create(resourceLoader, bootstrap, beanDefiningAnnotations);
+            if (isConcurrentDiscoveryEnabled()) {
+                // The container executor is not available yet - use the common pool which is also used by default by weld-se
+                strategy.setExecutor(ForkJoinPool.commonPool());
+            }
+            String cacheDirectory = getStringProperty(ConfigurationKey.DISCOVERY_CACHE_DIRECTORY);
+            if (cacheDirectory != null) {
+                strategy.setCache(new DiscoveryCache(new File(cacheDirectory)));
+            }
+            BeanArchiveScanner scanner = isImplicitScanEnabled() ? new ClassPathBeanArchiveScanner(bootstrap) : null;
+            File snapshotFile = getDiscoverySnapshotFile();
+            if (snapshotFile != null) {
+                if (scanner == null) {
+                    scanner = new DefaultBeanArchiveScanner(resourceLoader, bootstrap);
+                }
+                beanArchives.addAll(DiscoverySnapshot.performDiscovery(snapshotFile, strategy, scanner, resourceLoader, extensions, beanDefiningAnnotations));
+            } else {
+                if (scanner != null) {
+                    strategy.setScanner(scanner);
+                }
+                beanArchives.addAll(strategy.performDiscovery());
             }
-            beanArchives.addAll(strategy.performDiscovery());
             ClassFileServices classFileServices = strategy.getClassFileServices();
             if (classFileServices != null) {
                 additionalServices.put(ClassFileServices.class, classFileServices);
@@ -756,6 +779,31 @@ public class Weld implements ContainerInstanceFactory {
                 || Boolean.valueOf(System.getProperty(ConfigurationKey.IMPLICIT_SCAN.get()));
     }
 
+    private boolean isConcurrentDiscoveryEnabled() {
+        return Boolean.TRUE.equals(properties.get(ConfigurationKey.CONCURRENT_DISCOVERY.get()))
+                || Boolean.valueOf(System.getProperty(ConfigurationKey.CONCURRENT_DISCOVERY.get()));
+    }
+
+    private File getDiscoverySnapshotFile() {
+        String value = getStringProperty(ConfigurationKey.DISCOVERY_SNAPSHOT);
+        return value != null ? new File(value) : null;
+    }
+
+    /**
+     *
+     * @return the value set via {@link #property(String, Object)} or the system property, <code>null</code> if not set or empty
+     */
+    private String getStringProperty(ConfigurationKey key) {
+        Object value = properties.get(key.get());
+        if (value == null) {
+            value = AccessController.doPrivileged(new GetSystemPropertyAction(key.get()));
+        }
+        if (value == null || value.toString().isEmpty()) {
+            return null;
+        }
+        return value.toString();
+    }
+
     private boolean isSyntheticBeanArchiveRequired() {
         return !beanClasses.isEmpty() || !packages.isEmpty();
     }
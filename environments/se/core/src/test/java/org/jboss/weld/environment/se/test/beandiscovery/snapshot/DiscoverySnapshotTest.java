@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.beandiscovery.snapshot;
+
+import static org.jboss.shrinkwrap.api.ShrinkWrap.create;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Enumeration;
+
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.deployment.AbstractWeldDeployment;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.resources.spi.ClassFileServices;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests that the discovery results are restored from the snapshot and that a change of a bean archive results in a full discovery.
+ */
+public class DiscoverySnapshotTest {
+
+    @Test
+    public void testSnapshotRestoredAndInvalidated() throws IOException {
+        final File jar = File.createTempFile("weld-se-snapshot-test", ".jar");
+        jar.deleteOnExit();
+        final File snapshot = File.createTempFile("weld-se-snapshot-test", ".bin");
+        snapshot.deleteOnExit();
+        assertTrue(snapshot.delete());
+
+        create(BeanArchive.class).addClass(Foo.class).as(ZipExporter.class).exportTo(jar, true);
+        ClassLoader classLoader = createClassLoader(jar);
+
+        // Full discovery, the snapshot is written
+        try (WeldContainer container = createWeld(classLoader, snapshot).initialize()) {
+            assertFalse(container.select(Foo.class).isUnsatisfied());
+            assertTrue(container.select(Bar.class).isUnsatisfied());
+        }
+        assertTrue(snapshot.isFile());
+        long lastModified = snapshot.lastModified();
+
+        // Restored from the snapshot
+        try (WeldContainer container = createWeld(classLoader, snapshot).initialize()) {
+            assertFalse(container.select(Foo.class).isUnsatisfied());
+            assertTrue(container.select(Bar.class).isUnsatisfied());
+        }
+
+        // The bean archive changed - full discovery
+        create(BeanArchive.class).addClasses(Foo.class, Bar.class).as(ZipExporter.class).exportTo(jar, true);
+        assertTrue(jar.setLastModified(lastModified + 1000));
+        classLoader = createClassLoader(jar);
+        try (WeldContainer container = createWeld(classLoader, snapshot).initialize()) {
+            assertFalse(container.select(Foo.class).isUnsatisfied());
+            assertFalse(container.select(Bar.class).isUnsatisfied());
+        }
+    }
+
+    @Test
+    public void testClassFileServicesAvailableAfterRestore() throws IOException {
+        final File jar = File.createTempFile("weld-se-snapshot-test", ".jar");
+        jar.deleteOnExit();
+        final File snapshot = File.createTempFile("weld-se-snapshot-test", ".bin");
+        snapshot.deleteOnExit();
+        assertTrue(snapshot.delete());
+
+        create(BeanArchive.class).addClass(Foo.class).as(ZipExporter.class).exportTo(jar, true);
+        ClassLoader classLoader = createClassLoader(jar);
+
+        try (WeldContainer container = createWeld(classLoader, snapshot).initialize()) {
+            // Only the Jandex discovery strategy provides class file services
+            Assume.assumeNotNull(getClassFileServices(container));
+        }
+        assertTrue(snapshot.isFile());
+
+        // Restored from the snapshot
+        try (WeldContainer container = createWeld(classLoader, snapshot).initialize()) {
+            assertFalse(container.select(Foo.class).isUnsatisfied());
+            assertNotNull(getClassFileServices(container));
+        }
+    }
+
+    private ClassFileServices getClassFileServices(WeldContainer container) {
+        return BeanManagerProxy.unwrap(container.getBeanManager()).getServices().get(ClassFileServices.class);
+    }
+
+    private Weld createWeld(ClassLoader classLoader, File snapshot) {
+        return new Weld().setClassLoader(classLoader).property(ConfigurationKey.DISCOVERY_SNAPSHOT.get(), snapshot.getAbsolutePath());
+    }
+
+    private ClassLoader createClassLoader(File jar) throws IOException {
+        // Hide the top-level beans.xml of this testsuite, see also ExplicitClassLoaderScanningTest
+        return new URLClassLoader(new URL[] { jar.toURI().toURL() }) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                if (AbstractWeldDeployment.BEANS_XML.equals(name)) {
+                    return findResources(name);
+                }
+                return super.getResources(name);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.bootstrap.deferred;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import javax.enterprise.inject.spi.DeploymentException;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.bootstrap.DeferredValidationService;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Test;
+
+/**
+ * Tests that a deployment with an unsatisfied dependency starts if the deferred validation is enabled and that the problem is reported once the broken bean
+ * is requested.
+ */
+public class DeferredValidationTest {
+
+    @Test
+    public void testDeferredValidation() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Valid.class, Broken.class)
+                .property(ConfigurationKey.DEFERRED_VALIDATION.get(), true).initialize()) {
+            assertNotNull(BeanManagerProxy.unwrap(container.getBeanManager()).getServices().get(DeferredValidationService.class));
+            assertEquals("pong", container.select(Valid.class).get().ping());
+            for (int i = 0; i < 2; i++) {
+                try {
+                    container.select(Broken.class).get();
+                    fail();
+                } catch (DeploymentException expected) {
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDeferredValidationOfObserverReceiver() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Valid.class, BrokenObserver.class)
+                .property(ConfigurationKey.DEFERRED_VALIDATION.get(), true).initialize()) {
+            // no reference is requested, the receiver is created by the container when the event is delivered
+            try {
+                container.event().select(Ping.class).fire(new Ping());
+                fail();
+            } catch (DeploymentException expected) {
+            }
+        }
+    }
+
+    @Test(expected = DeploymentException.class)
+    public void testEagerValidationByDefault() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Valid.class, Broken.class).initialize()) {
+            fail();
+        }
+    }
+
+}
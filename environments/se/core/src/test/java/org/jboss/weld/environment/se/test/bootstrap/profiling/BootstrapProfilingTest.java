@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.bootstrap.profiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.bootstrap.BootstrapProfiler;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Phase;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Statistics;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that bootstrap phases and extension observer methods are profiled and that the report is written.
+ */
+public class BootstrapProfilingTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testBootstrapProfile() throws IOException {
+        File report = new File(folder.getRoot(), "profile.json");
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Foo.class).addExtension(new FooExtension())
+                .property(ConfigurationKey.BOOTSTRAP_PROFILING.get(), true).property(ConfigurationKey.BOOTSTRAP_PROFILING_REPORT_FILE.get(), report.getPath())
+                .initialize()) {
+            BootstrapProfiler profiler = BeanManagerProxy.unwrap(container.getBeanManager()).getServices().get(BootstrapProfiler.class);
+            assertNotNull(profiler);
+
+            List<Phase> phases = profiler.getPhases();
+            assertEquals("startContainer", phases.get(0).getName());
+            assertEquals("endInitialization", phases.get(phases.size() - 1).getName());
+            Phase createClasses = findPhase(phases, "createClasses");
+            assertEquals(1, createClasses.getDepth());
+            assertTrue(createClasses.getTime() > 0);
+
+            Statistics observer = null;
+            for (Statistics statistics : profiler.getObservers()) {
+                if (FooExtension.class.getName().equals(statistics.getExtension())) {
+                    observer = statistics;
+                }
+            }
+            assertNotNull(observer);
+            assertEquals("observeFoo", observer.getMethod());
+            assertEquals("ProcessAnnotatedType", observer.getEvent());
+            assertEquals(1, observer.getNotifications());
+
+            boolean processAnnotatedTypeFound = false;
+            for (Statistics event : profiler.getEvents()) {
+                if ("ProcessAnnotatedType".equals(event.getEvent())) {
+                    processAnnotatedTypeFound = true;
+                    assertNull(event.getExtension());
+                }
+            }
+            assertTrue(processAnnotatedTypeFound);
+        }
+        assertTrue(report.isFile());
+        String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"name\":\"createClasses\""));
+        assertTrue(json.contains("\"extension\":\"" + FooExtension.class.getName() + "\""));
+    }
+
+    @Test
+    public void testProfilingDisabledByDefault() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(Foo.class).initialize()) {
+            assertNull(BeanManagerProxy.unwrap(container.getBeanManager()).getServices().get(BootstrapProfiler.class));
+        }
+    }
+
+    private Phase findPhase(List<Phase> phases, String name) {
+        for (Phase phase : phases) {
+            if (phase.getName().equals(name)) {
+                return phase;
+            }
+        }
+        throw new AssertionError("Phase not found: " + name);
+    }
+
+}
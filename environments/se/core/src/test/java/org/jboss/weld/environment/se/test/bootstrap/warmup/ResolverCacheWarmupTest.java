@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.bootstrap.warmup;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.bootstrap.ResolverCacheWarmup;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resolution.ResolvableBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the resolutions performed during validation are replayed once the container is initialized and that the cached resolutions are recorded.
+ */
+public class ResolverCacheWarmupTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWarmup() throws IOException, InterruptedException {
+        File file = new File(folder.getRoot(), "resolutions.txt");
+        try (WeldContainer container = createWeld(file).initialize()) {
+            BeanManagerImpl manager = BeanManagerProxy.unwrap(container.getBeanManager());
+            ResolverCacheWarmup warmup = manager.getServices().get(ResolverCacheWarmup.class);
+            assertNotNull(warmup);
+            awaitWarmup(warmup);
+            assertTrue(warmup.getCount() > 0);
+            assertTrue(manager.getBeanResolver().isCached(new ResolvableBuilder(Engine.class, manager).create()));
+        }
+        assertTrue(file.isFile());
+        String recorded = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        assertTrue(recorded, recorded.contains(Engine.class.getName()));
+
+        // The recorded resolutions are replayed during the next bootstrap
+        try (WeldContainer container = createWeld(file).initialize()) {
+            BeanManagerImpl manager = BeanManagerProxy.unwrap(container.getBeanManager());
+            awaitWarmup(manager.getServices().get(ResolverCacheWarmup.class));
+            assertTrue(manager.getBeanResolver().isCached(new ResolvableBuilder(Engine.class, manager).create()));
+        }
+    }
+
+    private Weld createWeld(File file) {
+        return new Weld().disableDiscovery().beanClasses(Car.class, Engine.class).property(ConfigurationKey.RESOLUTION_CACHE_WARMUP.get(), true)
+                .property(ConfigurationKey.RESOLUTION_CACHE_WARMUP_FILE.get(), file.getPath());
+    }
+
+    private void awaitWarmup(ResolverCacheWarmup warmup) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (warmup.getCount() >= 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Warm-up not finished");
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.active;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.RequestScoped;
+
+import org.jboss.weld.bean.builtin.BeanManagerProxy;
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.bound.BoundRequestContext;
+import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.junit.Test;
+
+/**
+ * Tests the lookup of the active context if multiple contexts are registered for a scope.
+ */
+public class ActiveContextLookupTest {
+
+    @Test
+    public void testActiveContextLookup() throws Exception {
+        try (WeldContainer container = new Weld().disableDiscovery().initialize()) {
+            BeanManagerImpl beanManager = BeanManagerProxy.unwrap(container.getBeanManager());
+            RequestContext unboundContext = container.select(RequestContext.class, UnboundLiteral.INSTANCE).get();
+            BoundRequestContext boundContext = container.select(BoundRequestContext.class).get();
+            assertFalse(beanManager.isContextActive(RequestScoped.class));
+
+            unboundContext.activate();
+            try {
+                assertTrue(beanManager.isContextActive(RequestScoped.class));
+                assertTrue(beanManager.getContext(RequestScoped.class).isActive());
+                // The activation state is per thread
+                ExecutorService executor = Executors.newSingleThreadExecutor();
+                try {
+                    assertFalse(executor.submit(() -> beanManager.isContextActive(RequestScoped.class)).get());
+                } finally {
+                    executor.shutdownNow();
+                }
+
+                Map<String, Object> storage = new HashMap<String, Object>();
+                boundContext.associate(storage);
+                boundContext.activate();
+                try {
+                    beanManager.getContext(RequestScoped.class);
+                    fail();
+                } catch (IllegalStateException expected) {
+                }
+                unboundContext.deactivate();
+                assertTrue(beanManager.isContextActive(RequestScoped.class));
+                assertTrue(boundContext.isActive());
+                boundContext.deactivate();
+                boundContext.dissociate(storage);
+            } finally {
+                if (unboundContext.isActive()) {
+                    unboundContext.deactivate();
+                }
+            }
+            assertFalse(beanManager.isContextActive(RequestScoped.class));
+            try {
+                beanManager.getContext(RequestScoped.class);
+                fail();
+            } catch (ContextNotActiveException expected) {
+            }
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.context.conversation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.Conversation;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.context.AbstractConversationContext;
+import org.jboss.weld.context.bound.BoundConversationContext;
+import org.jboss.weld.context.bound.MutableBoundRequest;
+import org.jboss.weld.context.conversation.ConversationExpirationQueue;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Test;
+
+/**
+ * Tests that expired long-running conversations are destroyed with and without the expiration queue, and in the background.
+ */
+public class ConversationExpirationTest {
+
+    @Test
+    public void testExpiredConversationDestroyed() throws InterruptedException {
+        try (WeldContainer container = createWeld().initialize()) {
+            Map<String, Object> session = new HashMap<String, Object>();
+            String cid = beginConversation(container, session);
+            Thread.sleep(50);
+            assertTrue(runRequest(container, session).contains(cid));
+            assertFalse(session.containsKey(ConversationExpirationQueue.CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME));
+        }
+    }
+
+    @Test
+    public void testExpiredConversationDestroyedWithExpirationQueue() throws InterruptedException {
+        try (WeldContainer container = createWeld().property(ConfigurationKey.CONVERSATION_EXPIRATION_QUEUE.get(), true).initialize()) {
+            Map<String, Object> session = new HashMap<String, Object>();
+            String cid = beginConversation(container, session);
+            assertNotNull(session.get(ConversationExpirationQueue.CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME));
+            Thread.sleep(50);
+            assertTrue(runRequest(container, session).contains(cid));
+            assertTrue(((ConversationExpirationQueue) session.get(ConversationExpirationQueue.CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME)).isEmpty());
+        }
+    }
+
+    @Test
+    public void testExpirationQueueFallback() throws InterruptedException {
+        try (WeldContainer container = createWeld().property(ConfigurationKey.CONVERSATION_EXPIRATION_QUEUE.get(), true).initialize()) {
+            Map<String, Object> session = new HashMap<String, Object>();
+            String cid = beginConversation(container, session);
+            // E.g. an attribute which could not be restored - all the conversations are checked
+            session.put(ConversationExpirationQueue.CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME, "foo");
+            Thread.sleep(50);
+            assertTrue(runRequest(container, session).contains(cid));
+        }
+    }
+
+    @Test
+    public void testExpiredConversationDestroyedInBackground() throws InterruptedException {
+        try (WeldContainer container = createWeld().property(ConfigurationKey.CONVERSATION_EXPIRATION_QUEUE.get(), true)
+                .property(ConfigurationKey.CONVERSATION_EXPIRATION_CHECK_INTERVAL.get(), 10L).initialize()) {
+            Map<String, Object> session = new HashMap<String, Object>();
+            String cid = beginConversation(container, session);
+            ConversationObserver observer = container.select(ConversationObserver.class).get();
+            // No other request of the session is needed
+            long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (!observer.getDestroyed().contains(cid) && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertTrue(observer.getDestroyed().contains(cid));
+            assertTrue(((Map<?, ?>) session.get(AbstractConversationContext.CONVERSATIONS_ATTRIBUTE_NAME)).isEmpty());
+        }
+    }
+
+    private static Weld createWeld() {
+        return new Weld().disableDiscovery().beanClasses(Wizard.class, ConversationObserver.class);
+    }
+
+    private static String beginConversation(WeldContainer container, Map<String, Object> session) {
+        BoundConversationContext context = container.select(BoundConversationContext.class).get();
+        MutableBoundRequest request = new MutableBoundRequest(new HashMap<String, Object>(), session);
+        context.associate(request);
+        context.activate();
+        try {
+            Conversation conversation = container.select(Conversation.class).get();
+            conversation.begin();
+            conversation.setTimeout(1);
+            assertEquals("pong", container.select(Wizard.class).get().ping());
+            return conversation.getId();
+        } finally {
+            context.deactivate();
+            context.dissociate(request);
+        }
+    }
+
+    private static List<String> runRequest(WeldContainer container, Map<String, Object> session) {
+        BoundConversationContext context = container.select(BoundConversationContext.class).get();
+        MutableBoundRequest request = new MutableBoundRequest(new HashMap<String, Object>(), session);
+        context.associate(request);
+        context.activate();
+        try {
+            context.invalidate();
+        } finally {
+            context.deactivate();
+            context.dissociate(request);
+        }
+        return container.select(ConversationObserver.class).get().getDestroyed();
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.decorators.typed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Test;
+
+/**
+ * Tests the abstract methods of a decorator with a private delegate field when the typed invocation is enabled.
+ */
+public class TypedDecoratorInvocationTest {
+
+    @Test
+    public void testAbstractMethodsInvokedOnDelegate() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(SimpleCalculator.class, CalculatorDecorator.class)
+                .decorators(CalculatorDecorator.class).property(ConfigurationKey.PROXY_TYPED_INVOCATION.get(), true).initialize()) {
+            Calculator calculator = container.select(Calculator.class).get();
+            assertEquals("decorated foo simple", calculator.describe("foo "));
+            assertEquals(3, calculator.add(1, 2));
+            assertEquals(-3.5, calculator.sum(1L, 2.5, true), 0);
+            assertEquals(3.5, calculator.sum(1L, 2.5, false), 0);
+            Calculator self = calculator.self();
+            assertNotNull(self);
+            assertEquals(5, self.add(2, 3));
+        }
+    }
+
+}
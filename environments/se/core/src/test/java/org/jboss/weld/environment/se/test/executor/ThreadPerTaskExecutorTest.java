@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.ObservesAsync;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.jboss.weld.bootstrap.api.CDI11Bootstrap;
+import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.executor.ThreadPerTaskExecutorServices;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.security.spi.SecurityContext;
+import org.jboss.weld.security.spi.SecurityServices;
+import org.junit.Test;
+
+/**
+ * Verifies that the request context is activated and the security context is associated when asynchronous observer methods are notified using
+ * {@link ThreadPerTaskExecutorServices}.
+ */
+public class ThreadPerTaskExecutorTest {
+
+    private static final ThreadLocal<String> CURRENT_PRINCIPAL = new ThreadLocal<>();
+
+    private static final List<String> PRINCIPALS = new CopyOnWriteArrayList<>();
+
+    private static final List<Thread> THREADS = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testContextsPropagated() throws Exception {
+        PRINCIPALS.clear();
+        THREADS.clear();
+        try (WeldContainer container = new SecureWeld().disableDiscovery().beanClasses(RequestScopedCounter.class, Observer.class)
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(), "THREAD_PER_TASK").initialize()) {
+            ExecutorServices executorServices = container.select(BeanManagerImpl.class).get().getServices().get(ExecutorServices.class);
+            assertTrue(executorServices instanceof ThreadPerTaskExecutorServices);
+
+            CURRENT_PRINCIPAL.set("alpha");
+            try {
+                Ping first = container.event().select(Ping.class).fireAsync(new Ping()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+                CURRENT_PRINCIPAL.set("bravo");
+                Ping second = container.event().select(Ping.class).fireAsync(new Ping()).toCompletableFuture().get(10, TimeUnit.SECONDS);
+                // the request context was active and a new one was used for each event
+                assertEquals(1, first.getCount());
+                assertEquals(1, second.getCount());
+            } finally {
+                CURRENT_PRINCIPAL.remove();
+            }
+            // the security context was associated with the worker thread
+            assertEquals(2, PRINCIPALS.size());
+            assertEquals("alpha", PRINCIPALS.get(0));
+            assertEquals("bravo", PRINCIPALS.get(1));
+            for (Thread thread : THREADS) {
+                assertNotEquals(Thread.currentThread(), thread);
+            }
+        }
+    }
+
+    @Test
+    public void testBootstrapWithThreadPerTaskExecutor() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(RequestScopedCounter.class, Observer.class)
+                .property(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(), "THREAD_PER_TASK").property(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), true)
+                .initialize()) {
+            BeanManager beanManager = container.getBeanManager();
+            assertEquals(1, beanManager.getBeans(Observer.class).size());
+            assertNotNull(container.select(Observer.class).get());
+        }
+    }
+
+    public static class Ping {
+
+        private volatile int count;
+
+        public int getCount() {
+            return count;
+        }
+
+        void setCount(int count) {
+            this.count = count;
+        }
+
+    }
+
+    public static class Observer {
+
+        void observe(@ObservesAsync Ping ping, RequestScopedCounter counter) {
+            THREADS.add(Thread.currentThread());
+            PRINCIPALS.add(CURRENT_PRINCIPAL.get());
+            ping.setCount(counter.increment());
+        }
+
+    }
+
+    @RequestScoped
+    public static class RequestScopedCounter {
+
+        private int value;
+
+        int increment() {
+            return ++value;
+        }
+
+    }
+
+    static class SecureWeld extends Weld {
+
+        @Override
+        protected Deployment createDeployment(ResourceLoader resourceLoader, CDI11Bootstrap bootstrap) {
+            Deployment deployment = super.createDeployment(resourceLoader, bootstrap);
+            deployment.getServices().add(SecurityServices.class, new ThreadLocalSecurityServices());
+            return deployment;
+        }
+
+    }
+
+    /**
+     * Propagates the value of {@link ThreadPerTaskExecutorTest#CURRENT_PRINCIPAL} to the thread the security context is associated with.
+     */
+    static class ThreadLocalSecurityServices implements SecurityServices {
+
+        @Override
+        public Principal getPrincipal() {
+            String name = CURRENT_PRINCIPAL.get();
+            return name != null ? () -> name : null;
+        }
+
+        @Override
+        public SecurityContext getSecurityContext() {
+            final String principal = CURRENT_PRINCIPAL.get();
+            return new SecurityContext() {
+
+                private String previous;
+
+                @Override
+                public void associate() {
+                    previous = CURRENT_PRINCIPAL.get();
+                    CURRENT_PRINCIPAL.set(principal);
+                }
+
+                @Override
+                public void dissociate() {
+                    if (previous != null) {
+                        CURRENT_PRINCIPAL.set(previous);
+                    } else {
+                        CURRENT_PRINCIPAL.remove();
+                    }
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        @Override
+        public void cleanup() {
+        }
+
+    }
+
+}
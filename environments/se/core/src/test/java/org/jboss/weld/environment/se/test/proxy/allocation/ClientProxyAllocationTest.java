@@ -0,0 +1,268 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.test.proxy.allocation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.NormalScope;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.Extension;
+
+import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.unbound.UnboundLiteral;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Verifies that invoking a client proxy of a normal-scoped bean does not allocate once the contextual instance exists, including a bean with a custom scope
+ * with a single context. Also verifies that the lookup of an existing instance still detects more than one active context for a custom scope.
+ */
+public class ClientProxyAllocationTest {
+
+    private static final int WARMUP_ITERATIONS = 20000;
+
+    private static final int ITERATIONS = 100000;
+
+    // Allows for a few allocations made by the measurement itself, e.g. by the JIT or the management API
+    private static final long ALLOCATION_TOLERANCE = 1024;
+
+    @Test
+    public void testApplicationScopedProxyDoesNotAllocate() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(ApplicationCounter.class).initialize()) {
+            ApplicationCounter counter = container.select(ApplicationCounter.class).get();
+            assertAllocationFree(() -> counter.increment());
+        }
+    }
+
+    @Test
+    public void testRequestScopedProxyDoesNotAllocate() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(RequestCounter.class).initialize()) {
+            RequestContext requestContext = container.select(RequestContext.class, UnboundLiteral.INSTANCE).get();
+            requestContext.activate();
+            try {
+                RequestCounter counter = container.select(RequestCounter.class).get();
+                assertAllocationFree(() -> counter.increment());
+            } finally {
+                requestContext.invalidate();
+                requestContext.deactivate();
+            }
+        }
+    }
+
+    @Test
+    public void testCustomScopedProxyDoesNotAllocate() {
+        CustomContext context = new CustomContext();
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(CustomCounter.class).addExtension(new CustomScopeExtension(context))
+                .initialize()) {
+            CustomCounter counter = container.select(CustomCounter.class).get();
+            context.active = true;
+            assertAllocationFree(() -> counter.increment());
+        }
+    }
+
+    @Test
+    public void testCustomScopeSingleContextNotActive() {
+        CustomContext context = new CustomContext();
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(CustomCounter.class).addExtension(new CustomScopeExtension(context))
+                .initialize()) {
+            CustomCounter counter = container.select(CustomCounter.class).get();
+            context.active = true;
+            counter.increment();
+            assertEquals(2, counter.increment());
+            context.active = false;
+            try {
+                counter.increment();
+                fail("The context is not active");
+            } catch (ContextNotActiveException expected) {
+            }
+            context.active = true;
+            assertEquals(3, counter.increment());
+        }
+    }
+
+    private static void assertAllocationFree(Runnable invocation) {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled());
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            invocation.run();
+        }
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            invocation.run();
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+        assertTrue("Client proxy invocations allocated " + allocated + " bytes", allocated < ALLOCATION_TOLERANCE);
+    }
+
+    @Test
+    public void testRequestScopedInstanceRecreatedInNewRequest() {
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(RequestCounter.class).initialize()) {
+            RequestContext requestContext = container.select(RequestContext.class, UnboundLiteral.INSTANCE).get();
+            RequestCounter counter = container.select(RequestCounter.class).get();
+            for (int i = 0; i < 2; i++) {
+                requestContext.activate();
+                try {
+                    counter.increment();
+                    assertEquals(2, counter.increment());
+                } finally {
+                    requestContext.invalidate();
+                    requestContext.deactivate();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCustomScopeMultipleActiveContextsDetected() {
+        CustomContext first = new CustomContext();
+        CustomContext second = new CustomContext();
+        try (WeldContainer container = new Weld().disableDiscovery().beanClasses(CustomCounter.class).addExtension(new CustomScopeExtension(first, second))
+                .initialize()) {
+            CustomCounter counter = container.select(CustomCounter.class).get();
+            first.active = true;
+            counter.increment();
+            assertEquals(2, counter.increment());
+            second.active = true;
+            try {
+                counter.increment();
+                fail("More than one context is active for the scope");
+            } catch (IllegalStateException expected) {
+            }
+            first.active = false;
+            // The instance from the second context is used now
+            assertEquals(1, counter.increment());
+        }
+    }
+
+    @ApplicationScoped
+    public static class ApplicationCounter {
+
+        private int value;
+
+        public int increment() {
+            return ++value;
+        }
+
+    }
+
+    @RequestScoped
+    public static class RequestCounter {
+
+        private int value;
+
+        public int increment() {
+            return ++value;
+        }
+
+    }
+
+    @CustomScoped
+    public static class CustomCounter {
+
+        private int value;
+
+        public int increment() {
+            return ++value;
+        }
+
+    }
+
+    @NormalScope
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.METHOD, ElementType.FIELD })
+    public @interface CustomScoped {
+    }
+
+    public static class CustomContext implements Context {
+
+        private final Map<Contextual<?>, Object> instances = new HashMap<Contextual<?>, Object>();
+
+        private volatile boolean active;
+
+        @Override
+        public Class<? extends Annotation> getScope() {
+            return CustomScoped.class;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public synchronized <T> T get(Contextual<T> contextual, CreationalContext<T> creationalContext) {
+            if (!active) {
+                throw new ContextNotActiveException();
+            }
+            Object instance = instances.get(contextual);
+            if (instance == null && creationalContext != null) {
+                instance = contextual.create(creationalContext);
+                instances.put(contextual, instance);
+            }
+            return (T) instance;
+        }
+
+        @Override
+        public <T> T get(Contextual<T> contextual) {
+            return get(contextual, null);
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+
+    }
+
+    public static class CustomScopeExtension implements Extension {
+
+        private final Context[] contexts;
+
+        CustomScopeExtension(Context... contexts) {
+            this.contexts = contexts;
+        }
+
+        void registerContexts(@Observes AfterBeanDiscovery event) {
+            for (Context context : contexts) {
+                event.addContext(context);
+            }
+        }
+
+    }
+
+}
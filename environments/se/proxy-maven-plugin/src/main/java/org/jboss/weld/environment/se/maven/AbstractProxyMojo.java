@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Common base for the goals which generate the Weld proxy classes at build time.
+ * <p>
+ * The generated classes are written to the project output directory, using the same package layout as the runtime. At runtime,
+ * {@link org.jboss.weld.bean.proxy.ProxyFactory} loads a class with the expected name from the bean class loader before generating a new one, so the
+ * pregenerated classes are picked up without any additional configuration.
+ */
+abstract class AbstractProxyMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    protected MavenProject project;
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    protected File classesDirectory;
+
+    @Parameter(property = "weld.proxy.skip", defaultValue = "false")
+    protected boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping Weld proxy generation");
+            return;
+        }
+        if (!classesDirectory.isDirectory()) {
+            getLog().info("No classes directory found: " + classesDirectory);
+            return;
+        }
+        Path tempDirectory = null;
+        try {
+            tempDirectory = Files.createTempDirectory("weld-proxies");
+            new ProxyClassGenerator(getClasspath(), tempDirectory.toFile()).generate();
+            execute(collectGeneratedClasses(tempDirectory), collectGeneratedClasses(classesDirectory.toPath()));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to generate Weld proxy classes", e);
+        } finally {
+            if (tempDirectory != null) {
+                delete(tempDirectory);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param generated the classes generated during this execution, keyed by the path relative to the classes directory
+     * @param existing the generated classes already present in the classes directory, keyed by the path relative to the classes directory
+     */
+    protected abstract void execute(Map<String, Path> generated, Map<String, Path> existing) throws IOException, MojoExecutionException, MojoFailureException;
+
+    protected static boolean isSameContent(Path a, Path b) throws IOException {
+        return Arrays.equals(Files.readAllBytes(a), Files.readAllBytes(b));
+    }
+
+    private List<URL> getClasspath() throws MojoExecutionException {
+        List<URL> urls = new ArrayList<>();
+        try {
+            for (String element : project.getRuntimeClasspathElements()) {
+                urls.add(new File(element).toURI().toURL());
+            }
+        } catch (Exception e) {
+            throw new MojoExecutionException("Unable to resolve the runtime classpath", e);
+        }
+        return urls;
+    }
+
+    /**
+     * Only classes which belong to a package of the project are taken into account - proxies of classes from dependencies belong to those dependencies.
+     */
+    private Map<String, Path> collectGeneratedClasses(Path root) throws IOException {
+        final Map<String, Path> classes = new TreeMap<>();
+        if (!Files.isDirectory(root)) {
+            return classes;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                String fileName = file.getFileName().toString();
+                if (fileName.contains(ProxyClassGenerator.GENERATED_CLASS_MARKER) && fileName.endsWith(".class")) {
+                    Path relative = root.relativize(file);
+                    Path packageDirectory = relative.getParent();
+                    if (packageDirectory == null || Files.isDirectory(classesDirectory.toPath().resolve(packageDirectory))) {
+                        classes.put(relative.toString().replace(File.separatorChar, '/'), file);
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return classes;
+    }
+
+    private void delete(Path directory) {
+        try {
+            Files.walk(directory).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            getLog().warn("Unable to delete temporary directory: " + directory, e);
+        }
+    }
+
+}
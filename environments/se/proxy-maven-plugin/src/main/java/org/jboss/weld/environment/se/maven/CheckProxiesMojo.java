@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.maven;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * Verifies that the proxy classes in the project output directory are up to date, i.e. that running the {@code generate} goal would not change anything.
+ * This is useful to detect a build where the bean classes were recompiled without regenerating the proxies.
+ */
+@Mojo(name = "check", defaultPhase = LifecyclePhase.VERIFY, requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class CheckProxiesMojo extends AbstractProxyMojo {
+
+    @Override
+    protected void execute(Map<String, Path> generated, Map<String, Path> existing) throws IOException, MojoFailureException {
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, Path> entry : generated.entrySet()) {
+            Path current = existing.get(entry.getKey());
+            if (current == null) {
+                problems.add("missing: " + entry.getKey());
+            } else if (!isSameContent(current, entry.getValue())) {
+                problems.add("outdated: " + entry.getKey());
+            }
+        }
+        for (String path : existing.keySet()) {
+            if (!generated.containsKey(path)) {
+                problems.add("stale: " + path);
+            }
+        }
+        if (!problems.isEmpty()) {
+            for (String problem : problems) {
+                getLog().error(problem);
+            }
+            throw new MojoFailureException("Weld proxy classes are not up to date, run the generate goal: " + problems.size() + " problem(s) found");
+        }
+        getLog().info(String.format("Weld proxy classes up to date: %s checked", generated.size()));
+    }
+
+}
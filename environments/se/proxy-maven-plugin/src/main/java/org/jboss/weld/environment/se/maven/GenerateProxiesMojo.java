@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * Writes the client proxies, decorator proxies and intercepted subclasses of the project beans to the project output directory so that they are packaged
+ * together with the bean classes. Outdated classes generated by a previous build are replaced and the ones which are no longer needed are removed.
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.PROCESS_CLASSES, requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class GenerateProxiesMojo extends AbstractProxyMojo {
+
+    @Override
+    protected void execute(Map<String, Path> generated, Map<String, Path> existing) throws IOException {
+        int written = 0;
+        for (Map.Entry<String, Path> entry : generated.entrySet()) {
+            Path target = classesDirectory.toPath().resolve(entry.getKey());
+            Path current = existing.get(entry.getKey());
+            if (current == null || !isSameContent(current, entry.getValue())) {
+                Files.copy(entry.getValue(), target, StandardCopyOption.REPLACE_EXISTING);
+                written++;
+            }
+        }
+        int removed = 0;
+        for (Map.Entry<String, Path> entry : existing.entrySet()) {
+            if (!generated.containsKey(entry.getKey())) {
+                Files.delete(entry.getValue());
+                removed++;
+            }
+        }
+        getLog().info(String.format("Weld proxy classes: %s generated, %s written, %s stale removed", generated.size(), written, removed));
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.UUID;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.ContainerState;
+import org.jboss.weld.bootstrap.WeldBootstrap;
+import org.jboss.weld.bootstrap.api.CDI11Bootstrap;
+import org.jboss.weld.bootstrap.api.Environments;
+import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.configuration.spi.ExternalConfiguration;
+import org.jboss.weld.configuration.spi.helpers.ExternalConfigurationBuilder;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.jboss.weld.executor.ExecutorServicesFactory.ThreadPoolType;
+import org.jboss.weld.literal.AnyLiteral;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.resources.ClassLoaderResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoader;
+
+/**
+ * Boots the deployment offline and writes all the generated client proxies, decorator proxies and intercepted subclasses to the given class output directory.
+ * <p>
+ * The deployment is booted in a separate class loader which never loads previously generated classes from the classpath. Otherwise, the existing classes
+ * would be reused instead of being generated.
+ * <p>
+ * The container is only booted up to the validation of the deployment, i.e. the portable extensions are notified but no application code observing
+ * {@code @Initialized(ApplicationScoped.class)} or {@code @Destroyed(ApplicationScoped.class)} is executed, and no contextual instance is created.
+ */
+class ProxyClassGenerator {
+
+    /**
+     * All the classes generated by {@link org.jboss.weld.bean.proxy.ProxyFactory} contain this marker.
+     */
+    static final String GENERATED_CLASS_MARKER = "$$_Weld";
+
+    private final List<URL> classpath;
+
+    private final File classOutputDirectory;
+
+    ProxyClassGenerator(List<URL> classpath, File classOutputDirectory) {
+        this.classpath = classpath;
+        this.classOutputDirectory = classOutputDirectory;
+    }
+
+    void generate() throws IOException {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader originalClassLoader = thread.getContextClassLoader();
+        try (GeneratedClassHidingClassLoader classLoader = new GeneratedClassHidingClassLoader(classpath.toArray(new URL[classpath.size()]),
+                ProxyClassGenerator.class.getClassLoader())) {
+            thread.setContextClassLoader(classLoader);
+            final String containerId = "weld-proxy-generator-" + UUID.randomUUID();
+            final WeldBootstrap bootstrap = new WeldBootstrap();
+            final Deployment deployment = new OfflineWeld(containerId).createDeployment(new ClassLoaderResourceLoader(classLoader), bootstrap);
+            final ExternalConfiguration configuration = new ExternalConfigurationBuilder()
+                    .add(ConfigurationKey.EXECUTOR_THREAD_POOL_TYPE.get(), ThreadPoolType.COMMON.toString())
+                    .add(ConfigurationKey.RELAXED_CONSTRUCTION.get(), true)
+                    .add(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), false)
+                    .add(ConfigurationKey.PROXY_CLASS_OUTPUT.get(), classOutputDirectory.getAbsolutePath()).build();
+            deployment.getServices().add(ExternalConfiguration.class, configuration);
+            try {
+                bootstrap.startContainer(containerId, Environments.SE, deployment);
+                bootstrap.startInitialization();
+                bootstrap.deployBeans();
+                // Intercepted subclasses and decorator proxies are generated during bootstrap
+                bootstrap.validateBeans();
+                // Client proxies are generated lazily, the contextual instances are never created
+                BeanManagerImpl beanManager = bootstrap.getManager(deployment.loadBeanDeploymentArchive(WeldContainer.class));
+                for (Bean<?> bean : beanManager.getBeans(Object.class, AnyLiteral.INSTANCE)) {
+                    if (beanManager.isNormalScope(bean.getScope())) {
+                        beanManager.getReference(bean, Object.class, beanManager.createCreationalContext(bean));
+                    }
+                }
+            } finally {
+                // Do not shut down the container regularly as that would notify the application observers
+                if (Container.available(containerId)) {
+                    Container container = Container.instance(containerId);
+                    container.setState(ContainerState.SHUTDOWN);
+                    container.cleanup();
+                }
+            }
+        } finally {
+            thread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
+    /**
+     * Only used to create the deployment.
+     */
+    private static class OfflineWeld extends Weld {
+
+        OfflineWeld(String containerId) {
+            super(containerId);
+        }
+
+        @Override
+        protected Deployment createDeployment(ResourceLoader resourceLoader, CDI11Bootstrap bootstrap) {
+            return super.createDeployment(resourceLoader, bootstrap);
+        }
+
+    }
+
+    private static class GeneratedClassHidingClassLoader extends URLClassLoader {
+
+        GeneratedClassHidingClassLoader(URL[] urls, ClassLoader parent) {
+            super(urls, parent);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            if (name.contains(GENERATED_CLASS_MARKER)) {
+                throw new ClassNotFoundException(name);
+            }
+            return super.findClass(name);
+        }
+
+        @Override
+        public URL findResource(String name) {
+            if (name.contains(GENERATED_CLASS_MARKER)) {
+                return null;
+            }
+            return super.findResource(name);
+        }
+
+        @Override
+        public Enumeration<URL> findResources(String name) throws IOException {
+            if (name.contains(GENERATED_CLASS_MARKER)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.findResources(name);
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.environment.se.maven;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.weld.bean.proxy.InterceptedSubclassFactory;
+import org.jboss.weld.bean.proxy.ProxyFactory;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.MethodSorters;
+
+/**
+ * Tests the offline generation of proxy classes.
+ * <p>
+ * The generated classes are defined by the class loader of the test classes and are therefore shared by the tests. A class is only written once it is
+ * generated so the client proxy test must run first.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ProxyClassGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testClientProxyGenerated() throws IOException {
+        File output = folder.newFolder("classes");
+        // The test classes are visible through the parent class loader
+        new ProxyClassGenerator(Collections.emptyList(), output).generate();
+
+        List<Path> proxies = findGeneratedClasses(output, Counter.class);
+        assertEquals(proxies.toString(), 1, proxies.size());
+        assertEquals(output.toPath().resolve(Counter.class.getPackage().getName().replace('.', File.separatorChar)), proxies.get(0).getParent());
+        // The field name is stored in the constant pool as is
+        String bytecode = new String(Files.readAllBytes(proxies.get(0)), StandardCharsets.ISO_8859_1);
+        assertTrue(bytecode.contains(ProxyFactory.FINGERPRINT_FIELD_PREFIX));
+        // Application observers are not notified
+        assertFalse(Counter.initialized);
+    }
+
+    @Test
+    public void testInterceptedSubclassRegenerated() throws Exception {
+        // Make sure the subclass intercepting both the methods is defined
+        new ProxyClassGenerator(Collections.emptyList(), folder.newFolder("all")).generate();
+        String subclassName = Greeter.class.getName() + ProxyFactory.PROXY_SUFFIX + "_$$_Weld" + InterceptedSubclassFactory.PROXY_SUFFIX;
+        String fingerprint = getFingerprint(Class.forName(subclassName, false, Greeter.class.getClassLoader()));
+        assertNotNull(fingerprint);
+
+        // Only Greeter.hello() is intercepted now, the members and annotations of Greeter are the same
+        File output = folder.newFolder("logged");
+        TimedInterceptorVetoExtension.enabled = true;
+        try {
+            new ProxyClassGenerator(Collections.emptyList(), output).generate();
+        } finally {
+            TimedInterceptorVetoExtension.enabled = false;
+        }
+        List<Path> subclasses = findGeneratedClasses(output, Greeter.class);
+        assertEquals(subclasses.toString(), 1, subclasses.size());
+        String regeneratedSubclassName = getClassName(output, subclasses.get(0));
+        String regeneratedFingerprint = getFingerprint(Class.forName(regeneratedSubclassName, false, Greeter.class.getClassLoader()));
+        assertNotEquals(fingerprint, regeneratedFingerprint);
+        assertEquals(subclassName + "$" + regeneratedFingerprint, regeneratedSubclassName);
+    }
+
+    private static List<Path> findGeneratedClasses(File output, Class<?> beanClass) throws IOException {
+        try (Stream<Path> files = Files.walk(output.toPath())) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(beanClass.getSimpleName()) && name.contains(ProxyClassGenerator.GENERATED_CLASS_MARKER);
+            }).collect(Collectors.toList());
+        }
+    }
+
+    private static String getClassName(File output, Path classFile) {
+        String name = output.toPath().relativize(classFile).toString();
+        return name.substring(0, name.length() - ".class".length()).replace(File.separatorChar, '.');
+    }
+
+    private static String getFingerprint(Class<?> proxyClass) {
+        for (Field field : proxyClass.getDeclaredFields()) {
+            if (field.getName().startsWith(ProxyFactory.FINGERPRINT_FIELD_PREFIX)) {
+                return field.getName().substring(ProxyFactory.FINGERPRINT_FIELD_PREFIX.length());
+            }
+        }
+        return null;
+    }
+
+}
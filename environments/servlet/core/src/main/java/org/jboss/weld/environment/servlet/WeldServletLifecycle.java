@@ -18,10 +18,12 @@ package org.jboss.weld.environment.servlet;
 
 import static org.jboss.weld.config.ConfigurationKey.BEAN_IDENTIFIER_INDEX_OPTIMIZATION;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.Extension;
@@ -42,6 +44,7 @@ import org.jboss.weld.bootstrap.spi.EEModuleDescriptor;
 import org.jboss.weld.bootstrap.spi.EEModuleDescriptor.ModuleType;
 import org.jboss.weld.bootstrap.spi.Metadata;
 import org.jboss.weld.bootstrap.spi.helpers.EEModuleDescriptorImpl;
+import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.configuration.spi.ExternalConfiguration;
 import org.jboss.weld.configuration.spi.helpers.ExternalConfigurationBuilder;
 import org.jboss.weld.el.WeldELContextListener;
@@ -53,6 +56,7 @@ import org.jboss.weld.environment.deployment.WeldBeanDeploymentArchive;
 import org.jboss.weld.environment.deployment.WeldDeployment;
 import org.jboss.weld.environment.deployment.WeldResourceLoader;
 import org.jboss.weld.environment.deployment.discovery.BeanArchiveHandler;
+import org.jboss.weld.environment.deployment.discovery.DiscoveryCache;
 import org.jboss.weld.environment.deployment.discovery.DiscoveryStrategy;
 import org.jboss.weld.environment.deployment.discovery.DiscoveryStrategyFactory;
 import org.jboss.weld.environment.deployment.discovery.jandex.Jandex;
@@ -295,6 +299,14 @@ public class WeldServletLifecycle {
             strategy.registerHandler(new ServletContextBeanArchiveHandler(context));
         }
         strategy.setScanner(new WebAppBeanArchiveScanner(resourceLoader, bootstrap, context));
+        if (Boolean.valueOf(context.getInitParameter(ConfigurationKey.CONCURRENT_DISCOVERY.get()))) {
+            // The container executor is not available yet
+            strategy.setExecutor(ForkJoinPool.commonPool());
+        }
+        String cacheDirectory = context.getInitParameter(ConfigurationKey.DISCOVERY_CACHE_DIRECTORY.get());
+        if (cacheDirectory != null && !cacheDirectory.isEmpty()) {
+            strategy.setCache(new DiscoveryCache(new File(cacheDirectory)));
+        }
         Set<WeldBeanDeploymentArchive> beanDeploymentArchives = strategy.performDiscovery();
 
         String isolation = context.getInitParameter(CONTEXT_PARAM_ARCHIVE_ISOLATION);
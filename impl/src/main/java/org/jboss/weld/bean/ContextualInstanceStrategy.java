@@ -162,7 +162,7 @@ public abstract class ContextualInstanceStrategy<T> {
                 return cached;
             }
             cached = super.getIfExists(bean, manager);
-            if (cached != null && RequestScopedCache.addItemIfActive(cache)) {
+            if (cached != null && RequestScopedCache.addItemIfActive(cache, bean)) {
                 cache.set(cached);
             }
             return cached;
@@ -175,7 +175,7 @@ public abstract class ContextualInstanceStrategy<T> {
                 return cached;
             }
             cached = super.get(bean, manager, ctx);
-            if (RequestScopedCache.addItemIfActive(cache)) {
+            if (RequestScopedCache.addItemIfActive(cache, bean)) {
                 cache.set(cached);
             }
             return cached;
@@ -24,6 +24,7 @@ import javax.enterprise.inject.spi.BeanAttributes;
 import javax.enterprise.inject.spi.PassivationCapable;
 
 import org.jboss.weld.bootstrap.BeanDeployerEnvironment;
+import org.jboss.weld.bootstrap.DeferredValidationService;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
 import org.jboss.weld.resolution.QualifierInstance;
@@ -40,11 +41,13 @@ public abstract class RIBean<T> extends CommonBean<T> implements PassivationCapa
     private boolean initialized;
     private volatile Set<QualifierInstance> qualifiers;
     private ContextualInstanceStrategy<T> contextualInstanceStrategy;
+    private final DeferredValidationService deferredValidation;
 
     protected RIBean(BeanAttributes<T> attributes, BeanIdentifier identifier, BeanManagerImpl beanManager) {
         super(attributes, identifier);
         this.beanManager = beanManager;
         this.contextualInstanceStrategy = ContextualInstanceStrategy.create(attributes, beanManager);
+        this.deferredValidation = beanManager.getServices().get(DeferredValidationService.class);
     }
 
     public BeanManagerImpl getBeanManager() {
@@ -112,6 +115,19 @@ public abstract class RIBean<T> extends CommonBean<T> implements PassivationCapa
         return qualifiers;
     }
 
+    /**
+     * If the deferred validation is enabled, validates this bean unless it was already validated. Subclasses call this method before a new instance is
+     * created.
+     *
+     * @throws RuntimeException the problem found for this bean, if any
+     * @see DeferredValidationService
+     */
+    protected void validateIfDeferred() {
+        if (deferredValidation != null) {
+            deferredValidation.validate(this);
+        }
+    }
+
     public ContextualInstanceStrategy<T> getContextualInstanceStrategy() {
         return contextualInstanceStrategy;
     }
@@ -41,6 +41,7 @@ public class SyntheticClassBean<T> extends AbstractSyntheticBean<T> {
 
     @Override
     public T create(CreationalContext<T> creationalContext) {
+        validateIfDeferred();
         T instance = producer.produce(creationalContext);
         producer.inject(instance, creationalContext);
         producer.postConstruct(instance);
@@ -41,6 +41,7 @@ public class SyntheticProducerBean<T, X> extends AbstractSyntheticBean<T> {
 
     @Override
     public T create(CreationalContext<T> creationalContext) {
+        validateIfDeferred();
         return getProducer().produce(creationalContext);
     }
 
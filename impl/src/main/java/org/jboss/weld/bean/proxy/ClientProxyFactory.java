@@ -68,10 +68,18 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
      */
     private static final String BEAN_ID_FIELD = "BEAN_ID_FIELD";
 
+    /**
+     * The {@link ContextBeanInstance} of the proxy. It caches the contextual instance strategy or the context of the bean so that forwarded invocations
+     * reach an existing bean instance without going through the method handler.
+     */
+    private static final String CONTEXT_BEAN_INSTANCE_FIELD = "CONTEXT_BEAN_INSTANCE_FIELD";
+
     private final BeanIdentifier beanId;
 
     private volatile Field beanIdField;
 
+    private volatile Field contextBeanInstanceField;
+
     public ClientProxyFactory(String contextId, Class<?> proxiedBeanType, Set<? extends Type> typeClosure, Bean<?> bean) {
         super(contextId, proxiedBeanType, typeClosure, bean);
         beanId = Container.instance(contextId).services().get(ContextualStore.class).putIfAbsent(bean);
@@ -87,6 +95,12 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
                 beanIdField = f;
             }
             beanIdField.set(instance, beanId);
+            if (contextBeanInstanceField == null) {
+                final Field f = AccessController.doPrivileged(new GetDeclaredFieldAction(instance.getClass(), CONTEXT_BEAN_INSTANCE_FIELD));
+                AccessController.doPrivileged(SetAccessibleAction.of(f));
+                contextBeanInstanceField = f;
+            }
+            contextBeanInstanceField.set(instance, beanInstance);
             return instance;
         } catch (IllegalAccessException e) {
             throw new RuntimeException(e);
@@ -99,6 +113,7 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
     protected void addFields(final ClassFile proxyClassType, List<DeferredBytecode> initialValueBytecode) {
         super.addFields(proxyClassType, initialValueBytecode);
         proxyClassType.addField(AccessFlag.VOLATILE | AccessFlag.PRIVATE, BEAN_ID_FIELD, BeanIdentifier.class);
+        proxyClassType.addField(AccessFlag.PRIVATE | AccessFlag.TRANSIENT, CONTEXT_BEAN_INSTANCE_FIELD, ContextBeanInstance.class);
     }
 
     @Override
@@ -124,9 +139,9 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
 
 
     /**
-     * Calls methodHandler.invoke with a null method parameter in order to
-     * get the underlying instance. The invocation is then forwarded to
-     * this instance with generated bytecode.
+     * Obtains the underlying instance from the {@link ContextBeanInstance} of
+     * the proxy. The invocation is then forwarded to this instance with
+     * generated bytecode.
      */
     @Override
     protected void createForwardingMethodBody(ClassMethod classMethod, final MethodInformation methodInfo, ClassMethod staticConstructor) {
@@ -203,9 +218,9 @@ public class ClientProxyFactory<T> extends ProxyFactory<T> {
 
     private void loadBeanInstance(ClassFile file, MethodInformation methodInfo, CodeAttribute b) {
         b.aload(0);
-        getMethodHandlerField(file, b);
+        b.getfield(file.getName(), CONTEXT_BEAN_INSTANCE_FIELD, ContextBeanInstance.class);
         // lets invoke the method
-        b.invokevirtual(ProxyMethodHandler.class.getName(), "getInstance", EMPTY_PARENTHESES + LJAVA_LANG_OBJECT);
+        b.invokevirtual(ContextBeanInstance.class.getName(), "getInstance", EMPTY_PARENTHESES + LJAVA_LANG_OBJECT);
         b.checkcast(methodInfo.getDeclaringClass());
     }
 
@@ -21,18 +21,23 @@ import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.List;
 
+import javax.enterprise.context.spi.Context;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.bean.ContextualInstance;
+import org.jboss.weld.bean.ContextualInstanceStrategy;
+import org.jboss.weld.bean.RIBean;
 import org.jboss.weld.context.CreationalContextImpl;
 import org.jboss.weld.context.WeldCreationalContext;
 import org.jboss.weld.injection.CurrentInjectionPoint;
 import org.jboss.weld.injection.EmptyInjectionPoint;
 import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
 import org.jboss.weld.logging.BeanLogger;
+import org.jboss.weld.logging.BeanManagerLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 import org.jboss.weld.serialization.spi.ContextualStore;
@@ -59,6 +64,10 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
     private final transient Class<?> instanceType;
     private final transient BeanManagerImpl manager;
     private final transient CurrentInjectionPoint currentInjectionPoint;
+    // Non-null if the bean uses an optimized ContextualInstanceStrategy
+    private final transient RIBean<T> optimizedBean;
+    // The contexts registered for the scope of the bean
+    private final transient List<Context> scopeContexts;
 
     private static final ThreadLocal<WeldCreationalContext<?>> currentCreationalContext = new ThreadLocal<WeldCreationalContext<?>>();
 
@@ -77,10 +86,22 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         BeanLogger.LOG.createdContextInstance(bean, id);
         this.manager = Container.instance(contextId).deploymentManager();
         this.currentInjectionPoint = manager.getServices().get(CurrentInjectionPoint.class);
+        this.optimizedBean = getOptimizedBean(bean);
+        this.scopeContexts = optimizedBean == null ? manager.getRegisteredContexts(bean.getScope()) : null;
+    }
+
+    private static <T> RIBean<T> getOptimizedBean(Bean<T> bean) {
+        if (bean instanceof RIBean<?>) {
+            RIBean<T> riBean = (RIBean<T>) bean;
+            if (riBean.getContextualInstanceStrategy() != ContextualInstanceStrategy.defaultStrategy()) {
+                return riBean;
+            }
+        }
+        return null;
     }
 
     public T getInstance() {
-        T existingInstance = ContextualInstance.getIfExists(bean, manager);
+        T existingInstance = getIfExists();
         if (existingInstance != null) {
             return existingInstance;
         }
@@ -107,6 +128,26 @@ public class ContextBeanInstance<T> extends AbstractBeanInstance implements Seri
         }
     }
 
+    /**
+     * This method is called for every invocation of a client proxy and should not allocate any objects. If the bean uses an optimized
+     * {@link ContextualInstanceStrategy} it is used directly. If there is a single context registered for the scope, no other context of the scope may be
+     * active and so the context is used directly once it is active. Otherwise, the active context is looked up so that more than one active context for the
+     * scope is detected.
+     */
+    private T getIfExists() {
+        if (optimizedBean != null) {
+            return ContextualInstance.getIfExists(optimizedBean, manager);
+        }
+        if (scopeContexts.size() == 1) {
+            final Context context = scopeContexts.get(0);
+            if (!context.isActive()) {
+                throw BeanManagerLogger.LOG.contextNotActive(bean.getScope().getName());
+            }
+            return context.get(bean);
+        }
+        return manager.getContext(bean.getScope()).get(bean);
+    }
+
     public Class<T> getInstanceType() {
         return cast(instanceType);
     }
@@ -25,6 +25,7 @@ import java.security.AccessController;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.Bean;
@@ -32,8 +33,10 @@ import javax.enterprise.inject.spi.Bean;
 import org.jboss.classfilewriter.AccessFlag;
 import org.jboss.classfilewriter.ClassFile;
 import org.jboss.classfilewriter.ClassMethod;
+import org.jboss.classfilewriter.code.BranchEnd;
 import org.jboss.classfilewriter.code.CodeAttribute;
 import org.jboss.classfilewriter.util.DescriptorUtils;
+import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.exceptions.WeldException;
 import org.jboss.weld.injection.FieldInjectionPoint;
 import org.jboss.weld.injection.ParameterInjectionPoint;
@@ -175,6 +178,16 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T> {
         return PROXY_SUFFIX;
     }
 
+    @Override
+    protected void addFingerprintElements(List<String> elements) {
+        if (delegateInjectionPoint instanceof ParameterInjectionPoint<?, ?>) {
+            elements.add("delegate " + delegateInjectionPoint.getMember() + " " + ((ParameterInjectionPoint<?, ?>) delegateInjectionPoint).getAnnotated().getPosition());
+        } else {
+            elements.add("delegate " + delegateInjectionPoint.getMember());
+        }
+        elements.add("typedInvocation " + getConfiguration().getBooleanProperty(ConfigurationKey.PROXY_TYPED_INVOCATION));
+    }
+
     private void createAbstractMethodCode(ClassMethod classMethod, MethodInformation method, ClassMethod staticConstructor) {
         if ((delegateField != null) && (!Modifier.isPrivate(delegateField.getModifiers()))) {
             // Call the corresponding method directly on the delegate
@@ -189,7 +202,9 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T> {
             // return the value if applicable
             b.returnInstruction();
         } else {
-            if (!Modifier.isPrivate(method.getMethod().getModifiers())) {
+            if (isTypedInvocationAllowed(method.getMethod())) {
+                createTypedDelegateInvocation(classMethod, method, staticConstructor);
+            } else if (!Modifier.isPrivate(method.getMethod().getModifiers())) {
                 // if it is a parameter injection point we need to initialize the
                 // injection point then handle the method with the method handler
 
@@ -206,6 +221,79 @@ public class DecoratorProxyFactory<T> extends ProxyFactory<T> {
         }
     }
 
+    private boolean isTypedInvocationAllowed(Method method) {
+        if (!getConfiguration().getBooleanProperty(ConfigurationKey.PROXY_TYPED_INVOCATION)) {
+            return false;
+        }
+        // the same restrictions as for client proxies apply, moreover the method must be declared on a decorated interface implemented by the delegate
+        if (!method.getDeclaringClass().isInterface() || !Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                || !Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getReturnType().getModifiers())) {
+            return false;
+        }
+        for (Class<?> paramType : method.getParameterTypes()) {
+            if (!Modifier.isPublic(paramType.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invokes the method on the delegate instance held by the {@link ProxyMethodHandler} using the exact signature. If a different method handler is set, the
+     * invocation falls back to the method handler.
+     * <p/>
+     * the generated bytecode is equivalent to:
+     * <p/>
+     * <pre>
+     * if (methodHandler instanceof ProxyMethodHandler) {
+     *     Delegate delegate = (Delegate) ((ProxyMethodHandler) methodHandler).getInstance();
+     *     Result result = delegate.method(param1, param2);
+     *     return result == delegate &amp;&amp; this instanceof Result ? this : result;
+     * }
+     * return (Result) methodHandler.invoke(this, method, null, new Object[] { param1, param2 });
+     * </pre>
+     */
+    private void createTypedDelegateInvocation(ClassMethod classMethod, MethodInformation methodInfo, ClassMethod staticConstructor) {
+        final Method method = methodInfo.getMethod();
+        final CodeAttribute b = classMethod.getCodeAttribute();
+        b.aload(0);
+        getMethodHandlerField(classMethod.getClassFile(), b);
+        b.instanceofInstruction(ProxyMethodHandler.class.getName());
+        final BranchEnd fallback = b.ifeq();
+
+        b.aload(0);
+        getMethodHandlerField(classMethod.getClassFile(), b);
+        b.checkcast(ProxyMethodHandler.class.getName());
+        b.invokevirtual(ProxyMethodHandler.class.getName(), "getInstance", "()" + LJAVA_LANG_OBJECT);
+        b.checkcast(methodInfo.getDeclaringClass());
+        // keep the delegate on the stack so that we are able to compare it with the result
+        b.dup();
+        b.loadMethodParameters();
+        b.invokeinterface(methodInfo.getDeclaringClass(), methodInfo.getName(), methodInfo.getDescriptor());
+        if (method.getReturnType().isPrimitive() || method.getReturnType().isArray()) {
+            b.returnInstruction();
+        } else {
+            // result, delegate -> result, delegate, result
+            b.dupX1();
+            final BranchEnd returnResult = b.ifAcmpne();
+            // the delegate returned itself - return the decorator instead to prevent the delegate escaping
+            b.aload(0);
+            b.instanceofInstruction(method.getReturnType().getName());
+            final BranchEnd notAssignable = b.ifeq();
+            b.pop();
+            b.aload(0);
+            b.checkcast(method.getReturnType().getName());
+            b.returnInstruction();
+            b.branchEnd(notAssignable);
+            b.returnInstruction();
+            b.branchEnd(returnResult);
+            b.returnInstruction();
+        }
+
+        b.branchEnd(fallback);
+        invokeMethodHandler(classMethod, methodInfo, true, TARGET_INSTANCE_BYTECODE_METHOD_RESOLVER, staticConstructor);
+    }
+
     /**
      * When creates the delegate initializer code when the delegate is injected
      * into a method.
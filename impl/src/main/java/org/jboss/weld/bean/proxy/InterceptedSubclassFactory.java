@@ -18,7 +18,6 @@
 package org.jboss.weld.bean.proxy;
 
 import static org.jboss.classfilewriter.util.DescriptorUtils.isPrimitive;
-import static org.jboss.classfilewriter.util.DescriptorUtils.isWide;
 import static org.jboss.classfilewriter.util.DescriptorUtils.makeDescriptor;
 
 import java.lang.reflect.Method;
@@ -26,6 +25,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.security.AccessController;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.enterprise.inject.spi.Bean;
@@ -107,6 +107,16 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T> {
         return PROXY_SUFFIX;
     }
 
+    @Override
+    protected void addFingerprintElements(List<String> elements) {
+        for (MethodSignature signature : enhancedMethodSignatures) {
+            elements.add("enhanced " + signature);
+        }
+        for (MethodSignature signature : interceptedMethodSignatures) {
+            elements.add("intercepted " + signature);
+        }
+    }
+
     @Override
     protected void addMethods(ClassFile proxyClassType, ClassMethod staticConstructor) {
         // Add all class methods for interception
@@ -316,27 +326,7 @@ public class InterceptedSubclassFactory<T> extends ProxyFactory<T> {
             b.aconstNull();
         }
 
-        b.iconst(methodInfo.getParameterTypes().length);
-        b.anewarray("java.lang.Object");
-
-        int localVariableCount = 1;
-
-        for (int i = 0; i < methodInfo.getParameterTypes().length; ++i) {
-            String typeString = methodInfo.getParameterTypes()[i];
-            b.dup(); // duplicate the array reference
-            b.iconst(i);
-            // load the parameter value
-            BytecodeUtils.addLoadInstruction(b, typeString, localVariableCount);
-            // box the parameter if necessary
-            Boxing.boxIfNessesary(b, typeString);
-            // and store it in the array
-            b.aastore();
-            if (isWide(typeString)) {
-                localVariableCount = localVariableCount + 2;
-            } else {
-                localVariableCount++;
-            }
-        }
+        createArgumentsArray(b, methodInfo.getParameterTypes());
         // now we have all our arguments on the stack
         // lets invoke the method
         b.invokeinterface(StackAwareMethodHandler.class.getName(), "invoke", LJAVA_LANG_OBJECT, INVOKE_METHOD_PARAMETERS);
@@ -25,12 +25,16 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivilegedAction;
 import java.security.ProtectionDomain;
 import java.util.ArrayList;
@@ -59,6 +63,7 @@ import org.jboss.weld.interceptor.proxy.LifecycleMixin;
 import org.jboss.weld.interceptor.util.proxy.TargetInstanceProxy;
 import org.jboss.weld.logging.BeanLogger;
 import org.jboss.weld.security.GetDeclaredConstructorsAction;
+import org.jboss.weld.security.GetDeclaredFieldsAction;
 import org.jboss.weld.security.GetDeclaredMethodsAction;
 import org.jboss.weld.security.GetProtectionDomainAction;
 import org.jboss.weld.serialization.spi.BeanIdentifier;
@@ -104,6 +109,20 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
 
     public static final String CONSTRUCTED_FLAG_NAME = "constructed";
 
+    /**
+     * A class written to the class output directory declares a synthetic field whose name consists of this prefix and the fingerprint of the proxied types.
+     * The fingerprint is compared when such a class is loaded so that a class generated for a different version of the proxied types is never used.
+     *
+     * @see org.jboss.weld.config.ConfigurationKey#PROXY_CLASS_OUTPUT
+     */
+    public static final String FINGERPRINT_FIELD_PREFIX = "weld$$$fingerprint$";
+
+    /**
+     * Shared empty arguments array passed by generated proxies to the method handler for methods without parameters. Declared here (and not in a utility
+     * package) so that proxies defined by other class loaders, e.g. in OSGi, are able to access it.
+     */
+    public static final Object[] EMPTY_ARGUMENTS = Arrays2.EMPTY_ARRAY;
+
     private final ProxyInstantiator proxyInstantiator;
 
     protected static final BytecodeMethodResolver DEFAULT_METHOD_RESOLVER = new DefaultBytecodeMethodResolver();
@@ -346,8 +365,31 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         if (proxyClassName.startsWith(JAVA)) {
             proxyClassName = proxyClassName.replaceFirst(JAVA, "org.jboss.weld");
         }
-        Class<T> proxyClass = null;
         BeanLogger.LOG.generatingProxyClass(proxyClassName);
+        Class<T> proxyClass;
+        String fingerprint;
+        try {
+            proxyClass = loadOrCreateProxyClass(proxyClassName);
+            fingerprint = getFingerprint(proxyClass);
+        } catch (LinkageError e) {
+            // A class generated at build time for an incompatible version of the proxied types, e.g. the superclass is final now
+            proxyClass = null;
+            fingerprint = "";
+        }
+        if (fingerprint != null) {
+            // The class was generated at build time, make sure it matches the current version of the proxied types
+            String currentFingerprint = computeFingerprint();
+            if (!fingerprint.equals(currentFingerprint)) {
+                String currentProxyClassName = proxyClassName + "$" + currentFingerprint;
+                BeanLogger.LOG.outdatedProxyClass(proxyClassName, classLoader, currentProxyClassName);
+                proxyClass = loadOrCreateProxyClass(currentProxyClassName);
+            }
+        }
+        return proxyClass;
+    }
+
+    private Class<T> loadOrCreateProxyClass(String proxyClassName) {
+        Class<T> proxyClass = null;
         try {
             // First check to see if we already have this proxy class
             proxyClass = cast(classLoader.loadClass(proxyClassName));
@@ -368,6 +410,80 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         return proxyClass;
     }
 
+    /**
+     * Reads the fingerprint of a class generated at build time, see {@link #FINGERPRINT_FIELD_PREFIX}.
+     *
+     * @param proxyClass
+     * @return the fingerprint declared by the given class or <code>null</code> if the class does not declare a fingerprint
+     */
+    private static String getFingerprint(Class<?> proxyClass) {
+        // Do not initialize the class - the static initializer of an outdated class may fail
+        for (Field field : AccessController.doPrivileged(new GetDeclaredFieldsAction(proxyClass))) {
+            if (field.getName().startsWith(FINGERPRINT_FIELD_PREFIX)) {
+                return field.getName().substring(FINGERPRINT_FIELD_PREFIX.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The fingerprint covers the members of the proxied types (including the superclasses and superinterfaces), together with the annotations as these may
+     * affect the generated bytecode, e.g. interceptor bindings. Moreover, it covers the bean definition and the configuration the generated bytecode depends
+     * on, see {@link #addFingerprintElements(List)}.
+     *
+     * @return the fingerprint of the proxied types
+     */
+    private String computeFingerprint() {
+        List<String> elements = new ArrayList<String>();
+        Set<Class<?>> processed = new HashSet<Class<?>>();
+        List<Class<?>> types = new ArrayList<Class<?>>();
+        types.add(getBeanType());
+        types.addAll(additionalInterfaces);
+        while (!types.isEmpty()) {
+            Class<?> type = types.remove(types.size() - 1);
+            if (type == null || Object.class.equals(type) || !processed.add(type)) {
+                continue;
+            }
+            elements.add(type.getName() + " " + type.getModifiers() + " " + Arrays.toString(type.getDeclaredAnnotations()));
+            for (Method method : AccessController.doPrivileged(new GetDeclaredMethodsAction(type))) {
+                elements.add(method.toGenericString() + " " + Arrays.toString(method.getDeclaredAnnotations()));
+            }
+            for (Constructor<?> constructor : AccessController.doPrivileged(new GetDeclaredConstructorsAction(type))) {
+                elements.add(constructor.toGenericString());
+            }
+            types.add(type.getSuperclass());
+            types.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        elements.add("usingConstructor " + proxyInstantiator.isUsingConstructor());
+        addFingerprintElements(elements);
+        Collections.sort(elements);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (String element : elements) {
+                digest.update(element.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            StringBuilder fingerprint = new StringBuilder();
+            byte[] hash = digest.digest();
+            // 64 bits are enough to detect a change
+            for (int i = 0; i < 8; i++) {
+                fingerprint.append(String.format("%02x", hash[i]));
+            }
+            return fingerprint.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new WeldException(e);
+        }
+    }
+
+    /**
+     * Adds the elements of the fingerprint which are not derived from the proxied types. A subclass generating bytecode which depends on the bean definition
+     * (e.g. the set of intercepted methods) or on the configuration must add these so that a class generated at build time is regenerated once they change.
+     *
+     * @param elements
+     */
+    protected void addFingerprintElements(List<String> elements) {
+    }
+
     protected Class<T> getCachedProxyClass(String proxyClassName) {
         try {
             // Check to see if we already have this proxy class
@@ -469,8 +585,14 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         // TODO: change the ProxyServices SPI to allow the container to figure out
         // which PD to use
 
+        if (configuration.getProxyClassOutputPath() != null) {
+            // The class may be packaged with the application, see getProxyClass()
+            proxyClassType.addField(AccessFlag.PRIVATE | AccessFlag.STATIC | AccessFlag.SYNTHETIC, FINGERPRINT_FIELD_PREFIX + computeFingerprint(),
+                    BytecodeUtils.BOOLEAN_CLASS_DESCRIPTOR);
+        }
+
         // Dump proxy type bytecode if necessary
-        dumpToFile(proxyClassName, proxyClassType.toBytecode());
+        dumpToFile(proxyClassName, proxyClassType);
 
         ProtectionDomain domain = AccessController.doPrivileged(new GetProtectionDomainAction(proxiedBeanType));
 
@@ -493,16 +615,28 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         }
     }
 
-    private void dumpToFile(String fileName, byte[] data) {
+    private void dumpToFile(String className, ClassFile classFile) {
         File proxyDumpFilePath = configuration.getProxyDumpFilePath();
-        if (proxyDumpFilePath == null) {
+        File proxyClassOutputPath = configuration.getProxyClassOutputPath();
+        if (proxyDumpFilePath == null && proxyClassOutputPath == null) {
             return;
         }
-        File dumpFile = new File(proxyDumpFilePath, fileName + ".class");
+        byte[] data = classFile.toBytecode();
+        if (proxyDumpFilePath != null) {
+            writeClassFile(className, new File(proxyDumpFilePath, className + ".class"), data);
+        }
+        if (proxyClassOutputPath != null) {
+            // Use the package directory layout so that the class may be packaged with the application
+            writeClassFile(className, new File(proxyClassOutputPath, className.replace('.', File.separatorChar) + ".class"), data);
+        }
+    }
+
+    private void writeClassFile(String className, File file, byte[] data) {
         try {
-            Files.write(dumpFile.toPath(), data, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            Files.createDirectories(file.toPath().getParent());
+            Files.write(file.toPath(), data, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
         } catch (IOException e) {
-            BeanLogger.LOG.beanCannotBeDumped(fileName, e);
+            BeanLogger.LOG.beanCannotBeDumped(className, e);
         }
     }
 
@@ -743,27 +877,7 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         bytecodeMethodResolver.getDeclaredMethod(classMethod, method.getDeclaringClass(), method.getName(), method.getParameterTypes(), staticConstructor);
         b.aconstNull();
 
-        b.iconst(method.getParameterTypes().length);
-        b.anewarray("java.lang.Object");
-
-        int localVariableCount = 1;
-
-        for (int i = 0; i < method.getParameterTypes().length; ++i) {
-            String typeString = method.getParameterTypes()[i];
-            b.dup(); // duplicate the array reference
-            b.iconst(i);
-            // load the parameter value
-            BytecodeUtils.addLoadInstruction(b, typeString, localVariableCount);
-            // box the parameter if necessary
-            Boxing.boxIfNessesary(b, typeString);
-            // and store it in the array
-            b.aastore();
-            if (isWide(typeString)) {
-                localVariableCount = localVariableCount + 2;
-            } else {
-                localVariableCount++;
-            }
-        }
+        createArgumentsArray(b, method.getParameterTypes());
         // now we have all our arguments on the stack
         // lets invoke the method
         b.invokeinterface(MethodHandler.class.getName(), "invoke", LJAVA_LANG_OBJECT, new String[] { LJAVA_LANG_OBJECT,
@@ -786,6 +900,41 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         }
     }
 
+    /**
+     * Creates an array holding the method parameters (boxed if necessary) and leaves it on top of the stack. Methods without parameters share a single empty
+     * array so that no allocation is needed.
+     *
+     * @param b the code attribute
+     * @param parameterTypes the parameter type descriptors
+     */
+    protected static void createArgumentsArray(CodeAttribute b, String[] parameterTypes) {
+        if (parameterTypes.length == 0) {
+            b.getstatic(ProxyFactory.class.getName(), "EMPTY_ARGUMENTS", "[" + LJAVA_LANG_OBJECT);
+            return;
+        }
+        b.iconst(parameterTypes.length);
+        b.anewarray("java.lang.Object");
+
+        int localVariableCount = 1;
+
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            String typeString = parameterTypes[i];
+            b.dup(); // duplicate the array reference
+            b.iconst(i);
+            // load the parameter value
+            BytecodeUtils.addLoadInstruction(b, typeString, localVariableCount);
+            // box the parameter if necessary
+            Boxing.boxIfNessesary(b, typeString);
+            // and store it in the array
+            b.aastore();
+            if (isWide(typeString)) {
+                localVariableCount = localVariableCount + 2;
+            } else {
+                localVariableCount++;
+            }
+        }
+    }
+
     /**
      * Adds methods requiring special implementations rather than just
      * delegation.
@@ -870,6 +1019,10 @@ public class ProxyFactory<T> implements PrivilegedAction<T> {
         return additionalInterfaces;
     }
 
+    protected WeldConfiguration getConfiguration() {
+        return configuration;
+    }
+
     public Bean<?> getBean() {
         return bean;
     }
@@ -197,6 +197,10 @@ public class BeanDeployer extends AbstractBeanDeployer<BeanDeployerEnvironment>
             createClassBean(ctx.getAnnotatedType(), otherWeldClasses);
         }
         // create session beans
+        createSessionBeans(otherWeldClasses);
+    }
+
+    protected void createSessionBeans(SetMultimap<Class<?>, SlimAnnotatedType<?>> otherWeldClasses) {
         ejbSupport.createSessionBeans(getEnvironment(), otherWeldClasses, getManager());
     }
 
@@ -212,6 +212,17 @@ public class BeanDeployment {
     }
 
     public void createBeans(Environment environment) {
+        createBuiltInBeans(environment);
+        beanDeployer.createClassBeans();
+    }
+
+    /**
+     * Registers the built-in beans and the context beans. Class beans are not created.
+     *
+     * @param environment the environment
+     * @see BeanDeploymentScheduler
+     */
+    void createBuiltInBeans(Environment environment) {
         getBeanManager().getServices().get(WeldModules.class).preBeanRegistration(this, environment);
 
         /*
@@ -238,10 +249,6 @@ public class BeanDeployment {
         for (ContextHolder<? extends Context> context : contexts) {
             beanDeployer.addBuiltInBean(ContextBean.of(context, beanManager));
         }
-
-        // TODO Register the context beans
-        beanDeployer.createClassBeans();
-
     }
 
     public void deploySpecialized(Environment environment) {
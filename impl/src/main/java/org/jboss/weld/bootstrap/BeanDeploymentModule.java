@@ -32,6 +32,7 @@ import org.jboss.weld.bootstrap.api.ServiceRegistry;
 import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.event.DefaultObserverNotifierFactory;
 import org.jboss.weld.event.EventMetadataImpl;
+import org.jboss.weld.event.GlobalObserverNotifierService;
 import org.jboss.weld.event.ObserverNotifier;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.metadata.cache.MetaAnnotationStore;
@@ -62,7 +63,7 @@ public final class BeanDeploymentModule {
         // create module-local observer notifier
         Iterable<ObserverMethod<?>> observers = flatMap(managers, BeanManagerImpl::getObservers);
         final TypeSafeObserverResolver resolver = new TypeSafeObserverResolver(services.get(MetaAnnotationStore.class), observers,
-                services.get(WeldConfiguration.class));
+                services.get(WeldConfiguration.class), services.get(GlobalObserverNotifierService.class)::getObserverModificationCount);
         this.notifier = DefaultObserverNotifierFactory.INSTANCE.create(contextId, resolver, services, false);
     }
 
@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.util.Collection;
+
+import org.jboss.weld.bootstrap.api.Environment;
+import org.jboss.weld.injection.producer.InjectionTargetService;
+
+/**
+ * Executes the bean deployment phases for all the bean deployments. Each phase is completed for all the bean deployments before the next phase starts.
+ *
+ * <p>
+ * This implementation processes the bean deployments sequentially. The work within a single bean deployment may still be performed in parallel by
+ * {@link ConcurrentBeanDeployer}.
+ * </p>
+ *
+ * @see ConcurrentBeanDeploymentScheduler
+ * @see WeldStartup#deployBeans()
+ */
+public class BeanDeploymentScheduler {
+
+    /**
+     * Registers built-in beans and creates class beans (including session beans).
+     *
+     * @param deployments the bean deployments
+     * @param environment the environment
+     */
+    public void createBeans(Collection<BeanDeployment> deployments, Environment environment) {
+        for (BeanDeployment deployment : deployments) {
+            deployment.createBeans(environment);
+        }
+    }
+
+    /**
+     * Fires {@link javax.enterprise.inject.spi.ProcessBeanAttributes} for class beans and creates producers, disposers and observers declared on the class
+     * beans.
+     *
+     * @param deployments the bean deployments
+     */
+    public void createProducersAndObservers(Collection<BeanDeployment> deployments) {
+        for (BeanDeployment deployment : deployments) {
+            deployment.getBeanDeployer().processClassBeanAttributes();
+            deployment.getBeanDeployer().createProducersAndObservers();
+        }
+    }
+
+    /**
+     * Initializes the beans, fires the bean events and registers the beans and observer methods with the bean managers.
+     *
+     * @param deployments the bean deployments
+     * @param environment the environment
+     */
+    public void registerBeans(Collection<BeanDeployment> deployments, Environment environment) {
+        for (BeanDeployment deployment : deployments) {
+            deployment.deployBeans(environment);
+        }
+    }
+
+    /**
+     * Performs the initialization which requires all the beans to be deployed.
+     *
+     * @param deployments the bean deployments
+     * @param environment the environment
+     */
+    public void afterBeanDiscovery(Collection<BeanDeployment> deployments, Environment environment) {
+        for (BeanDeployment deployment : deployments) {
+            deployment.getBeanManager().getServices().get(InjectionTargetService.class).initialize();
+            deployment.afterBeanDiscovery(environment);
+        }
+    }
+
+}
@@ -0,0 +1,494 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.event.ExtensionObserverMethodImpl;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Records the wall time and the allocated memory of bootstrap phases, container lifecycle events and extension observer methods. This service is only
+ * registered if {@link org.jboss.weld.config.ConfigurationKey#BOOTSTRAP_PROFILING} is enabled.
+ *
+ * <p>
+ * Phases are expected to be started and ended by the thread performing the bootstrap. Observer notifications may be recorded by multiple threads, e.g. if
+ * concurrent deployment is enabled. The allocated memory is measured for the current thread only, i.e. the memory allocated by tasks executed by
+ * {@link org.jboss.weld.manager.api.ExecutorServices} is not included in the phase where the tasks were submitted. If the JVM does not support thread
+ * allocation measurement, the allocated memory is reported as -1.
+ * </p>
+ *
+ * @see WeldStartup
+ * @see ExtensionObserverMethodImpl
+ */
+public class BootstrapProfiler implements Service {
+
+    private static final String CONTAINER_LIFECYCLE_EVENT_PACKAGE = Extension.class.getPackage().getName();
+
+    private static final AllocationCounter ALLOCATION_COUNTER = AllocationCounter.create();
+
+    private final String contextId;
+
+    private final String reportFile;
+
+    private final long start;
+
+    private final List<Phase> phases;
+
+    private int depth;
+
+    private final ConcurrentMap<Class<?>, Statistics> events;
+
+    private final ConcurrentMap<ObserverMethod<?>, Statistics> observers;
+
+    public BootstrapProfiler(String contextId, String reportFile) {
+        this.contextId = contextId;
+        this.reportFile = reportFile;
+        this.start = System.nanoTime();
+        this.phases = new CopyOnWriteArrayList<Phase>();
+        this.events = new ConcurrentHashMap<Class<?>, Statistics>();
+        this.observers = new ConcurrentHashMap<ObserverMethod<?>, Statistics>();
+    }
+
+    /**
+     * Starts a bootstrap phase. Phases started before the returned measurement is closed are considered nested.
+     *
+     * @param name
+     * @return the measurement which must be closed once the phase is finished
+     */
+    public Measurement startPhase(final String name) {
+        final int phaseDepth = depth++;
+        final long phaseStart = System.nanoTime() - start;
+        // the phase is added when started so that the order of nested phases is preserved
+        final Phase phase = new Phase(name, phaseDepth, phaseStart);
+        phases.add(phase);
+        return new Measurement() {
+            @Override
+            protected void record(long time, long allocated) {
+                phase.time = time;
+                phase.allocated = allocated;
+                depth = phaseDepth;
+            }
+        };
+    }
+
+    /**
+     * Starts a notification of an extension observer method.
+     *
+     * @param observer
+     * @param event
+     * @return the measurement which must be closed once the observer method returns
+     */
+    public Measurement startNotification(final ExtensionObserverMethodImpl<?, ?> observer, final Object event) {
+        return new Measurement() {
+            @Override
+            protected void record(long time, long allocated) {
+                events.computeIfAbsent(event.getClass(), (eventClass) -> new Statistics(null, null, getEventName(eventClass))).add(time, allocated);
+                observers.computeIfAbsent(observer, (o) -> new Statistics(observer.getBeanClass().getName(), observer.getMethod().getJavaMember().getName(),
+                        Reflections.getRawType(observer.getObservedType()).getSimpleName())).add(time, allocated);
+            }
+        };
+    }
+
+    public String getContextId() {
+        return contextId;
+    }
+
+    /**
+     *
+     * @return the list of phases in the order in which they were started
+     */
+    public List<Phase> getPhases() {
+        return new ArrayList<Phase>(phases);
+    }
+
+    /**
+     *
+     * @return the statistics of container lifecycle events, the most expensive first
+     */
+    public List<Statistics> getEvents() {
+        return sort(events.values());
+    }
+
+    /**
+     *
+     * @return the statistics of extension observer methods, the most expensive first
+     */
+    public List<Statistics> getObservers() {
+        return sort(observers.values());
+    }
+
+    /**
+     * Logs the report and writes the JSON representation to the report file, if specified.
+     */
+    public void report() {
+        BootstrapLogger.LOG.bootstrapProfile(contextId, toText());
+        if (!reportFile.isEmpty()) {
+            Path path = Paths.get(reportFile);
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                    writer.write(toJson());
+                }
+            } catch (IOException e) {
+                BootstrapLogger.LOG.unableToWriteBootstrapProfile(path, e);
+            }
+        }
+    }
+
+    String toText() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Phases:\n");
+        for (Phase phase : phases) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < phase.getDepth(); i++) {
+                name.append("  ");
+            }
+            name.append(phase.getName());
+            appendLine(builder, name.toString(), "", phase.getTime(), phase.getAllocated());
+        }
+        builder.append("Container lifecycle events:\n");
+        for (Statistics event : getEvents()) {
+            appendLine(builder, event.getEvent(), event.getNotifications() + " notifications", event.getTime(), event.getAllocated());
+        }
+        builder.append("Extension observer methods:\n");
+        for (Statistics observer : getObservers()) {
+            appendLine(builder, observer.getExtension() + "." + observer.getMethod() + "(" + observer.getEvent() + ")",
+                    observer.getNotifications() + " notifications", observer.getTime(), observer.getAllocated());
+        }
+        return builder.toString();
+    }
+
+    private static void appendLine(StringBuilder builder, String name, String info, long time, long allocated) {
+        builder.append(String.format(Locale.ROOT, "  %-70s %18s %12.3f ms %12s%n", name, info, toMillis(time), allocated < 0 ? "n/a" : (allocated / 1024) + " KB"));
+    }
+
+    String toJson() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{\"contextId\":");
+        appendString(builder, contextId);
+        builder.append(",\"phases\":[");
+        boolean first = true;
+        for (Phase phase : phases) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            builder.append("{\"name\":");
+            appendString(builder, phase.getName());
+            builder.append(",\"depth\":").append(phase.getDepth());
+            builder.append(",\"start\":").append(String.format(Locale.ROOT, "%.3f", toMillis(phase.getStart())));
+            appendMeasurement(builder, phase.getTime(), phase.getAllocated());
+            builder.append('}');
+        }
+        builder.append("],\"events\":");
+        appendStatistics(builder, getEvents());
+        builder.append(",\"observers\":");
+        appendStatistics(builder, getObservers());
+        builder.append('}');
+        return builder.toString();
+    }
+
+    private static void appendStatistics(StringBuilder builder, List<Statistics> statistics) {
+        builder.append('[');
+        boolean first = true;
+        for (Statistics item : statistics) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            builder.append('{');
+            if (item.getExtension() != null) {
+                builder.append("\"extension\":");
+                appendString(builder, item.getExtension());
+                builder.append(",\"method\":");
+                appendString(builder, item.getMethod());
+                builder.append(',');
+            }
+            builder.append("\"event\":");
+            appendString(builder, item.getEvent());
+            builder.append(",\"notifications\":").append(item.getNotifications());
+            appendMeasurement(builder, item.getTime(), item.getAllocated());
+            builder.append('}');
+        }
+        builder.append(']');
+    }
+
+    private static void appendMeasurement(StringBuilder builder, long time, long allocated) {
+        builder.append(",\"time\":").append(String.format(Locale.ROOT, "%.3f", toMillis(time)));
+        builder.append(",\"allocated\":").append(allocated);
+    }
+
+    private static void appendString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static List<Statistics> sort(Iterable<Statistics> values) {
+        List<Statistics> result = new ArrayList<Statistics>();
+        for (Statistics statistics : values) {
+            result.add(statistics);
+        }
+        result.sort(Comparator.comparingLong(Statistics::getTime).reversed());
+        return result;
+    }
+
+    /**
+     * Container lifecycle event implementations are internal classes. The name of the corresponding SPI interface is used instead, e.g.
+     * {@code ProcessAnnotatedType}.
+     */
+    private static String getEventName(Class<?> eventClass) {
+        for (Class<?> clazz = eventClass; clazz != null; clazz = clazz.getSuperclass()) {
+            for (Class<?> iface : clazz.getInterfaces()) {
+                if (iface.getName().startsWith(CONTAINER_LIFECYCLE_EVENT_PACKAGE)) {
+                    return iface.getSimpleName();
+                }
+            }
+        }
+        return eventClass.getSimpleName();
+    }
+
+    @Override
+    public void cleanup() {
+        phases.clear();
+        events.clear();
+        observers.clear();
+    }
+
+    /**
+     * A running measurement.
+     */
+    public abstract static class Measurement implements AutoCloseable {
+
+        private final long start;
+
+        private final long allocatedStart;
+
+        private Measurement() {
+            this.start = System.nanoTime();
+            this.allocatedStart = ALLOCATION_COUNTER.get();
+        }
+
+        @Override
+        public void close() {
+            long time = System.nanoTime() - start;
+            long allocated = allocatedStart < 0 ? -1 : ALLOCATION_COUNTER.get() - allocatedStart;
+            record(time, allocated);
+        }
+
+        protected abstract void record(long time, long allocated);
+
+    }
+
+    /**
+     * A bootstrap phase. All the times are in nanoseconds, the start is relative to the creation of the profiler.
+     */
+    public static class Phase {
+
+        private final String name;
+
+        private final int depth;
+
+        private final long start;
+
+        private volatile long time;
+
+        private volatile long allocated;
+
+        Phase(String name, int depth, long start) {
+            this.name = name;
+            this.depth = depth;
+            this.start = start;
+            this.allocated = -1;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public long getAllocated() {
+            return allocated;
+        }
+
+    }
+
+    /**
+     * Aggregated statistics of a container lifecycle event or an extension observer method. The time is in nanoseconds.
+     */
+    public static class Statistics {
+
+        private final String extension;
+
+        private final String method;
+
+        private final String event;
+
+        private final LongAdder notifications;
+
+        private final LongAdder time;
+
+        private final LongAdder allocated;
+
+        Statistics(String extension, String method, String event) {
+            this.extension = extension;
+            this.method = method;
+            this.event = event;
+            this.notifications = new LongAdder();
+            this.time = new LongAdder();
+            this.allocated = new LongAdder();
+        }
+
+        void add(long time, long allocated) {
+            this.notifications.increment();
+            this.time.add(time);
+            if (allocated > 0) {
+                this.allocated.add(allocated);
+            }
+        }
+
+        /**
+         *
+         * @return the extension class name or <code>null</code> for container lifecycle event statistics
+         */
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         *
+         * @return the observer method name or <code>null</code> for container lifecycle event statistics
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        public String getEvent() {
+            return event;
+        }
+
+        public long getNotifications() {
+            return notifications.sum();
+        }
+
+        public long getTime() {
+            return time.sum();
+        }
+
+        public long getAllocated() {
+            return ALLOCATION_COUNTER.isSupported() ? allocated.sum() : -1;
+        }
+
+    }
+
+    /**
+     * Uses {@code com.sun.management.ThreadMXBean} if available. The class is accessed reflectively so that there is no dependency on a non-standard API.
+     */
+    private static class AllocationCounter {
+
+        private static final String GET_THREAD_ALLOCATED_BYTES = "getThreadAllocatedBytes";
+
+        static AllocationCounter create() {
+            Object threadBean = ManagementFactory.getThreadMXBean();
+            try {
+                Class<?> beanInterface = Class.forName("com.sun.management.ThreadMXBean");
+                if (beanInterface.isInstance(threadBean)) {
+                    Method method = beanInterface.getMethod(GET_THREAD_ALLOCATED_BYTES, long.class);
+                    if (((Long) method.invoke(threadBean, Thread.currentThread().getId())) >= 0) {
+                        return new AllocationCounter(threadBean, method);
+                    }
+                }
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                // allocation measurement not supported
+                BootstrapLogger.LOG.catchingDebug(e);
+            }
+            return new AllocationCounter(null, null);
+        }
+
+        private final Object threadBean;
+
+        private final Method method;
+
+        private AllocationCounter(Object threadBean, Method method) {
+            this.threadBean = threadBean;
+            this.method = method;
+        }
+
+        boolean isSupported() {
+            return method != null;
+        }
+
+        long get() {
+            if (method == null) {
+                return -1;
+            }
+            try {
+                return (Long) method.invoke(threadBean, Thread.currentThread().getId());
+            } catch (ReflectiveOperationException e) {
+                return -1;
+            }
+        }
+    }
+
+}
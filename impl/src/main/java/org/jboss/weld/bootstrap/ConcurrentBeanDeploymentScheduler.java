@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.annotated.slim.SlimAnnotatedType;
+import org.jboss.weld.annotated.slim.SlimAnnotatedTypeContext;
+import org.jboss.weld.bean.AbstractClassBean;
+import org.jboss.weld.bean.RIBean;
+import org.jboss.weld.bootstrap.api.Environment;
+import org.jboss.weld.executor.IterativeWorkerTaskFactory;
+import org.jboss.weld.injection.producer.InjectionTargetService;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.util.collections.SetMultimap;
+
+/**
+ * Executes the parallelizable work of a bean deployment phase for all the bean deployments as a single task set. Therefore, a deployment consisting of many
+ * small bean archives does not leave the thread pool idle. The tasks of a phase are submitted at once and the next phase starts once all the tasks are
+ * completed.
+ *
+ * <p>
+ * The work which involves container lifecycle event notifications (e.g. {@link javax.enterprise.inject.spi.ProcessBean}) is still performed sequentially by
+ * the thread performing the bootstrap, in the order of bean deployments. Note that the per-archive tasks are never nested - the tasks do not submit any other
+ * tasks to the same thread pool.
+ * </p>
+ *
+ * <p>
+ * This scheduler is only used if the concurrent deployment is enabled, i.e. each bean deployment uses {@link ConcurrentBeanDeployer}.
+ * </p>
+ */
+public class ConcurrentBeanDeploymentScheduler extends BeanDeploymentScheduler {
+
+    private final ExecutorServices executor;
+
+    public ConcurrentBeanDeploymentScheduler(ExecutorServices executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void createBeans(Collection<BeanDeployment> deployments, Environment environment) {
+        final List<Runnable> work = new ArrayList<Runnable>();
+        final Map<BeanDeployer, SetMultimap<Class<?>, SlimAnnotatedType<?>>> otherWeldClasses = new LinkedHashMap<BeanDeployer, SetMultimap<Class<?>, SlimAnnotatedType<?>>>();
+        for (BeanDeployment deployment : deployments) {
+            deployment.createBuiltInBeans(environment);
+            final BeanDeployer deployer = deployment.getBeanDeployer();
+            final SetMultimap<Class<?>, SlimAnnotatedType<?>> classes = SetMultimap.newConcurrentSetMultimap();
+            otherWeldClasses.put(deployer, classes);
+            for (SlimAnnotatedTypeContext<?> ctx : deployer.getEnvironment().getAnnotatedTypes()) {
+                work.add(() -> deployer.createClassBean(ctx.getAnnotatedType(), classes));
+            }
+        }
+        execute(work);
+        // create session beans
+        for (Map.Entry<BeanDeployer, SetMultimap<Class<?>, SlimAnnotatedType<?>>> entry : otherWeldClasses.entrySet()) {
+            entry.getKey().createSessionBeans(entry.getValue());
+        }
+    }
+
+    @Override
+    public void createProducersAndObservers(Collection<BeanDeployment> deployments) {
+        final List<Runnable> work = new ArrayList<Runnable>();
+        for (BeanDeployment deployment : deployments) {
+            final BeanDeployer deployer = deployment.getBeanDeployer();
+            deployer.processClassBeanAttributes();
+            for (AbstractClassBean<?> bean : deployer.getEnvironment().getClassBeans()) {
+                work.add(() -> deployer.createObserversProducersDisposers(bean));
+            }
+        }
+        execute(work);
+    }
+
+    /**
+     * Unlike {@link BeanDeploymentScheduler#registerBeans(Collection, Environment)}, the beans of all the bean deployments are initialized before the bean
+     * events are fired for the first bean deployment. Bean initialization does not depend on the beans and observer methods registered with the bean
+     * managers (specialization is resolved in a previous phase) so the same beans, observer methods and events result.
+     */
+    @Override
+    public void registerBeans(Collection<BeanDeployment> deployments, Environment environment) {
+        final List<Runnable> work = new ArrayList<Runnable>();
+        for (BeanDeployment deployment : deployments) {
+            final BeanDeployerEnvironment beanDeployerEnvironment = deployment.getBeanDeployer().getEnvironment();
+            for (RIBean<?> bean : beanDeployerEnvironment.getBeans()) {
+                work.add(() -> bean.initialize(beanDeployerEnvironment));
+            }
+        }
+        execute(work);
+        for (BeanDeployment deployment : deployments) {
+            final BeanDeployer deployer = deployment.getBeanDeployer();
+            deployer.fireBeanEvents();
+            deployer.deployBeans();
+            deployer.initializeObserverMethods();
+            deployer.deployObserverMethods();
+        }
+    }
+
+    @Override
+    public void afterBeanDiscovery(Collection<BeanDeployment> deployments, Environment environment) {
+        final List<Runnable> work = new ArrayList<Runnable>();
+        for (BeanDeployment deployment : deployments) {
+            deployment.getBeanManager().getServices().get(InjectionTargetService.class).initialize();
+            addAfterBeanDiscoveryWork(deployment.getBeanManager().getBeans(), work);
+            addAfterBeanDiscoveryWork(deployment.getBeanManager().getDecorators(), work);
+            addAfterBeanDiscoveryWork(deployment.getBeanManager().getInterceptors(), work);
+        }
+        execute(work);
+        for (BeanDeployment deployment : deployments) {
+            deployment.getBeanDeployer().registerCdiInterceptorsForMessageDrivenBeans();
+        }
+    }
+
+    private void addAfterBeanDiscoveryWork(Iterable<? extends Bean<?>> beans, List<Runnable> work) {
+        for (Bean<?> bean : beans) {
+            if (bean instanceof RIBean<?>) {
+                final RIBean<?> riBean = (RIBean<?>) bean;
+                work.add(riBean::initializeAfterBeanDiscovery);
+            }
+        }
+    }
+
+    private void execute(List<Runnable> work) {
+        if (work.isEmpty()) {
+            return;
+        }
+        executor.invokeAllAndCheckForExceptions(new IterativeWorkerTaskFactory<Runnable>(work) {
+            @Override
+            protected void doWork(Runnable item) {
+                item.run();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.Decorator;
+import javax.enterprise.inject.spi.Interceptor;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.logging.ValidatorLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+
+/**
+ * Validates the injection points of beans lazily. This service is only registered if {@link org.jboss.weld.config.ConfigurationKey#DEFERRED_VALIDATION} is
+ * enabled.
+ *
+ * <p>
+ * During bootstrap only the structural validation is performed (see {@link Validator#validateDeploymentStructure(BeanManagerImpl, BeanDeployment)}) and the
+ * beans are registered as pending. A pending bean is fully validated before its first instance is created, no matter whether the instance is requested
+ * through a reference, an injection point or as the receiver of an observer method. Moreover, once the container is initialized, all the remaining pending
+ * beans are validated in the background and a summary of the problems found is logged.
+ * </p>
+ *
+ * <p>
+ * A problem found for a bean is thrown whenever an instance of the bean is about to be created.
+ * </p>
+ *
+ * @see WeldStartup
+ * @see org.jboss.weld.bean.RIBean#validateIfDeferred()
+ */
+public class DeferredValidationService implements Service {
+
+    private static final String THREAD_NAME = "weld-deferred-validation";
+
+    private final Validator validator;
+
+    private final ConcurrentMap<Bean<?>, BeanManagerImpl> pending;
+
+    private final ConcurrentMap<Bean<?>, RuntimeException> problems;
+
+    private volatile boolean cancelled;
+
+    public DeferredValidationService(Validator validator) {
+        this.validator = validator;
+        this.pending = new ConcurrentHashMap<Bean<?>, BeanManagerImpl>();
+        this.problems = new ConcurrentHashMap<Bean<?>, RuntimeException>();
+    }
+
+    /**
+     * Registers all the beans of the given manager for deferred validation. Interceptors and decorators are always validated during bootstrap.
+     *
+     * @param manager the bean manager
+     */
+    public void register(BeanManagerImpl manager) {
+        for (Bean<?> bean : manager.getBeans()) {
+            if (!(bean instanceof Interceptor<?>) && !(bean instanceof Decorator<?>)) {
+                pending.putIfAbsent(bean, manager);
+            }
+        }
+    }
+
+    /**
+     * Validates the given bean unless it was already validated.
+     *
+     * @param bean the bean
+     * @throws RuntimeException the problem found for the bean, if any
+     */
+    public void validate(Bean<?> bean) {
+        if (!pending.isEmpty()) {
+            BeanManagerImpl manager = pending.get(bean);
+            if (manager != null) {
+                doValidate(bean, manager);
+            }
+        }
+        if (!problems.isEmpty()) {
+            RuntimeException problem = problems.get(bean);
+            if (problem != null) {
+                throw problem;
+            }
+        }
+    }
+
+    /**
+     * Validates all the pending beans asynchronously. If no executor is available a separate daemon thread is used.
+     *
+     * @param executor the executor, may be <code>null</code>
+     */
+    public void validateRemaining(ExecutorServices executor) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Runnable task = this::validateRemaining;
+        if (executor != null) {
+            try {
+                executor.getTaskExecutor().submit(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                ValidatorLogger.LOG.catchingDebug(e);
+            }
+        }
+        Thread thread = new Thread(task, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void validateRemaining() {
+        final long start = System.nanoTime();
+        int validated = 0;
+        for (Map.Entry<Bean<?>, BeanManagerImpl> entry : pending.entrySet()) {
+            if (cancelled) {
+                return;
+            }
+            doValidate(entry.getKey(), entry.getValue());
+            validated++;
+        }
+        final long time = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (problems.isEmpty()) {
+            ValidatorLogger.LOG.deferredValidationFinished(validated, time);
+        } else {
+            List<RuntimeException> found = new ArrayList<RuntimeException>(problems.values());
+            StringBuilder summary = new StringBuilder();
+            for (RuntimeException problem : found) {
+                summary.append("\n  - ");
+                summary.append(problem.getMessage());
+            }
+            ValidatorLogger.LOG.deferredValidationProblemsFound(validated, time, found.size(), summary);
+        }
+    }
+
+    private void doValidate(Bean<?> bean, BeanManagerImpl manager) {
+        // Concurrent validation of the same bean is harmless - the validation does not modify any state
+        RuntimeException problem = validator.validateBean(bean, manager);
+        if (problem != null) {
+            problems.putIfAbsent(bean, problem);
+        }
+        pending.remove(bean);
+    }
+
+    /**
+     * @return the number of beans which were not validated yet
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void cleanup() {
+        cancelled = true;
+        pending.clear();
+        problems.clear();
+    }
+
+}
@@ -0,0 +1,322 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.bootstrap;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.logging.BootstrapLogger;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.resolution.QualifierInstance;
+import org.jboss.weld.resolution.Resolvable;
+import org.jboss.weld.resolution.ResolvableBuilder;
+import org.jboss.weld.resolution.TypeSafeResolver;
+import org.jboss.weld.resources.DefaultResourceLoader;
+import org.jboss.weld.resources.spi.ResourceLoader;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Pre-warms the bean and observer resolver caches once the container is initialized. This service is only registered if
+ * {@link org.jboss.weld.config.ConfigurationKey#RESOLUTION_CACHE_WARMUP} is enabled.
+ *
+ * <p>
+ * The resolvables cached during validation are collected before the caches are flushed at the end of the bootstrap. Once the container is initialized, the
+ * resolvables are resolved again in the background (using the Weld thread pool if available) so that the first requests do not have to pay for the
+ * resolution. Optionally, the resolvables cached at shutdown are recorded to a file and replayed during the next bootstrap. Only the resolvables whose types
+ * are classes and whose qualifiers have no binding members may be recorded.
+ * </p>
+ *
+ * <p>
+ * The recorded file contains one resolvable per line: the kind of resolver, the id of the bean manager, the comma-separated qualifier types and the
+ * comma-separated types, separated by tab characters.
+ * </p>
+ *
+ * @see WeldStartup#endInitialization()
+ */
+public class ResolverCacheWarmup implements Service {
+
+    private static final String THREAD_NAME = "weld-resolver-warmup";
+
+    private static final String SEPARATOR = "\t";
+
+    private static final String LIST_SEPARATOR = ",";
+
+    enum Kind {
+
+        BEAN, OBSERVER, GLOBAL_OBSERVER;
+
+        TypeSafeResolver<Resolvable, ?, ?, ?> getResolver(BeanManagerImpl manager) {
+            switch (this) {
+                case BEAN:
+                    return manager.getBeanResolver();
+                case OBSERVER:
+                    return manager.getAccessibleLenientObserverNotifier().getResolver();
+                default:
+                    return manager.getGlobalLenientObserverNotifier().getResolver();
+            }
+        }
+    }
+
+    private final String file;
+
+    private final AtomicBoolean recorded;
+
+    // resolvables to replay, null once replayed
+    private volatile Map<TypeSafeResolver<Resolvable, ?, ?, ?>, Set<Resolvable>> resolvables;
+
+    private volatile List<BeanManagerImpl> managers;
+
+    private volatile BeanManagerImpl deploymentManager;
+
+    private volatile long count;
+
+    public ResolverCacheWarmup(String file) {
+        this.file = file;
+        this.recorded = new AtomicBoolean();
+        this.count = -1;
+    }
+
+    /**
+     * Collects the resolvables currently cached by the resolvers of the given bean managers and the resolvables recorded during a previous run. Must be called
+     * before the caches are flushed.
+     *
+     * @param deploymentManager the deployment manager
+     * @param managers the bean managers of bean deployment archives
+     */
+    public void collect(BeanManagerImpl deploymentManager, Iterable<BeanManagerImpl> managers) {
+        final Map<TypeSafeResolver<Resolvable, ?, ?, ?>, Set<Resolvable>> resolvables = new LinkedHashMap<TypeSafeResolver<Resolvable, ?, ?, ?>, Set<Resolvable>>();
+        final List<BeanManagerImpl> allManagers = new ArrayList<BeanManagerImpl>();
+        allManagers.add(deploymentManager);
+        for (BeanManagerImpl manager : managers) {
+            allManagers.add(manager);
+        }
+        for (BeanManagerImpl manager : allManagers) {
+            collect(Kind.BEAN.getResolver(manager), resolvables);
+            collect(Kind.OBSERVER.getResolver(manager), resolvables);
+        }
+        collect(Kind.GLOBAL_OBSERVER.getResolver(deploymentManager), resolvables);
+        if (!file.isEmpty()) {
+            readRecorded(allManagers, resolvables);
+        }
+        this.resolvables = resolvables;
+        this.managers = allManagers;
+        this.deploymentManager = deploymentManager;
+    }
+
+    private void collect(TypeSafeResolver<Resolvable, ?, ?, ?> resolver, Map<TypeSafeResolver<Resolvable, ?, ?, ?>, Set<Resolvable>> resolvables) {
+        resolver.forEachCachedResolvable((resolvable) -> getResolvables(resolver, resolvables).add(resolvable));
+    }
+
+    private Set<Resolvable> getResolvables(TypeSafeResolver<Resolvable, ?, ?, ?> resolver, Map<TypeSafeResolver<Resolvable, ?, ?, ?>, Set<Resolvable>> resolvables) {
+        return resolvables.computeIfAbsent(resolver, (key) -> new LinkedHashSet<Resolvable>());
+    }
+
+    /**
+     * Replays the collected resolvables asynchronously. If no executor is available a separate daemon thread is used.
+     *
+     * @param executor the executor, may be <code>null</code>
+     */
+    public void warmUp(ExecutorServices executor) {
+        if (resolvables == null) {
+            return;
+        }
+        Runnable task = this::warmUp;
+        if (executor != null) {
+            try {
+                executor.getTaskExecutor().submit(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                BootstrapLogger.LOG.catchingDebug(e);
+            }
+        }
+        Thread thread = new Thread(task, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        final Map<TypeSafeResolver<Resolvable, ?, ?, ?>, Set<Resolvable>> resolvables = this.resolvables;
+        if (resolvables == null) {
+            return;
+        }
+        this.resolvables = null;
+        final long start = System.nanoTime();
+        long count = 0;
+        for (Map.Entry<TypeSafeResolver<Resolvable, ?, ?, ?>, Set<Resolvable>> entry : resolvables.entrySet()) {
+            for (Resolvable resolvable : entry.getValue()) {
+                try {
+                    entry.getKey().resolve(resolvable, true);
+                    count++;
+                } catch (RuntimeException e) {
+                    // e.g. a recorded resolvable which is no longer valid
+                    BootstrapLogger.LOG.catchingDebug(e);
+                }
+            }
+        }
+        this.count = count;
+        BootstrapLogger.LOG.resolverCachesWarmedUp(count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * @return the number of pre-warmed cache entries or -1 if the warm-up has not finished yet
+     */
+    public long getCount() {
+        return count;
+    }
+
+    private void readRecorded(List<BeanManagerImpl> managers, Map<TypeSafeResolver<Resolvable, ?, ?, ?>, Set<Resolvable>> resolvables) {
+        final Path path = Paths.get(file);
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        final Map<String, BeanManagerImpl> managersById = new LinkedHashMap<String, BeanManagerImpl>();
+        for (BeanManagerImpl manager : managers) {
+            managersById.put(manager.getId(), manager);
+        }
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(SEPARATOR);
+                if (parts.length != 4) {
+                    continue;
+                }
+                BeanManagerImpl manager = managersById.get(parts[1]);
+                if (manager == null) {
+                    continue;
+                }
+                try {
+                    Kind kind = Kind.valueOf(parts[0]);
+                    Resolvable resolvable = createResolvable(manager, parts[2], parts[3]);
+                    getResolvables(kind.getResolver(manager), resolvables).add(resolvable);
+                } catch (RuntimeException e) {
+                    // e.g. a class which no longer exists
+                    BootstrapLogger.LOG.catchingDebug(e);
+                }
+            }
+        } catch (IOException e) {
+            BootstrapLogger.LOG.unableToAccessResolverCacheWarmupFile(path, e);
+        }
+    }
+
+    private Resolvable createResolvable(BeanManagerImpl manager, String qualifiers, String types) {
+        ResourceLoader resourceLoader = manager.getServices().get(ResourceLoader.class);
+        if (resourceLoader == null) {
+            resourceLoader = DefaultResourceLoader.INSTANCE;
+        }
+        final String[] typeNames = types.split(LIST_SEPARATOR);
+        final ResolvableBuilder builder;
+        if (typeNames.length == 1) {
+            // bean resolvables - the raw type is also set
+            builder = new ResolvableBuilder(resourceLoader.classForName(typeNames[0]), manager);
+        } else {
+            builder = new ResolvableBuilder(manager);
+            for (String type : typeNames) {
+                builder.addType(resourceLoader.classForName(type));
+            }
+        }
+        for (String qualifier : qualifiers.split(LIST_SEPARATOR)) {
+            if (!qualifier.isEmpty()) {
+                builder.addQualifierUnchecked(QualifierInstance.of(Reflections.<Class<? extends Annotation>> cast(resourceLoader.classForName(qualifier))));
+            }
+        }
+        return builder.create();
+    }
+
+    private void record() {
+        final List<BeanManagerImpl> managers = this.managers;
+        if (file.isEmpty() || managers == null || !recorded.compareAndSet(false, true)) {
+            return;
+        }
+        final Path path = Paths.get(file);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (BeanManagerImpl manager : managers) {
+                record(Kind.BEAN, manager, writer);
+                record(Kind.OBSERVER, manager, writer);
+            }
+            record(Kind.GLOBAL_OBSERVER, deploymentManager, writer);
+        } catch (IOException e) {
+            BootstrapLogger.LOG.unableToAccessResolverCacheWarmupFile(path, e);
+        }
+    }
+
+    private void record(Kind kind, BeanManagerImpl manager, BufferedWriter writer) throws IOException {
+        final List<String> lines = new ArrayList<String>();
+        kind.getResolver(manager).forEachCachedResolvable((resolvable) -> {
+            String line = toLine(kind, manager, resolvable);
+            if (line != null) {
+                lines.add(line);
+            }
+        });
+        for (String line : lines) {
+            writer.write(line);
+            writer.newLine();
+        }
+    }
+
+    private String toLine(Kind kind, BeanManagerImpl manager, Resolvable resolvable) {
+        if (resolvable.isDelegate() || manager.getId().contains(SEPARATOR)) {
+            return null;
+        }
+        StringBuilder qualifiers = new StringBuilder();
+        for (QualifierInstance qualifier : resolvable.getQualifiers()) {
+            if (qualifier.hasBindingMembers()) {
+                return null;
+            }
+            if (qualifiers.length() > 0) {
+                qualifiers.append(LIST_SEPARATOR);
+            }
+            qualifiers.append(qualifier.getAnnotationClass().getName());
+        }
+        StringBuilder types = new StringBuilder();
+        for (Type type : resolvable.getTypes()) {
+            if (!(type instanceof Class<?>) || ((Class<?>) type).isArray() || ((Class<?>) type).isPrimitive()) {
+                return null;
+            }
+            if (types.length() > 0) {
+                types.append(LIST_SEPARATOR);
+            }
+            types.append(((Class<?>) type).getName());
+        }
+        return kind.name() + SEPARATOR + manager.getId() + SEPARATOR + qualifiers + SEPARATOR + types;
+    }
+
+    @Override
+    public void cleanup() {
+        // The first cleanup is performed before the bean managers are cleaned up
+        record();
+        this.resolvables = null;
+        this.managers = null;
+        this.deploymentManager = null;
+    }
+
+}
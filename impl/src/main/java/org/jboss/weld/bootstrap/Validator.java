@@ -496,6 +496,71 @@ public class Validator implements Service {
         validateBeanNames(manager);
     }
 
+    /**
+     * Performs the same checks as {@link #validateDeployment(BeanManagerImpl, BeanDeployment)} except that injection points of beans are not resolved. Beans
+     * are only checked for definition errors, dependency resolution is left to {@link DeferredValidationService}.
+     *
+     * @param manager the bean manager
+     * @param deployment the bean deployment
+     */
+    public void validateDeploymentStructure(BeanManagerImpl manager, BeanDeployment deployment) {
+        validateDecorators(manager.getDecorators(), manager);
+        validateInterceptors(manager.getInterceptors(), manager);
+        validateBeanDefinitions(manager.getBeans(), manager);
+        validateEnabledDecoratorClasses(manager, deployment);
+        validateEnabledInterceptorClasses(manager, deployment);
+        validateEnabledAlternativeStereotypes(manager, deployment);
+        validateEnabledAlternativeClasses(manager, deployment);
+        validateSpecialization(manager);
+        validateDisposalMethods(deployment.getBeanDeployer().getEnvironment());
+        validateObserverMethods(deployment.getBeanDeployer().getEnvironment().getObservers(), manager);
+        validateBeanNames(manager);
+    }
+
+    /**
+     * Checks the given beans for definition errors which can be detected without resolving their injection points.
+     *
+     * @param beans the beans to validate
+     * @param manager the bean manager
+     */
+    public void validateBeanDefinitions(Collection<? extends Bean<?>> beans, BeanManagerImpl manager) {
+        final List<RuntimeException> problems = new ArrayList<RuntimeException>();
+        for (Bean<?> bean : beans) {
+            try {
+                for (InjectionPoint ij : bean.getInjectionPoints()) {
+                    validateInjectionPointForDefinitionErrors(ij, ij.getBean(), manager);
+                    validateMetadataInjectionPoint(ij, ij.getBean(), ValidatorLogger.INJECTION_INTO_NON_BEAN);
+                    validateEventMetadataInjectionPoint(ij);
+                }
+                if (manager.isPassivatingScope(bean.getScope()) && !Beans.isPassivationCapableBean(bean)) {
+                    throw ValidatorLogger.LOG.beanWithPassivatingScopeNotPassivationCapable(bean);
+                }
+            } catch (RuntimeException e) {
+                problems.add(e);
+            }
+        }
+        if (!problems.isEmpty()) {
+            if (problems.size() == 1) {
+                throw problems.get(0);
+            } else {
+                throw new DeploymentException(problems);
+            }
+        }
+    }
+
+    /**
+     * Validates a single bean, including resolution of all its injection points.
+     *
+     * @param bean the bean to validate
+     * @param manager the bean manager the bean belongs to
+     * @return the problem found or <code>null</code> if the bean is valid
+     */
+    public RuntimeException validateBean(Bean<?> bean, BeanManagerImpl manager) {
+        final List<RuntimeException> problems = new ArrayList<RuntimeException>(1);
+        validateBean(bean, new HashSet<CommonBean<?>>(), manager, problems);
+        return problems.isEmpty() ? null : problems.get(0);
+    }
+
     public void validateSpecialization(BeanManagerImpl manager) {
         SpecializationAndEnablementRegistry registry = manager.getServices().get(SpecializationAndEnablementRegistry.class);
         for (Entry<AbstractBean<?, ?>, Long> entry : registry.getBeansSpecializedInAnyDeploymentAsMap().entrySet()) {
@@ -50,6 +50,7 @@ import org.jboss.weld.bean.builtin.ContextBean;
 import org.jboss.weld.bean.proxy.ProtectionDomainCache;
 import org.jboss.weld.bean.proxy.ProxyInstantiator;
 import org.jboss.weld.bean.proxy.util.SimpleProxyServices;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Measurement;
 import org.jboss.weld.bootstrap.api.Environment;
 import org.jboss.weld.bootstrap.api.Service;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
@@ -74,6 +75,7 @@ import org.jboss.weld.context.ApplicationContext;
 import org.jboss.weld.context.DependentContext;
 import org.jboss.weld.context.RequestContext;
 import org.jboss.weld.context.SingletonContext;
+import org.jboss.weld.context.beanstore.BeanSlotIndex;
 import org.jboss.weld.context.bound.BoundConversationContext;
 import org.jboss.weld.context.bound.BoundConversationContextImpl;
 import org.jboss.weld.context.bound.BoundLiteral;
@@ -152,7 +154,8 @@ public class WeldStartup {
     private DeploymentVisitor deploymentVisitor;
     private final ServiceRegistry initialServices = new SimpleServiceRegistry();
     private String contextId;
-
+    private BootstrapProfiler profiler;
+    private BeanDeploymentScheduler scheduler;
 
     public WeldStartup() {
     }
@@ -197,6 +200,7 @@ public class WeldStartup {
         }
 
         addImplementationServices(registry);
+        final Measurement measurement = startPhase("startContainer");
 
         verifyServices(registry, environment.getRequiredDeploymentServices());
         if (!registry.contains(TransactionServices.class)) {
@@ -226,6 +230,7 @@ public class WeldStartup {
         deploymentVisitor.visit();
 
         Container.currentId.remove();
+        endPhase(measurement);
 
         return new WeldRuntime(contextId, deploymentManager, bdaMapping.getBdaToBeanManagerMap());
     }
@@ -273,11 +278,17 @@ public class WeldStartup {
         }
 
         services.add(ContextualStore.class, new ContextualStoreImpl(contextId, beanIdentifierIndex));
+        services.add(BeanSlotIndex.class, new BeanSlotIndex());
         services.add(CurrentInjectionPoint.class, new CurrentInjectionPoint());
         services.add(CurrentEventMetadata.class, new CurrentEventMetadata());
         services.add(SpecializationAndEnablementRegistry.class, new SpecializationAndEnablementRegistry());
         services.add(MissingDependenciesRegistry.class, new MissingDependenciesRegistry());
 
+        if (configuration.getBooleanProperty(ConfigurationKey.BOOTSTRAP_PROFILING)) {
+            profiler = new BootstrapProfiler(contextId, configuration.getStringProperty(ConfigurationKey.BOOTSTRAP_PROFILING_REPORT_FILE));
+            services.add(BootstrapProfiler.class, profiler);
+        }
+
         /*
          * Setup ExecutorServices
          */
@@ -310,8 +321,16 @@ public class WeldStartup {
          */
         if (configuration.getBooleanProperty(ConfigurationKey.CONCURRENT_DEPLOYMENT) && services.contains(ExecutorServices.class)) {
             services.add(Validator.class, new ConcurrentValidator(modules.getPluggableValidators(), executor));
+            scheduler = new ConcurrentBeanDeploymentScheduler(executor);
         } else {
             services.add(Validator.class, new Validator(modules.getPluggableValidators()));
+            scheduler = new BeanDeploymentScheduler();
+        }
+        if (configuration.getBooleanProperty(ConfigurationKey.RESOLUTION_CACHE_WARMUP)) {
+            services.add(ResolverCacheWarmup.class, new ResolverCacheWarmup(configuration.getStringProperty(ConfigurationKey.RESOLUTION_CACHE_WARMUP_FILE)));
+        }
+        if (configuration.getBooleanProperty(ConfigurationKey.DEFERRED_VALIDATION)) {
+            services.add(DeferredValidationService.class, new DeferredValidationService(services.get(Validator.class)));
         }
 
         GlobalObserverNotifierService observerNotificationService = new GlobalObserverNotifierService(services, contextId);
@@ -349,11 +368,14 @@ public class WeldStartup {
             throw BootstrapLogger.LOG.managerNotInitialized();
         }
 
+        final Measurement measurement = startPhase("startInitialization");
         Set<BeanDeployment> physicalBeanDeploymentArchives = new HashSet<BeanDeployment>(getBeanDeployments());
 
+        Measurement phase = startPhase("deployExtensions");
         ExtensionBeanDeployer extensionBeanDeployer = new ExtensionBeanDeployer(deploymentManager, deployment, bdaMapping, contexts);
         extensionBeanDeployer.addExtensions(extensions);
         extensionBeanDeployer.deployBeans();
+        endPhase(phase);
 
         installFastProcessAnnotatedTypeResolver(deploymentManager.getServices());
 
@@ -366,59 +388,72 @@ public class WeldStartup {
         // physical BDA
         deploymentVisitor.visit();
 
+        phase = startPhase("BeforeBeanDiscovery");
         BeforeBeanDiscoveryImpl.fire(deploymentManager, deployment, bdaMapping, contexts);
+        endPhase(phase);
 
         // for each physical BDA transform its classes into AnnotatedType instances
+        phase = startPhase("createClasses");
         for (BeanDeployment beanDeployment : physicalBeanDeploymentArchives) {
             beanDeployment.createClasses();
         }
+        endPhase(phase);
 
         // Re-Read the deployment structure, bdaMapping will be the physical
         // structure, extensions and any classes added using addAnnotatedType
         // outside the physical BDA
         deploymentVisitor.visit();
 
+        phase = startPhase("createTypes");
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             beanDeployment.createTypes();
         }
+        endPhase(phase);
 
+        phase = startPhase("AfterTypeDiscovery");
         AfterTypeDiscoveryImpl.fire(deploymentManager, deployment, bdaMapping, contexts);
+        endPhase(phase);
 
+        phase = startPhase("createEnablement");
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             beanDeployment.createEnablement();
         }
+        endPhase(phase);
+        endPhase(measurement);
     }
 
 
     public void deployBeans() {
-        for (BeanDeployment deployment : getBeanDeployments()) {
-            deployment.createBeans(environment);
-        }
+        final Measurement measurement = startPhase("deployBeans");
+        Measurement phase = startPhase("createBeans");
+        scheduler.createBeans(getBeanDeployments(), environment);
         // we must use separate loops, otherwise cyclic specialization would not work
-        for (BeanDeployment deployment : getBeanDeployments()) {
-            deployment.getBeanDeployer().processClassBeanAttributes();
-            deployment.getBeanDeployer().createProducersAndObservers();
-        }
+        scheduler.createProducersAndObservers(getBeanDeployments());
         for (BeanDeployment deployment : getBeanDeployments()) {
             deployment.getBeanDeployer().processProducerAttributes();
             deployment.getBeanDeployer().createNewBeans();
         }
+        endPhase(phase);
 
+        phase = startPhase("deploySpecialized");
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             beanDeployment.deploySpecialized(environment);
         }
+        endPhase(phase);
 
         // TODO keep a list of new bdas, add them all in, and deploy beans for them, then merge into existing
-        for (BeanDeployment beanDeployment : getBeanDeployments()) {
-            beanDeployment.deployBeans(environment);
-        }
+        phase = startPhase("registerBeans");
+        scheduler.registerBeans(getBeanDeployments(), environment);
+        endPhase(phase);
 
         getContainer().setState(ContainerState.DISCOVERED);
 
         // Flush caches for BeanManager.getBeans() to be usable in ABD (WELD-1729)
         flushCaches();
 
+        phase = startPhase("AfterBeanDiscovery");
         AfterBeanDiscoveryImpl.fire(deploymentManager, deployment, bdaMapping, contexts);
+        endPhase(phase);
 
         // Extensions may have registered beans / observers. We need to flush caches.
         flushCaches();
@@ -435,33 +470,58 @@ public class WeldStartup {
         // outside the physical structure
         deploymentVisitor.visit();
 
-        for (BeanDeployment beanDeployment : getBeanDeployments()) {
-            beanDeployment.getBeanManager().getServices().get(InjectionTargetService.class).initialize();
-            beanDeployment.afterBeanDiscovery(environment);
-        }
+        phase = startPhase("afterBeanDiscovery");
+        scheduler.afterBeanDiscovery(getBeanDeployments(), environment);
+        endPhase(phase);
         getContainer().putBeanDeployments(bdaMapping);
         getContainer().setState(ContainerState.DEPLOYED);
+        endPhase(measurement);
     }
 
     public void validateBeans() {
         BootstrapLogger.LOG.validatingBeans();
+        final Measurement measurement = startPhase("validateBeans");
+        Measurement phase = startPhase("validateDeployment");
+        final Validator validator = deployment.getServices().get(Validator.class);
+        final DeferredValidationService deferredValidation = deploymentManager.getServices().get(DeferredValidationService.class);
         for (BeanDeployment beanDeployment : getBeanDeployments()) {
             BeanManagerImpl beanManager = beanDeployment.getBeanManager();
             beanManager.getBeanResolver().clear();
-            deployment.getServices().get(Validator.class).validateDeployment(beanManager, beanDeployment);
+            if (deferredValidation != null) {
+                validator.validateDeploymentStructure(beanManager, beanDeployment);
+                deferredValidation.register(beanManager);
+            } else {
+                validator.validateDeployment(beanManager, beanDeployment);
+            }
             beanManager.getServices().get(InjectionTargetService.class).validate();
         }
+        endPhase(phase);
         getContainer().setState(ContainerState.VALIDATED);
+        phase = startPhase("AfterDeploymentValidation");
         AfterDeploymentValidationImpl.fire(deploymentManager);
+        endPhase(phase);
+        endPhase(measurement);
     }
 
     public void endInitialization() {
+        final Measurement measurement = startPhase("endInitialization");
 
         final BeanIdentifierIndex index = deploymentManager.getServices().get(BeanIdentifierIndex.class);
         if (index != null) {
             // Build a special index of bean identifiers
             index.build(getBeansForBeanIdentifierIndex());
         }
+        final BeanSlotIndex slotIndex = deploymentManager.getServices().get(BeanSlotIndex.class);
+        if (slotIndex != null) {
+            // Assign array slots to request-scoped beans, see ArrayBeanStore
+            slotIndex.build(getBeansForScope(RequestScoped.class));
+        }
+
+        final ResolverCacheWarmup warmup = deploymentManager.getServices().get(ResolverCacheWarmup.class);
+        if (warmup != null) {
+            // Collect the resolutions performed during validation before the caches are flushed
+            warmup.collect(deploymentManager, getBeanManagers());
+        }
 
         // TODO rebuild the manager accessibility graph if the bdas have changed
         // Register the managers so external requests can handle them
@@ -512,6 +572,35 @@ public class WeldStartup {
                 module.fireEvent(Object.class, ContextEvent.APPLICATION_INITIALIZED, InitializedLiteral.APPLICATION);
             }
         }
+        endPhase(measurement);
+        if (profiler != null) {
+            profiler.report();
+        }
+        final DeferredValidationService deferredValidation = deploymentManager.getServices().get(DeferredValidationService.class);
+        if (deferredValidation != null) {
+            deferredValidation.validateRemaining(deploymentManager.getServices().get(ExecutorServices.class));
+        }
+        if (warmup != null) {
+            warmup.warmUp(deploymentManager.getServices().get(ExecutorServices.class));
+        }
+    }
+
+    private List<BeanManagerImpl> getBeanManagers() {
+        List<BeanManagerImpl> managers = new ArrayList<BeanManagerImpl>();
+        for (BeanDeployment beanDeployment : getBeanDeployments()) {
+            managers.add(beanDeployment.getBeanManager());
+        }
+        return managers;
+    }
+
+    private Measurement startPhase(String name) {
+        return profiler != null ? profiler.startPhase(name) : null;
+    }
+
+    private void endPhase(Measurement measurement) {
+        if (measurement != null) {
+            measurement.close();
+        }
     }
 
     private void flushCaches() {
@@ -617,6 +706,23 @@ public class WeldStartup {
         return beans;
     }
 
+    /**
+     *
+     * @param scope
+     * @return the set of beans with the given scope
+     */
+    private Set<Bean<?>> getBeansForScope(Class<? extends Annotation> scope) {
+        Set<Bean<?>> beans = new HashSet<Bean<?>>();
+        for (BeanDeployment beanDeployment : getBeanDeployments()) {
+            for (Bean<?> bean : beanDeployment.getBeanManager().getBeans()) {
+                if (bean.getScope().equals(scope)) {
+                    beans.add(bean);
+                }
+            }
+        }
+        return beans;
+    }
+
     private void setExtensions(Iterable<Metadata<Extension>> extensions) {
         this.extensions = new ArrayList<Metadata<? extends Extension>>();
         Iterables.addAll(this.extensions, extensions);
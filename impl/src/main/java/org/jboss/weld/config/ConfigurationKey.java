@@ -74,9 +74,29 @@ public enum ConfigurationKey {
     EXECUTOR_THREAD_POOL_DEBUG("org.jboss.weld.executor.threadPoolDebug", false),
 
     /**
-     * The type of the thread pool. Possible values are: FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD.
+     * If set to <code>true</code>, the wall time and the allocated memory of each bootstrap phase, container lifecycle event and extension observer method
+     * is recorded. The report is logged once the container is initialized and is also available in Probe.
      */
-    @Description("The type of the Weld thread pool. Possible values are: <ul><li><code>FIXED</code> - Uses a fixed number of threads. The number of threads remains the same throughout the application.</li><li><code>FIXED_TIMEOUT</code> - Uses a fixed number of threads. A thread will be stopped after a configured period of inactivity.</li><li><code>NONE</code> - No dedicated thread pool used.</li><li><code>SINGLE_THREAD</code> - A single-threaded thread pool.</li><li><code>COMMON</code> - The default ForkJoinPool.commonPool() is used.</li>")
+    @Description("<strong>DEVELOPMENT MODE</strong> - if set to <code>true</code>, the wall time and the allocated memory of each bootstrap phase, container lifecycle event and extension observer method is recorded. The report is logged once the container is initialized and is also available in Probe. Note that this feature has negative impact on the <strong>bootstrap performance</strong>.")
+    BOOTSTRAP_PROFILING("org.jboss.weld.bootstrap.profiling", false),
+
+    /**
+     * The path of a file the bootstrap profiling report is written to in JSON format. Only used if {@link #BOOTSTRAP_PROFILING} is enabled.
+     */
+    @Description("The path of a file the bootstrap profiling report is written to in JSON format. Only used if the bootstrap profiling is enabled.")
+    BOOTSTRAP_PROFILING_REPORT_FILE("org.jboss.weld.bootstrap.profiling.reportFile", ""),
+
+    /**
+     * If set to <code>true</code>, injection points of beans are not resolved during bootstrap. Instead, a bean is fully validated before its first instance
+     * is created and the remaining beans are validated in the background once the container is initialized.
+     */
+    @Description("<strong>DEVELOPMENT MODE</strong> - if set to <code>true</code>, injection points of beans are not resolved during bootstrap. A bean is fully validated before its first instance is created and the remaining beans are validated in the background once the container is initialized. The problems found are logged. Note that this mode is <strong>not compliant</strong> with the CDI specification - deployment problems do not prevent the application from starting.")
+    DEFERRED_VALIDATION("org.jboss.weld.bootstrap.deferredValidation", false),
+
+    /**
+     * The type of the thread pool. Possible values are: FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD, COMMON, THREAD_PER_TASK.
+     */
+    @Description("The type of the Weld thread pool. Possible values are: <ul><li><code>FIXED</code> - Uses a fixed number of threads. The number of threads remains the same throughout the application.</li><li><code>FIXED_TIMEOUT</code> - Uses a fixed number of threads. A thread will be stopped after a configured period of inactivity.</li><li><code>NONE</code> - No dedicated thread pool used.</li><li><code>SINGLE_THREAD</code> - A single-threaded thread pool.</li><li><code>COMMON</code> - The default ForkJoinPool.commonPool() is used.</li><li><code>THREAD_PER_TASK</code> - A new thread is used for each task. Virtual threads are used if supported by the runtime.</li>")
     EXECUTOR_THREAD_POOL_TYPE("org.jboss.weld.executor.threadPoolType", ""),
 
     /**
@@ -89,19 +109,47 @@ public enum ConfigurationKey {
     /**
      * Weld caches resolved injection points in order to resolve them faster in the future. There exists a separate type safe resolver for beans,
      * decorators, disposers, interceptors and observers. Each of them stores resolved injection points in its cache, which maximum size is bounded by a default
-     * value (common to all of them).
+     * value (common to all of them). Once the bound is exceeded, the least recently used entries are evicted.
      *
      * @see <a href="https://issues.jboss.org/browse/WELD-1323">WELD-1323</a>
      */
-    @Description("Weld caches already resolved injection points in order to resolve them faster in the future. There exists a separate type safe resolver for beans, decorators, disposers, interceptors and observers. Each of them stores resolved injection points in its cache, which maximum size is bounded by a common default value.")
+    @Description("Weld caches already resolved injection points in order to resolve them faster in the future. There exists a separate type safe resolver for beans, decorators, disposers, interceptors and observers. Each of them stores resolved injection points in its cache, which maximum size is bounded by a common default value. Once the bound is exceeded, the least recently used entries are evicted.")
     RESOLUTION_CACHE_SIZE("org.jboss.weld.resolution.cacheSize", 0x10000L),
 
+    /**
+     * If set to <code>true</code>, the bean and observer resolutions performed during validation are replayed in the background once the container is
+     * initialized so that the resolver caches are not empty when the application starts serving requests.
+     */
+    @Description("If set to <code>true</code>, the bean and observer resolutions performed during validation (and optionally the resolutions recorded during a previous run) are replayed in the background once the container is initialized. The number of pre-warmed cache entries is logged.")
+    RESOLUTION_CACHE_WARMUP("org.jboss.weld.resolution.cacheWarmup", false),
+
+    /**
+     * The path of a file the resolutions cached at shutdown are recorded to. If the file exists during bootstrap, the recorded resolutions are also replayed.
+     * Only used if {@link #RESOLUTION_CACHE_WARMUP} is enabled.
+     */
+    @Description("The path of a file the resolutions cached at shutdown are recorded to. If the file exists during bootstrap, the recorded resolutions are also replayed. Only used if the resolution cache warm-up is enabled.")
+    RESOLUTION_CACHE_WARMUP_FILE("org.jboss.weld.resolution.cacheWarmup.file", ""),
+
     /**
      * For debug purposes, it's possible to dump the generated bytecode of proxies and subclasses.
      */
     @Description("For debugging purposes, it’s possible to dump the generated bytecode of client proxies and enhanced subclasses to the filesystem. The value represents the file path where the files should be stored.")
     PROXY_DUMP("org.jboss.weld.proxy.dump", ""),
 
+    /**
+     * The generated bytecode of proxies and subclasses may be written to a class output directory, e.g. at build time. The classes written are loaded
+     * instead of being generated at runtime if packaged with the application.
+     */
+    @Description("The generated bytecode of client proxies, decorator proxies and intercepted subclasses is written to the given directory using the package directory layout. The value represents the path of the class output directory. If such a class is packaged with the application, it is loaded instead of being generated at runtime.")
+    PROXY_CLASS_OUTPUT("org.jboss.weld.proxy.classOutput", ""),
+
+    /**
+     * If set to <code>true</code>, decorator proxies invoke the delegate directly using the exact method signature instead of calling the method handler with
+     * the boxed arguments.
+     */
+    @Description("If set to <code>true</code>, the abstract methods of a decorator whose delegate injection point is not directly accessible invoke the delegate directly using the exact method signature, i.e. no arguments array, no boxing and no reflective method lookup is needed. Only public methods of public types are affected.")
+    PROXY_TYPED_INVOCATION("org.jboss.weld.proxy.typedInvocation", false),
+
     /**
      * Weld supports a non-standard workaround to be able to create client proxies for Java types that cannot be proxied by the container, using non-portable
      * JVM APIs.
@@ -181,6 +229,27 @@ public enum ConfigurationKey {
     @Description("This configuration key is only applicable in Java SE. See also the CDI specification, section <a href=\"https://docs.jboss.org/cdi/spec/2.0.EDR1/cdi-spec.html#bootstrap-se\">15.1 Bean archive in Java SE</a>.")
     IMPLICIT_SCAN("javax.enterprise.inject.scan.implicit", false),
 
+    /**
+     * This configuration key is only applicable in Java SE. The value represents the path of a file used to store the discovery results. If the bean archives
+     * did not change since the snapshot was written, the discovery is skipped.
+     */
+    @Description("This configuration key is only applicable in Java SE. The value represents the path of a file used to store the discovery results. If the bean archives, the extensions and the bean defining annotations did not change since the snapshot was written, the bean archives are restored from the snapshot and the discovery is skipped. Otherwise, full discovery is performed and the snapshot is rewritten.")
+    DISCOVERY_SNAPSHOT("org.jboss.weld.se.discovery.snapshot", ""),
+
+    /**
+     * This configuration key is only applicable in Java SE and Servlet containers. If set to <code>true</code>, the bean archives are handled and processed
+     * concurrently during discovery.
+     */
+    @Description("This configuration key is only applicable in Java SE and Servlet containers. If set to <code>true</code>, the bean archives are opened, indexed and processed concurrently during discovery. The order of the discovered bean archives is not affected.")
+    CONCURRENT_DISCOVERY("org.jboss.weld.discovery.concurrent", false),
+
+    /**
+     * This configuration key is only applicable in Java SE and Servlet containers. The value represents the path of a directory used to cache the
+     * per-archive discovery results between restarts.
+     */
+    @Description("This configuration key is only applicable in Java SE and Servlet containers. The value represents the path of a directory used to cache the per-archive discovery results (e.g. Jandex indexes built for jar files) between restarts. A cache entry is only used if the path, size and last modification time of the archive match.")
+    DISCOVERY_CACHE_DIRECTORY("org.jboss.weld.discovery.cacheDirectory", ""),
+
     /**
      * If set to <code>true</code> one or more MBean components may be registered so that it is possible to use JMX to access the Probe development tool data.
      */
@@ -209,6 +278,57 @@ public enum ConfigurationKey {
     @Description("<strong>DEVELOPMENT MODE</strong> - a regular expression used to limit access to Probe REST API. Matches connections from localhost by default. Might not work properly for an application behind a reverse proxy or a load balancer.")
     PROBE_ALLOW_REMOTE_ADDRESS("org.jboss.weld.probe.allowRemoteAddress", "127.0.0.1|::1|::1%.+|0:0:0:0:0:0:0:1|0:0:0:0:0:0:0:1%.+"),
 
+    /**
+     * The default mode of asynchronous observer method notification. Possible values are: SERIAL, PARALLEL.
+     *
+     * @see org.jboss.weld.event.NotificationMode
+     */
+    @Description("The default mode of asynchronous observer method notification. Possible values are: <ul><li><code>SERIAL</code> - All the asynchronous observer methods of an event are notified serially in a single worker thread.</li><li><code>PARALLEL</code> - Each asynchronous observer method is notified in a separate task so that a slow observer method does not delay the other ones.</li></ul>")
+    ASYNC_OBSERVER_NOTIFICATION_MODE("org.jboss.weld.event.asyncNotificationMode", "SERIAL"),
+
+    /**
+     * If set to <code>true</code>, a single JTA synchronization is registered per transaction for all the transactional observer notifications. Requires the
+     * <code>TransactionSynchronizationRegistry</code> to be available in JNDI, otherwise a synchronization is registered for each event.
+     */
+    @Description("If set to <code>true</code>, a single JTA synchronization is registered per transaction for all the transactional observer notifications instead of a synchronization per event. The notifications are still processed in the order in which the events were fired. Requires the <code>TransactionSynchronizationRegistry</code> to be available in JNDI.")
+    TRANSACTIONAL_OBSERVER_COALESCING("org.jboss.weld.event.transactional.coalesce", false),
+
+    /**
+     * If set to <code>true</code>, the notifications of {@link javax.enterprise.event.TransactionPhase#AFTER_SUCCESS} observer methods are processed by the
+     * Weld executor instead of the thread completing the transaction.
+     */
+    @Description("If set to <code>true</code>, the notifications of <code>AFTER_SUCCESS</code> transactional observer methods are processed asynchronously by the Weld thread pool instead of the thread completing the transaction. The notifications of a single synchronization are processed serially, in order. If no <code>ExecutorServices</code> is available, the notifications are processed synchronously.")
+    TRANSACTIONAL_OBSERVER_ASYNC_AFTER_SUCCESS("org.jboss.weld.event.transactional.asyncAfterSuccess", false),
+
+    /**
+     * If set to <code>true</code>, the results of the EL name resolution are cached once the container is initialized. For a normal-scoped bean the client
+     * proxy is returned instead of the contextual instance.
+     */
+    @Description("If set to <code>true</code>, the results of the EL name resolution are cached once the container is initialized and the client proxy of a normal-scoped bean is returned instead of the contextual instance.")
+    EL_RESOLUTION_TABLE("org.jboss.weld.el.resolutionTable", false),
+
+    /**
+     * If set to <code>true</code>, all the session-scoped instances of an HTTP session are stored in a single session attribute.
+     *
+     * @see org.jboss.weld.context.beanstore.http.AggregatedSessionBeanStore
+     */
+    @Description("If set to <code>true</code>, all the session-scoped instances of an HTTP session are stored in a single session attribute instead of a separate attribute for each instance. The attribute is set again at most once per request, and only if an instance was added or removed.")
+    CONTEXT_SESSION_AGGREGATED_BEAN_STORE("org.jboss.weld.context.session.aggregatedBeanStore", false),
+
+    /**
+     * If set to <code>true</code>, the long-running conversations of a session are tracked in a queue ordered by expiration time so that only the
+     * conversations which might have expired or were ended are checked at the end of a request.
+     */
+    @Description("If set to <code>true</code>, the long-running conversations of a session are tracked in a queue ordered by expiration time so that only the conversations which might have expired or were ended are checked at the end of a request. Otherwise, all the conversations of the session are checked.")
+    CONVERSATION_EXPIRATION_QUEUE("org.jboss.weld.context.conversation.expirationQueue", false),
+
+    /**
+     * If set to a positive value, the expired long-running conversations are destroyed in the background. The value represents the interval between two
+     * checks in milliseconds. Only used if {@link #CONVERSATION_EXPIRATION_QUEUE} is enabled.
+     */
+    @Description("If set to a positive value, the expired long-running conversations are destroyed in the background without waiting for the next request of the session. The value represents the interval between two checks in milliseconds. Only used if the conversation expiration queue is enabled.")
+    CONVERSATION_EXPIRATION_CHECK_INTERVAL("org.jboss.weld.context.conversation.expirationCheckInterval", 0L),
+
     ;
 
     /**
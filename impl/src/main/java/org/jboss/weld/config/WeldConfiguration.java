@@ -106,6 +106,8 @@ public class WeldConfiguration implements Service {
 
     private final File proxyDumpFilePath;
 
+    private final File proxyClassOutputPath;
+
     /**
      *
      * @param bootstrapConfiguration
@@ -114,7 +116,8 @@ public class WeldConfiguration implements Service {
     public WeldConfiguration(ServiceRegistry services, Deployment deployment) {
         Preconditions.checkArgumentNotNull(deployment, "deployment");
         this.properties = init(services, deployment);
-        this.proxyDumpFilePath = initProxyDumpFilePath();
+        this.proxyDumpFilePath = initDirectory(ConfigurationKey.PROXY_DUMP);
+        this.proxyClassOutputPath = initDirectory(ConfigurationKey.PROXY_CLASS_OUTPUT);
         ConfigurationLogger.LOG.configurationInitialized(properties);
     }
 
@@ -167,6 +170,15 @@ public class WeldConfiguration implements Service {
         return proxyDumpFilePath;
     }
 
+    /**
+     *
+     * @return the path or <code>null</code> if the generated classes should not be written to a class output directory
+     * @see ConfigurationKey#PROXY_CLASS_OUTPUT
+     */
+    public File getProxyClassOutputPath() {
+        return proxyClassOutputPath;
+    }
+
     @Override
     public void cleanup() {
         if (properties != null) {
@@ -253,8 +265,8 @@ public class WeldConfiguration implements Service {
         return properties;
     }
 
-    private File initProxyDumpFilePath() {
-        String dumpPath = getStringProperty(ConfigurationKey.PROXY_DUMP);
+    private File initDirectory(ConfigurationKey key) {
+        String dumpPath = getStringProperty(key);
         if (!dumpPath.isEmpty()) {
             File tmp = new File(dumpPath);
             if (!tmp.isDirectory() && !tmp.mkdirs()) {
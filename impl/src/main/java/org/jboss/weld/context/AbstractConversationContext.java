@@ -22,10 +22,12 @@
  */
 package org.jboss.weld.context;
 
+import static org.jboss.weld.context.conversation.ConversationExpirationQueue.CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME;
 import static org.jboss.weld.context.conversation.ConversationIdGenerator.CONVERSATION_ID_GENERATOR_ATTRIBUTE_NAME;
 import static org.jboss.weld.util.reflection.Reflections.cast;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,22 +37,33 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.enterprise.context.ConversationScoped;
 
 import org.jboss.weld.Container;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.context.api.ContextualInstance;
 import org.jboss.weld.context.beanstore.BoundBeanStore;
 import org.jboss.weld.context.beanstore.ConversationNamingScheme;
 import org.jboss.weld.context.beanstore.NamingScheme;
+import org.jboss.weld.context.conversation.ConversationExpirationQueue;
 import org.jboss.weld.context.conversation.ConversationIdGenerator;
 import org.jboss.weld.context.conversation.ConversationImpl;
 import org.jboss.weld.event.FastEvent;
 import org.jboss.weld.literal.DestroyedLiteral;
 import org.jboss.weld.logging.ConversationLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.manager.api.ExecutorServices;
+import org.jboss.weld.resources.spi.ScheduledExecutorServiceFactory;
 import org.jboss.weld.serialization.BeanIdentifierIndex;
 import org.jboss.weld.util.LazyValueHolder;
 
@@ -90,6 +103,14 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         }
     };
 
+    private final boolean expirationQueueEnabled;
+    // The sessions with long-running conversations keyed by the id of the session expiration queue, only used if the background expiration check is enabled
+    // A session is only weakly referenced so that a session discarded by the container is not retained
+    private final ConcurrentMap<String, WeakReference<S>> expiringSessions;
+    private final long expirationCheckInterval;
+    private final AtomicBoolean expirationCheckRunning;
+    private volatile ScheduledFuture<?> expirationCheck;
+
     public AbstractConversationContext(String contextId, BeanIdentifierIndex beanIdentifierIndex) {
         super(contextId, true);
         this.parameterName = new AtomicReference<String>(PARAMETER_NAME);
@@ -98,6 +119,11 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         this.associated = new ThreadLocal<R>();
         this.manager = Container.instance(contextId).deploymentManager();
         this.beanIdentifierIndex = beanIdentifierIndex;
+        this.expiringSessions = new ConcurrentHashMap<String, WeakReference<S>>();
+        WeldConfiguration configuration = getServiceRegistry().get(WeldConfiguration.class);
+        this.expirationQueueEnabled = configuration != null && configuration.getBooleanProperty(ConfigurationKey.CONVERSATION_EXPIRATION_QUEUE);
+        this.expirationCheckInterval = expirationQueueEnabled ? configuration.getLongProperty(ConfigurationKey.CONVERSATION_EXPIRATION_CHECK_INTERVAL) : 0L;
+        this.expirationCheckRunning = new AtomicBoolean();
     }
 
     @Override
@@ -169,6 +195,10 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         if(conversationMap != null && getSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, false) == null) {
             setSessionAttribute(request, CONVERSATIONS_ATTRIBUTE_NAME, conversationMap, false);
         }
+        Object expirationQueue = getRequestAttribute(request, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME);
+        if (expirationQueue != null && getSessionAttribute(request, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME, false) == null) {
+            setSessionAttribute(request, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME, expirationQueue, false);
+        }
     }
 
     public void sessionCreated() {
@@ -275,6 +305,14 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                         getBeanStore().attach();
                         getConversationMap().put(getCurrentConversation().getId(), getCurrentConversation());
                     }
+                    if (expirationQueueEnabled && !getCurrentConversation().isTransient()) {
+                        ConversationExpirationQueue expirationQueue = getExpirationQueue();
+                        if (expirationQueue != null) {
+                            expirationQueue.schedule(getCurrentConversation().getId(), getDeadline(getCurrentConversation()));
+                            storeExpirationQueue(expirationQueue);
+                            registerExpiringSession(expirationQueue);
+                        }
+                    }
                 }
             } finally {
                 // WELD-1690 always try to unlock the current conversation
@@ -293,6 +331,26 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
 
     private void cleanUpConversationMap() {
         Map<String, ManagedConversation> conversations = getConversationMap();
+        ConversationExpirationQueue expirationQueue = expirationQueueEnabled ? getExpirationQueue() : null;
+        if (expirationQueue != null) {
+            // Only the ended conversations need to be checked
+            List<String> ended = expirationQueue.pollEnded();
+            if (ended.isEmpty()) {
+                return;
+            }
+            synchronized (conversations) {
+                S session = getSessionFromRequest(getRequest(), false);
+                for (String id : ended) {
+                    ManagedConversation conversation = conversations.get(id);
+                    if (conversation != null && conversation.isTransient()) {
+                        destroyConversation(session, id);
+                        conversations.remove(id);
+                    }
+                }
+            }
+            storeExpirationQueue(expirationQueue);
+            return;
+        }
         synchronized (conversations) {
             Iterator<Entry<String, ManagedConversation>> entryIterator = conversations.entrySet().iterator();
             S session = getSessionFromRequest(getRequest(), false);
@@ -310,14 +368,55 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         getConversationMap().put(conversation.getId(), conversation);
     }
 
+    /**
+     * The ended conversation is destroyed at the end of the current request.
+     *
+     * @param id the id of the ended conversation
+     */
+    public void conversationEnded(String id) {
+        if (expirationQueueEnabled && isAssociated()) {
+            ConversationExpirationQueue expirationQueue = getExpirationQueue();
+            if (expirationQueue != null) {
+                expirationQueue.ended(id);
+            }
+        }
+    }
+
     @Override
     public void invalidate() {
         ManagedConversation currentConversation = getCurrentConversation();
         Map<String, ManagedConversation> conversations = getConversationMap();
+        ConversationExpirationQueue expirationQueue = expirationQueueEnabled ? getExpirationQueue() : null;
+        if (expirationQueue == null) {
+            synchronized (conversations) {
+                for (Entry<String, ManagedConversation> stringManagedConversationEntry : conversations.entrySet()) {
+                    ManagedConversation conversation = stringManagedConversationEntry.getValue();
+                    if (!currentConversation.equals(conversation) && !conversation.isTransient() && isExpired(conversation)) {
+                        // Try to lock the conversation and log warning if not successful - unlocking should not be necessary
+                        if (!conversation.lock(0)) {
+                            ConversationLogger.LOG.endLockedConversation(conversation.getId());
+                        }
+                        conversation.end();
+                    }
+                }
+            }
+            return;
+        }
+        // Only the conversations whose deadline passed need to be checked
+        List<String> candidates = expirationQueue.pollExpired(System.currentTimeMillis());
+        if (candidates.isEmpty()) {
+            return;
+        }
         synchronized (conversations) {
-            for (Entry<String, ManagedConversation> stringManagedConversationEntry : conversations.entrySet()) {
-                ManagedConversation conversation = stringManagedConversationEntry.getValue();
-                if (!currentConversation.equals(conversation) && !conversation.isTransient() && isExpired(conversation)) {
+            for (String id : candidates) {
+                ManagedConversation conversation = conversations.get(id);
+                if (conversation == null || conversation.isTransient()) {
+                    continue;
+                }
+                if (currentConversation.equals(conversation) || !isExpired(conversation)) {
+                    // The conversation was used in the meantime
+                    expirationQueue.schedule(id, getDeadline(conversation));
+                } else {
                     // Try to lock the conversation and log warning if not successful - unlocking should not be necessary
                     if (!conversation.lock(0)) {
                         ConversationLogger.LOG.endLockedConversation(conversation.getId());
@@ -326,9 +425,16 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
                 }
             }
         }
+        storeExpirationQueue(expirationQueue);
     }
 
     public boolean destroy(S session) {
+        if (!expiringSessions.isEmpty()) {
+            Object expirationQueue = getSessionAttributeFromSession(session, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME);
+            if (expirationQueue instanceof ConversationExpirationQueue) {
+                expiringSessions.remove(((ConversationExpirationQueue) expirationQueue).getId());
+            }
+        }
         // the context may be active
         // if it is, we need to re-attach the bean store once the other conversations are destroyed
         final BoundBeanStore beanStore = getBeanStore();
@@ -431,7 +537,133 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
     }
 
     private static boolean isExpired(ManagedConversation conversation) {
-        return System.currentTimeMillis() > (conversation.getLastUsed() + conversation.getTimeout());
+        return System.currentTimeMillis() > getDeadline(conversation);
+    }
+
+    private static long getDeadline(ManagedConversation conversation) {
+        return conversation.getLastUsed() + conversation.getTimeout();
+    }
+
+    private void registerExpiringSession(ConversationExpirationQueue expirationQueue) {
+        if (expirationCheckInterval <= 0) {
+            return;
+        }
+        S session = getSessionFromRequest(getRequest(), false);
+        if (session == null) {
+            return;
+        }
+        WeakReference<S> registered = expiringSessions.get(expirationQueue.getId());
+        if (registered == null || registered.get() != session) {
+            expiringSessions.put(expirationQueue.getId(), new WeakReference<S>(session));
+        }
+        if (expirationCheck == null) {
+            synchronized (this) {
+                if (expirationCheck == null) {
+                    ScheduledExecutorServiceFactory scheduler = getServiceRegistry().get(ScheduledExecutorServiceFactory.class);
+                    if (scheduler != null) {
+                        expirationCheck = scheduler.get().scheduleWithFixedDelay(this::scheduleExpirationCheck, expirationCheckInterval, expirationCheckInterval,
+                                TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+        }
+    }
+
+    private void scheduleExpirationCheck() {
+        if (!Container.available(manager.getContextId())) {
+            ScheduledFuture<?> check = expirationCheck;
+            if (check != null) {
+                check.cancel(false);
+            }
+            expiringSessions.clear();
+            return;
+        }
+        if (expiringSessions.isEmpty() || !expirationCheckRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Runnable task = () -> {
+            try {
+                destroyExpiredConversations();
+            } finally {
+                expirationCheckRunning.set(false);
+            }
+        };
+        ExecutorServices executor = getServiceRegistry().get(ExecutorServices.class);
+        if (executor != null) {
+            try {
+                executor.getTaskExecutor().submit(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                ConversationLogger.LOG.catchingDebug(e);
+            }
+        }
+        task.run();
+    }
+
+    private void destroyExpiredConversations() {
+        for (Entry<String, WeakReference<S>> entry : expiringSessions.entrySet()) {
+            S session = entry.getValue().get();
+            if (session == null) {
+                // The session is gone
+                expiringSessions.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            try {
+                if (!destroyExpiredConversations(session)) {
+                    expiringSessions.remove(entry.getKey(), entry.getValue());
+                }
+            } catch (RuntimeException e) {
+                // E.g. the session was invalidated in the meantime
+                expiringSessions.remove(entry.getKey(), entry.getValue());
+                ConversationLogger.LOG.catchingDebug(e);
+            }
+        }
+    }
+
+    /**
+     * Destroys the expired conversations of the given session outside of a request.
+     *
+     * @param session the session
+     * @return <code>true</code> if there are any long-running conversations left, <code>false</code> otherwise
+     */
+    private boolean destroyExpiredConversations(S session) {
+        Object conversationMap = getSessionAttributeFromSession(session, CONVERSATIONS_ATTRIBUTE_NAME);
+        Object queue = getSessionAttributeFromSession(session, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME);
+        if (!(conversationMap instanceof Map) || !(queue instanceof ConversationExpirationQueue)) {
+            return false;
+        }
+        Map<String, ManagedConversation> conversations = cast(conversationMap);
+        ConversationExpirationQueue expirationQueue = (ConversationExpirationQueue) queue;
+        List<String> candidates = expirationQueue.pollExpired(System.currentTimeMillis());
+        if (!candidates.isEmpty()) {
+            // The conversation methods may only be invoked if the context is active
+            setActive(true);
+            try {
+                synchronized (conversations) {
+                    for (String id : candidates) {
+                        ManagedConversation conversation = conversations.get(id);
+                        if (conversation == null || conversation.isTransient()) {
+                            continue;
+                        }
+                        if (!isExpired(conversation) || !conversation.lock(0)) {
+                            // The conversation was used in the meantime or is in use
+                            expirationQueue.schedule(id, getDeadline(conversation));
+                            continue;
+                        }
+                        // A request waiting for the lock must not restore the destroyed conversation
+                        conversation.end();
+                        conversation.unlock();
+                        conversations.remove(id);
+                        destroyConversation(session, id);
+                    }
+                }
+            } finally {
+                removeState();
+                cleanup();
+            }
+            setSessionAttributeInSession(session, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME, expirationQueue);
+        }
+        return !expirationQueue.isEmpty();
     }
 
     @Override
@@ -475,6 +707,48 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
         return cast(conversationMap);
     }
 
+    /**
+     * Returns the expiration queue of the current session. If the session holds an unexpected attribute, <code>null</code> is returned and the caller falls
+     * back to checking all the conversations.
+     *
+     * @return the expiration queue or <code>null</code>
+     */
+    private ConversationExpirationQueue getExpirationQueue() {
+        final R request = getRequest();
+        Object expirationQueue = getRequestAttribute(request, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME);
+        if (expirationQueue == null) {
+            expirationQueue = getSessionAttribute(request, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME, false);
+            if (expirationQueue == null) {
+                expirationQueue = createExpirationQueue(getConversationMap());
+                setSessionAttribute(request, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME, expirationQueue, false);
+            }
+            setRequestAttribute(request, CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME, expirationQueue);
+        }
+        return (expirationQueue instanceof ConversationExpirationQueue) ? (ConversationExpirationQueue) expirationQueue : null;
+    }
+
+    /**
+     * The queue is set again so that the modification is propagated, e.g. replicated to other nodes of a cluster.
+     */
+    private void storeExpirationQueue(ConversationExpirationQueue expirationQueue) {
+        setSessionAttribute(getRequest(), CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME, expirationQueue, false);
+    }
+
+    private ConversationExpirationQueue createExpirationQueue(Map<String, ManagedConversation> conversations) {
+        // The queue is missing, e.g. for a session created by a previous version - all the known conversations must be checked
+        ConversationExpirationQueue expirationQueue = new ConversationExpirationQueue();
+        synchronized (conversations) {
+            for (Entry<String, ManagedConversation> entry : conversations.entrySet()) {
+                if (entry.getValue().isTransient()) {
+                    expirationQueue.ended(entry.getKey());
+                } else {
+                    expirationQueue.schedule(entry.getKey(), getDeadline(entry.getValue()));
+                }
+            }
+        }
+        return expirationQueue;
+    }
+
     @Override
     public ManagedConversation getCurrentConversation() {
         checkIsAssociated();
@@ -529,6 +803,18 @@ public abstract class AbstractConversationContext<R, S> extends AbstractBoundCon
      */
     protected abstract Object getSessionAttributeFromSession(S session, String name);
 
+    /**
+     * Set an attribute in the session outside of a request. This is only used to propagate a modification of the conversation expiration queue made by the
+     * background expiration check. Subclasses should override this method if the modification of an attribute value is not propagated otherwise, e.g. if the
+     * session is replicated.
+     *
+     * @param session the session to set the attribute in
+     * @param name    the name of the attribute
+     * @param value   the value of the attribute
+     */
+    protected void setSessionAttributeInSession(S session, String name, Object value) {
+    }
+
     /**
      * Remove an attribute from the request.
      *
@@ -26,6 +26,9 @@ public abstract class AbstractManagedContext extends AbstractContext implements
 
     private final ThreadLocal<ManagedState> state;
 
+    // Notified whenever the context is activated or deactivated on a thread
+    private volatile ActiveContextIndex.ScopeEntry indexEntry;
+
     public AbstractManagedContext(String contextId, boolean multithreaded) {
         super(contextId, multithreaded);
         this.state = new ThreadLocal<ManagedState>();
@@ -38,6 +41,7 @@ public abstract class AbstractManagedContext extends AbstractContext implements
 
     protected void setActive(boolean active) {
         getManagedState().setActive(active);
+        updateIndex();
     }
 
     public void invalidate() {
@@ -67,6 +71,26 @@ public abstract class AbstractManagedContext extends AbstractContext implements
     protected void removeState() {
         ContextLogger.LOG.tracev("State thread-local removed: {0}", this);
         state.remove();
+        updateIndex();
+    }
+
+    /**
+     * @param entry the index entry
+     * @return <code>true</code> if the entry was set, <code>false</code> if the context is already registered with a different index entry
+     */
+    synchronized boolean setIndexEntry(ActiveContextIndex.ScopeEntry entry) {
+        if (indexEntry != null && indexEntry != entry) {
+            return false;
+        }
+        indexEntry = entry;
+        return true;
+    }
+
+    private void updateIndex() {
+        final ActiveContextIndex.ScopeEntry entry = indexEntry;
+        if (entry != null) {
+            entry.update();
+        }
     }
 
     private ManagedState getManagedState() {
@@ -0,0 +1,172 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.spi.Context;
+
+import org.jboss.weld.logging.BeanManagerLogger;
+
+/**
+ * Keeps a per-thread record of the active context of each scope so that the active context can be found with a single thread-local read instead of calling
+ * {@link Context#isActive()} on every context registered for the scope.
+ *
+ * <p>
+ * Each scope is assigned a small integer id which is used as an index into the per-thread record. A scope is only indexed if all the contexts registered for
+ * the scope extend {@link AbstractManagedContext} and do not override {@link AbstractManagedContext#isActive()}. Such contexts notify the index whenever they
+ * are activated or deactivated on a thread. For any other scope, e.g. a scope of a custom context, all the registered contexts are checked.
+ * </p>
+ *
+ * <p>
+ * If more than one context is active for a scope, the lookup fails in the same way as if no index was used.
+ * </p>
+ *
+ * @see org.jboss.weld.manager.BeanManagerImpl#getContext(Class)
+ */
+public class ActiveContextIndex {
+
+    // Recorded if there is more than one active context for a scope
+    private static final Object MULTIPLE_ACTIVE = new Object();
+
+    private final ConcurrentMap<Class<? extends Annotation>, ScopeEntry> scopes;
+
+    private final AtomicInteger ids;
+
+    private final ThreadLocal<Object[]> activeContexts;
+
+    public ActiveContextIndex() {
+        this.scopes = new ConcurrentHashMap<Class<? extends Annotation>, ScopeEntry>();
+        this.ids = new AtomicInteger();
+        this.activeContexts = new ThreadLocal<Object[]>();
+    }
+
+    /**
+     * Registers a context.
+     *
+     * @param context the context as returned by {@link #getActiveContext(Class)}, e.g. a {@link PassivatingContextWrapper}
+     * @param unwrapped the underlying context
+     */
+    public void addContext(Context context, Context unwrapped) {
+        ScopeEntry entry = scopes.computeIfAbsent(context.getScope(), (scope) -> new ScopeEntry(ids.getAndIncrement()));
+        synchronized (entry) {
+            entry.contexts.add(context);
+            if (entry.indexed && !(isIndexable(unwrapped) && ((AbstractManagedContext) unwrapped).setIndexEntry(entry))) {
+                entry.indexed = false;
+            }
+        }
+        entry.update();
+    }
+
+    /**
+     * @param scope the scope
+     * @return the active context for the given scope on the current thread or <code>null</code> if there is no such context
+     * @throws IllegalStateException if there is more than one active context for the given scope
+     */
+    public Context getActiveContext(Class<? extends Annotation> scope) {
+        final ScopeEntry entry = scopes.get(scope);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.indexed) {
+            final Object[] record = activeContexts.get();
+            if (record == null || entry.id >= record.length) {
+                return null;
+            }
+            final Object activeContext = record[entry.id];
+            if (activeContext != MULTIPLE_ACTIVE) {
+                return (Context) activeContext;
+            }
+        }
+        return entry.findActiveContext(scope);
+    }
+
+    public void cleanup() {
+        scopes.clear();
+        activeContexts.remove();
+    }
+
+    private static boolean isIndexable(Context context) {
+        if (!(context instanceof AbstractManagedContext)) {
+            return false;
+        }
+        try {
+            return AbstractManagedContext.class.equals(context.getClass().getMethod("isActive").getDeclaringClass());
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    final class ScopeEntry {
+
+        private final int id;
+
+        private final List<Context> contexts;
+
+        private volatile boolean indexed;
+
+        private ScopeEntry(int id) {
+            this.id = id;
+            this.contexts = new CopyOnWriteArrayList<Context>();
+            this.indexed = true;
+        }
+
+        /**
+         * Records the active context of this scope for the current thread. Invoked whenever a context of this scope is activated or deactivated.
+         */
+        void update() {
+            Object activeContext = null;
+            for (Context context : contexts) {
+                if (context.isActive()) {
+                    activeContext = activeContext == null ? context : MULTIPLE_ACTIVE;
+                }
+            }
+            Object[] record = activeContexts.get();
+            if (record == null || id >= record.length) {
+                if (activeContext == null) {
+                    return;
+                }
+                int length = Math.max(ids.get(), id + 1);
+                record = record == null ? new Object[length] : Arrays.copyOf(record, length);
+                activeContexts.set(record);
+            }
+            record[id] = activeContext;
+        }
+
+        private Context findActiveContext(Class<? extends Annotation> scope) {
+            Context activeContext = null;
+            for (Context context : contexts) {
+                if (context.isActive()) {
+                    if (activeContext == null) {
+                        activeContext = context;
+                    } else {
+                        throw BeanManagerLogger.LOG.duplicateActiveContexts(scope.getName());
+                    }
+                }
+            }
+            return activeContext;
+        }
+
+    }
+
+}
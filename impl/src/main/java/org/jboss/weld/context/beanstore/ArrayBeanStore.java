@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore;
+
+import static org.jboss.weld.util.reflection.Reflections.cast;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * A BeanStore that holds the contextual instances of the beans included in the given {@link BeanSlotIndex} in a flat array. Instances of other beans are
+ * stored in a lazily created {@link HashMap}.
+ *
+ * The array is allocated when the first instance of an indexed bean is stored so that storing an instance does not allocate a map entry. The slots are
+ * obtained when the bean store is created, therefore the bean store remains consistent even if the index is cleaned up in the meantime. If the index is not
+ * built, all the instances are stored in the map. This implementation is not thread-safe and is intended for thread-bound contexts only.
+ */
+public class ArrayBeanStore implements BeanStore {
+
+    private static final BeanSlotIndex.Slots NO_SLOTS = new BeanSlotIndex.Slots(new BeanIdentifier[0]);
+
+    private final BeanSlotIndex.Slots slots;
+
+    private ContextualInstance<?>[] instances;
+
+    private Map<BeanIdentifier, ContextualInstance<?>> fallback;
+
+    public ArrayBeanStore(BeanSlotIndex index) {
+        BeanSlotIndex.Slots slots = index.getSlots();
+        this.slots = slots != null ? slots : NO_SLOTS;
+    }
+
+    @Override
+    public <T> ContextualInstance<T> get(BeanIdentifier id) {
+        int slot = slots.get(id);
+        if (slot != BeanSlotIndex.NO_SLOT) {
+            return instances != null ? cast(instances[slot]) : null;
+        }
+        return fallback != null ? cast(fallback.get(id)) : null;
+    }
+
+    @Override
+    public boolean contains(BeanIdentifier id) {
+        return get(id) != null;
+    }
+
+    @Override
+    public void clear() {
+        if (instances != null) {
+            Arrays.fill(instances, null);
+        }
+        if (fallback != null) {
+            fallback.clear();
+        }
+    }
+
+    @Override
+    public Iterator<BeanIdentifier> iterator() {
+        List<BeanIdentifier> ids = new ArrayList<BeanIdentifier>();
+        if (instances != null) {
+            for (int i = 0; i < instances.length; i++) {
+                if (instances[i] != null) {
+                    ids.add(slots.getIdentifier(i));
+                }
+            }
+        }
+        if (fallback != null) {
+            ids.addAll(fallback.keySet());
+        }
+        return ids.iterator();
+    }
+
+    @Override
+    public <T> void put(BeanIdentifier id, ContextualInstance<T> contextualInstance) {
+        int slot = slots.get(id);
+        if (slot != BeanSlotIndex.NO_SLOT) {
+            if (instances == null) {
+                instances = new ContextualInstance<?>[slots.size()];
+            }
+            instances[slot] = contextualInstance;
+        } else {
+            if (fallback == null) {
+                fallback = new HashMap<BeanIdentifier, ContextualInstance<?>>();
+            }
+            fallback.put(id, contextualInstance);
+        }
+    }
+
+    @Override
+    public LockedBean lock(BeanIdentifier id) {
+        return null;
+    }
+
+    @Override
+    public <T> ContextualInstance<T> remove(BeanIdentifier id) {
+        int slot = slots.get(id);
+        if (slot != BeanSlotIndex.NO_SLOT) {
+            if (instances == null) {
+                return null;
+            }
+            ContextualInstance<T> instance = cast(instances[slot]);
+            instances[slot] = null;
+            return instance;
+        }
+        return fallback != null ? cast(fallback.remove(id)) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayBeanStore [slots=" + slots.size() + ", fallback=" + (fallback != null ? fallback.size() : 0) + "]";
+    }
+
+}
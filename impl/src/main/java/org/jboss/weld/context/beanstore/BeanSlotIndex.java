@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.bean.CommonBean;
+import org.jboss.weld.bootstrap.api.Service;
+import org.jboss.weld.exceptions.IllegalStateException;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * A per deployment service which assigns a fixed slot to each bean of a given scope. The slots are used by {@link ArrayBeanStore} to hold the contextual
+ * instances in a flat array.
+ *
+ * Unlike {@link org.jboss.weld.serialization.BeanIdentifierIndex} the slots are not meant to be stable across deployments and are never serialized. Only
+ * instances of {@link CommonBean} are included.
+ *
+ * The slots are held in an immutable open addressing table so that a lookup does not box the slot. A bean store obtains the current {@link Slots} once and
+ * keeps using them even if the index is cleaned up in the meantime.
+ */
+public class BeanSlotIndex implements Service {
+
+    public static final int NO_SLOT = -1;
+
+    private volatile Slots slots;
+
+    /**
+     * Note that the index can only be built once.
+     *
+     * @param beans the beans the index should be built from, only instances of {@link CommonBean} are included
+     * @throws IllegalStateException If the index is built already
+     */
+    public void build(Set<Bean<?>> beans) {
+        if (isBuilt()) {
+            throw new IllegalStateException("Bean slot index is already built!");
+        }
+        List<BeanIdentifier> identifiers = new ArrayList<BeanIdentifier>(beans.size());
+        for (Bean<?> bean : beans) {
+            if (bean instanceof CommonBean<?>) {
+                identifiers.add(((CommonBean<?>) bean).getIdentifier());
+            }
+        }
+        this.slots = new Slots(identifiers.toArray(new BeanIdentifier[identifiers.size()]));
+    }
+
+    /**
+     *
+     * @param identifier
+     * @return the slot for the given bean identifier or {@link #NO_SLOT} if the index is not built or does not contain the given identifier
+     */
+    public int getSlot(BeanIdentifier identifier) {
+        Slots slots = this.slots;
+        return slots != null ? slots.get(identifier) : NO_SLOT;
+    }
+
+    /**
+     *
+     * @return the number of slots, or <code>0</code> if the index is not built
+     */
+    public int size() {
+        Slots slots = this.slots;
+        return slots != null ? slots.size() : 0;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if the index is built, <code>false</code> otherwise
+     */
+    public boolean isBuilt() {
+        return slots != null;
+    }
+
+    /**
+     *
+     * @return the current slots or <code>null</code> if the index is not built or was cleaned up
+     */
+    Slots getSlots() {
+        return slots;
+    }
+
+    @Override
+    public void cleanup() {
+        slots = null;
+    }
+
+    @Override
+    public String toString() {
+        Slots slots = this.slots;
+        return String.format("BeanSlotIndex [slots=%s]", slots != null ? slots.size() : "not built");
+    }
+
+    /**
+     * An immutable snapshot of the index.
+     */
+    static final class Slots {
+
+        // Bean identifiers in slot order
+        private final BeanIdentifier[] identifiers;
+
+        // Open addressing table with linear probing, the capacity is a power of two
+        private final BeanIdentifier[] keys;
+
+        private final int[] values;
+
+        private final int mask;
+
+        Slots(BeanIdentifier[] identifiers) {
+            this.identifiers = identifiers;
+            int capacity = Integer.highestOneBit(Math.max(identifiers.length, 1) * 2 - 1) << 1;
+            this.keys = new BeanIdentifier[capacity];
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+            for (int slot = 0; slot < identifiers.length; slot++) {
+                int position = identifiers[slot].hashCode() & mask;
+                while (keys[position] != null) {
+                    position = (position + 1) & mask;
+                }
+                keys[position] = identifiers[slot];
+                values[position] = slot;
+            }
+        }
+
+        int get(BeanIdentifier identifier) {
+            int position = identifier.hashCode() & mask;
+            BeanIdentifier key;
+            while ((key = keys[position]) != null) {
+                if (key == identifier || key.equals(identifier)) {
+                    return values[position];
+                }
+                position = (position + 1) & mask;
+            }
+            return NO_SLOT;
+        }
+
+        BeanIdentifier getIdentifier(int slot) {
+            return identifiers[slot];
+        }
+
+        int size() {
+            return identifiers.length;
+        }
+
+    }
+
+}
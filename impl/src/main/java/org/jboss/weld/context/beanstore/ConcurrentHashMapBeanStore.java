@@ -20,11 +20,18 @@ package org.jboss.weld.context.beanstore;
 import java.io.Serializable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jboss.weld.serialization.spi.BeanIdentifier;
 
 /**
  * A BeanStore that uses a HashMap as backing storage
+ * <p>
+ * Creation locks are kept per bean identifier in a concurrent map so that threads creating instances of different beans never contend on a shared
+ * monitor. A lock is created the first time an instance of the given bean is created and is retained until the bean store is garbage collected. This
+ * bounds the number of locks by the number of beans and allows for a lock-free lookup of an existing lock. The locks are reentrant so that a reentrant
+ * creation of an instance of the same bean by the same thread does not deadlock.
  *
  * @author Nicklas Karlsson
  */
@@ -34,7 +41,7 @@ public class ConcurrentHashMapBeanStore extends AbstractMapBackedBeanStore imple
 
     // The backing map
     protected Map<BeanIdentifier, Object> delegate;
-    private transient volatile LockStore lockStore;
+    private transient volatile ConcurrentMap<BeanIdentifier, CreationLock> locks;
 
     /**
      * Constructor
@@ -59,15 +66,27 @@ public class ConcurrentHashMapBeanStore extends AbstractMapBackedBeanStore imple
     }
 
     public LockedBean lock(final BeanIdentifier id) {
-        LockStore lockStore = this.lockStore;
-        if(lockStore == null) {
+        ConcurrentMap<BeanIdentifier, CreationLock> locks = this.locks;
+        if (locks == null) {
             synchronized (this) {
-                lockStore = this.lockStore;
-                if(lockStore == null) {
-                    this.lockStore = lockStore = new LockStore();
+                locks = this.locks;
+                if (locks == null) {
+                    this.locks = locks = new ConcurrentHashMap<BeanIdentifier, CreationLock>();
                 }
             }
         }
-        return lockStore.lock(id);
+        // avoid computeIfAbsent() on the fast path as it may lock the bin even if the lock already exists
+        CreationLock lock = locks.get(id);
+        if (lock == null) {
+            lock = locks.computeIfAbsent(id, (key) -> new CreationLock());
+        }
+        lock.lock();
+        return lock;
+    }
+
+    private static class CreationLock extends ReentrantLock implements LockedBean {
+
+        private static final long serialVersionUID = -6441530826563542683L;
+
     }
 }
@@ -58,6 +58,11 @@ public class BoundConversationContextImpl extends AbstractConversationContext<Bo
         return session.get(name);
     }
 
+    @Override
+    protected void setSessionAttributeInSession(Map<String, Object> session, String name, Object value) {
+        session.put(name, value);
+    }
+
     @Override
     protected Map<String, Object> getSessionFromRequest(BoundRequest request, boolean create) {
         return request.getSessionMap(create);
@@ -16,18 +16,47 @@
  */
 package org.jboss.weld.context.cache;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.inject.spi.Bean;
 
 /**
  * Caches beans over the life of a request, to allow for efficient bean lookups from proxies.
  * Besides, can hold any ThreadLocals to be removed at the end of the request.
+ * <p>
+ * The items are held in a per-thread array which is reset at the end of a request and reused by the next request handled by the same thread. The array is
+ * only referenced by a {@link ThreadLocal} which holds JDK types so that no application or Weld classes are retained after the request is over. An array
+ * which grew beyond {@value #MAX_RETAINED_CAPACITY} items is discarded at the end of the request so that a single large request does not pin the memory.
+ * <p>
+ * The number of ended requests and invalidated items is always counted. In addition, the number of invalidations per source type (e.g. per bean class) may
+ * be collected, see {@link #setSourceStatisticsEnabled(boolean)}.
  *
  * @author Stuart Douglas
  */
 public class RequestScopedCache {
 
-    private static final ThreadLocal<List<RequestScopedItem>> CACHE = new ThreadLocal<List<RequestScopedItem>>();
+    private static final int INITIAL_CAPACITY = 16;
+
+    static final int MAX_RETAINED_CAPACITY = 256;
+
+    private static final ThreadLocal<Items> CACHE = new ThreadLocal<Items>();
+
+    // Reusable storage - note that the array only references JDK types while the request cache is not active
+    private static final ThreadLocal<Object[]> STORAGE = new ThreadLocal<Object[]>();
+
+    private static final LongAdder ENDED_REQUESTS = new LongAdder();
+
+    private static final LongAdder INVALIDATED_ITEMS = new LongAdder();
+
+    private static final ConcurrentMap<String, LongAdder> INVALIDATED_ITEMS_PER_SOURCE = new ConcurrentHashMap<String, LongAdder>();
+
+    private static volatile boolean sourceStatisticsEnabled;
 
     private RequestScopedCache() {
     }
@@ -36,35 +65,42 @@ public class RequestScopedCache {
         return CACHE.get() != null;
     }
 
-    private static void checkCacheForAdding(final List<RequestScopedItem> cache) {
+    private static void checkCacheForAdding(final Items cache) {
         if (cache == null) {
             throw new IllegalStateException("Unable to add request scoped cache item when request cache is not active");
         }
     }
 
     public static void addItem(final RequestScopedItem item) {
-        final List<RequestScopedItem> cache = CACHE.get();
+        final Items cache = CACHE.get();
         checkCacheForAdding(cache);
-        cache.add(item);
+        cache.add(item, null);
     }
 
     public static boolean addItemIfActive(final RequestScopedItem item) {
-        final List<RequestScopedItem> cache = CACHE.get();
+        final Items cache = CACHE.get();
         if (cache != null) {
-            cache.add(item);
+            cache.add(item, null);
             return true;
         }
         return false;
     }
 
     public static boolean addItemIfActive(final ThreadLocal<?> item) {
-        final List<RequestScopedItem> cache = CACHE.get();
+        return addItemIfActive(item, null);
+    }
+
+    /**
+     *
+     * @param item the thread local to be removed at the end of the request
+     * @param source the source of the item used for statistics, e.g. a bean - may be null; only the type of the source is recorded
+     * @return <code>true</code> if the item was added, <code>false</code> if the request cache is not active
+     * @see #getInvalidatedItemsPerSource()
+     */
+    public static boolean addItemIfActive(final ThreadLocal<?> item, final Object source) {
+        final Items cache = CACHE.get();
         if (cache != null) {
-            cache.add(new RequestScopedItem() {
-                public void invalidate() {
-                    item.remove();
-                }
-            });
+            cache.add(item, source);
             return true;
         }
         return false;
@@ -73,7 +109,13 @@ public class RequestScopedCache {
     public static void beginRequest() {
         // if the previous request was not ended properly for some reason, make sure it is ended now
         endRequest();
-        CACHE.set(new LinkedList<RequestScopedItem>());
+        Object[] storage = STORAGE.get();
+        if (storage != null) {
+            STORAGE.remove();
+        } else {
+            storage = new Object[INITIAL_CAPACITY * 2];
+        }
+        CACHE.set(new Items(storage));
     }
 
     /**
@@ -81,11 +123,16 @@ public class RequestScopedCache {
      * in which case the cache will be unavailable for the rest of the request.
      */
     public static void endRequest() {
-        final List<RequestScopedItem> result = CACHE.get();
+        final Items result = CACHE.get();
         if (result != null) {
             CACHE.remove();
-            for (final RequestScopedItem item : result) {
-                item.invalidate();
+            try {
+                result.invalidate();
+            } finally {
+                Object[] storage = result.reset();
+                if (storage != null) {
+                    STORAGE.set(storage);
+                }
             }
         }
     }
@@ -100,4 +147,124 @@ public class RequestScopedCache {
         }
     }
 
+    /**
+     *
+     * @return the number of ended requests
+     */
+    public static long getEndedRequestCount() {
+        return ENDED_REQUESTS.sum();
+    }
+
+    /**
+     *
+     * @return the number of items invalidated at the end of a request
+     */
+    public static long getInvalidatedItemCount() {
+        return INVALIDATED_ITEMS.sum();
+    }
+
+    /**
+     * Note that the statistics are only collected if enabled, see {@link #setSourceStatisticsEnabled(boolean)}.
+     *
+     * @return the number of invalidated items per source type, i.e. the name of the bean class for a bean and the name of the class of any other source
+     */
+    public static Map<String, Long> getInvalidatedItemsPerSource() {
+        Map<String, Long> result = new HashMap<String, Long>();
+        for (Map.Entry<String, LongAdder> entry : INVALIDATED_ITEMS_PER_SOURCE.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Enables or disables the collection of invalidations per source. The statistics are disabled by default.
+     *
+     * @param enabled
+     */
+    public static void setSourceStatisticsEnabled(boolean enabled) {
+        sourceStatisticsEnabled = enabled;
+    }
+
+    /**
+     * Resets all the statistics.
+     */
+    public static void resetStatistics() {
+        ENDED_REQUESTS.reset();
+        INVALIDATED_ITEMS.reset();
+        INVALIDATED_ITEMS_PER_SOURCE.clear();
+    }
+
+    /**
+     * A growable array of items. Each item occupies two elements - the item itself (either {@link RequestScopedItem} or {@link ThreadLocal}) and its source.
+     */
+    private static class Items {
+
+        private Object[] elements;
+
+        private int size;
+
+        Items(Object[] elements) {
+            this.elements = elements;
+        }
+
+        void add(Object item, Object source) {
+            int idx = size * 2;
+            if (idx == elements.length) {
+                elements = Arrays.copyOf(elements, elements.length * 2);
+            }
+            elements[idx] = item;
+            elements[idx + 1] = source;
+            size++;
+        }
+
+        void invalidate() {
+            final boolean collectSourceStatistics = sourceStatisticsEnabled;
+            ENDED_REQUESTS.increment();
+            INVALIDATED_ITEMS.add(size);
+            for (int i = 0; i < size; i++) {
+                Object item = elements[i * 2];
+                if (item instanceof ThreadLocal<?>) {
+                    ((ThreadLocal<?>) item).remove();
+                } else {
+                    ((RequestScopedItem) item).invalidate();
+                }
+                if (collectSourceStatistics) {
+                    Object source = elements[i * 2 + 1];
+                    String key = getSourceType(source != null ? source : item);
+                    LongAdder counter = INVALIDATED_ITEMS_PER_SOURCE.get(key);
+                    if (counter == null) {
+                        counter = INVALIDATED_ITEMS_PER_SOURCE.computeIfAbsent(key, (k) -> new LongAdder());
+                    }
+                    counter.increment();
+                }
+            }
+        }
+
+        /**
+         *
+         * @return the array to be reused or <code>null</code> if the array is too large to be retained
+         */
+        Object[] reset() {
+            if (elements.length > MAX_RETAINED_CAPACITY * 2) {
+                elements = null;
+            } else {
+                Arrays.fill(elements, 0, size * 2, null);
+            }
+            size = 0;
+            return elements;
+        }
+
+        private static String getSourceType(Object source) {
+            // Do not use toString() - it may be expensive and the statistics would not be aggregated per type
+            if (source instanceof Bean<?>) {
+                Class<?> beanClass = ((Bean<?>) source).getBeanClass();
+                if (beanClass != null) {
+                    return beanClass.getName();
+                }
+            }
+            return source.getClass().getName();
+        }
+
+    }
+
 }
@@ -0,0 +1,196 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.conversation;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Keeps track of the long-running conversations of a single session ordered by the deadline (last used time plus timeout) and of the conversations which were
+ * ended and are waiting for destruction. This allows to find the expired and ended conversations without checking all the conversations of the session.
+ *
+ * <p>
+ * The queue only holds conversation ids so that it may be stored in a separate session attribute. A deadline is only a hint - once polled, the conversation
+ * must be checked again because it might have been used in the meantime.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @see org.jboss.weld.context.AbstractConversationContext
+ */
+public class ConversationExpirationQueue implements Serializable {
+
+    public static final String CONVERSATION_EXPIRATION_QUEUE_ATTRIBUTE_NAME = ConversationExpirationQueue.class.getName();
+
+    private static final long serialVersionUID = -4135283373245741258L;
+
+    private final String id;
+
+    private final TreeSet<Deadline> deadlines;
+
+    private final Map<String, Long> scheduled;
+
+    private final Set<String> ended;
+
+    public ConversationExpirationQueue() {
+        this.id = UUID.randomUUID().toString();
+        this.deadlines = new TreeSet<Deadline>();
+        this.scheduled = new HashMap<String, Long>();
+        this.ended = new LinkedHashSet<String>();
+    }
+
+    /**
+     * The id identifies the session the queue belongs to. Unlike the session itself, the id may be held by the background expiration check. The id does not
+     * change when the session is serialized.
+     *
+     * @return the id of this queue
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Schedules the expiration check of the given conversation. Any previous deadline of the conversation is replaced.
+     *
+     * @param id the conversation id
+     * @param deadline the time in milliseconds
+     */
+    public synchronized void schedule(String id, long deadline) {
+        Long previous = scheduled.put(id, deadline);
+        if (previous != null) {
+            if (previous == deadline) {
+                return;
+            }
+            deadlines.remove(new Deadline(previous, id));
+        }
+        deadlines.add(new Deadline(deadline, id));
+    }
+
+    /**
+     * Removes and returns the ids of the conversations whose deadline is not after the given time.
+     *
+     * @param now the current time in milliseconds
+     * @return the ids of the conversations which might have expired
+     */
+    public synchronized List<String> pollExpired(long now) {
+        if (deadlines.isEmpty() || deadlines.first().time > now) {
+            return Collections.emptyList();
+        }
+        List<String> ids = new ArrayList<String>();
+        for (Iterator<Deadline> iterator = deadlines.iterator(); iterator.hasNext();) {
+            Deadline deadline = iterator.next();
+            if (deadline.time > now) {
+                break;
+            }
+            iterator.remove();
+            scheduled.remove(deadline.id);
+            ids.add(deadline.id);
+        }
+        return ids;
+    }
+
+    /**
+     * Records a conversation which was ended and should be destroyed.
+     *
+     * @param id the conversation id
+     */
+    public synchronized void ended(String id) {
+        Long deadline = scheduled.remove(id);
+        if (deadline != null) {
+            deadlines.remove(new Deadline(deadline, id));
+        }
+        ended.add(id);
+    }
+
+    /**
+     * Removes and returns the ids of all the ended conversations.
+     *
+     * @return the ids of the ended conversations
+     */
+    public synchronized List<String> pollEnded() {
+        if (ended.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> ids = new ArrayList<String>(ended);
+        ended.clear();
+        return ids;
+    }
+
+    /**
+     * @return <code>true</code> if there are no scheduled and no ended conversations
+     */
+    public synchronized boolean isEmpty() {
+        return deadlines.isEmpty() && ended.isEmpty();
+    }
+
+    // The queue may be serialized (session replication or passivation) while it is modified by a request or by the background expiration check
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+    }
+
+    private static final class Deadline implements Comparable<Deadline>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long time;
+
+        private final String id;
+
+        private Deadline(long time, String id) {
+            this.time = time;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Deadline other) {
+            int result = Long.compare(time, other.time);
+            return result != 0 ? result : id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Deadline)) {
+                return false;
+            }
+            Deadline other = (Deadline) obj;
+            return time == other.time && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(time) + id.hashCode();
+        }
+
+    }
+
+}
@@ -2,6 +2,8 @@ package org.jboss.weld.context.unbound;
 
 import org.jboss.weld.context.AbstractUnboundContext;
 import org.jboss.weld.context.RequestContext;
+import org.jboss.weld.context.beanstore.ArrayBeanStore;
+import org.jboss.weld.context.beanstore.BeanSlotIndex;
 import org.jboss.weld.context.beanstore.HashMapBeanStore;
 
 import javax.enterprise.context.RequestScoped;
@@ -9,6 +11,9 @@ import java.lang.annotation.Annotation;
 
 public class RequestContextImpl extends AbstractUnboundContext implements RequestContext {
 
+    // Services are registered after the contexts are created
+    private volatile BeanSlotIndex slotIndex;
+
     public RequestContextImpl(String contextId) {
         super(contextId, false);
     }
@@ -19,7 +24,17 @@ public class RequestContextImpl extends AbstractUnboundContext implements Reques
 
     public void activate() {
         // Attach bean store (this context is unbound, so this can simply be thread-scoped
-        setBeanStore(new HashMapBeanStore());
+        BeanSlotIndex index = slotIndex;
+        if (index == null) {
+            index = getServiceRegistry().get(BeanSlotIndex.class);
+            slotIndex = index;
+        }
+        if (index != null && index.isBuilt()) {
+            setBeanStore(new ArrayBeanStore(index));
+        } else {
+            // the index is not built until the end of bootstrap
+            setBeanStore(new HashMapBeanStore());
+        }
         super.activate();
     }
 
@@ -23,6 +23,9 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,11 +38,13 @@ import javax.enterprise.util.TypeLiteral;
 
 import org.jboss.weld.bean.builtin.AbstractFacade;
 import org.jboss.weld.bean.builtin.FacadeInjectionPoint;
+import org.jboss.weld.event.ObserverNotifier.EventBatch;
 import org.jboss.weld.exceptions.InvalidObjectException;
 import org.jboss.weld.logging.EventLogger;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.Preconditions;
 import org.jboss.weld.util.Types;
+import org.jboss.weld.util.collections.ImmutableList;
 import org.jboss.weld.util.reflection.EventObjectTypeResolverBuilder;
 import org.jboss.weld.util.reflection.Formats;
 import org.jboss.weld.util.reflection.HierarchyDiscovery;
@@ -56,6 +61,7 @@ import org.jboss.weld.util.reflection.TypeResolver;
 public class EventImpl<T> extends AbstractFacade<T, Event<T>> implements Event<T>, Serializable {
 
     private static final String EVENT_ARGUMENT_NAME = "event";
+    private static final String EVENTS_ARGUMENT_NAME = "events";
     private static final String SUBTYPE_ARGUMENT_NAME = "subtype";
     private static final long serialVersionUID = 656782657242515455L;
     private static final int DEFAULT_CACHE_CAPACITY = 4;
@@ -105,10 +111,89 @@ public class EventImpl<T> extends AbstractFacade<T, Event<T>> implements Event<T
         return fireAsyncInternal(event, executor);
     }
 
-    private <U extends T> CompletionStage<U> fireAsyncInternal(U event, Executor executor) {
+    /**
+     * Fires an event asynchronously using the given notification options.
+     *
+     * @param event the event object
+     * @param options the notification options
+     * @return the completion stage
+     * @see NotificationOptions
+     */
+    public <U extends T> CompletionStage<U> fireAsync(U event, NotificationOptions options) {
+        Preconditions.checkArgumentNotNull(event, EVENT_ARGUMENT_NAME);
+        Preconditions.checkArgumentNotNull(options, "options");
         CachedObservers observers = getObservers(event);
         // we can do lenient here as the event type is checked within #getObservers()
-        return getBeanManager().getGlobalLenientObserverNotifier().notifyAsync(observers.observers, event, observers.metadata, executor);
+        return getBeanManager().getGlobalLenientObserverNotifier().notifyAsync(observers.observers, event, observers.metadata, options);
+    }
+
+    /**
+     * Fires all the given events synchronously. Observer methods are resolved once for each sequence of consecutive event objects of the same runtime type
+     * and the event objects are delivered in the iteration order of the given collection.
+     *
+     * @param events the event objects
+     * @see #fire(Object)
+     */
+    public void fireAll(Collection<? extends T> events) {
+        Preconditions.checkArgumentNotNull(events, EVENTS_ARGUMENT_NAME);
+        getBeanManager().getGlobalLenientObserverNotifier().notifyAll(createBatches(events));
+    }
+
+    /**
+     * Fires all the given events asynchronously. All the event objects are delivered in a single task, i.e. the request context is only activated once for
+     * the whole collection.
+     *
+     * @param events the event objects
+     * @return the completion stage which completes with the list of the given event objects
+     * @see #fireAsync(Object)
+     */
+    public <U extends T> CompletionStage<List<U>> fireAllAsync(Collection<U> events) {
+        return fireAllAsyncInternal(events, null);
+    }
+
+    /**
+     * Fires all the given events asynchronously using the given executor. All the event objects are delivered in a single task, i.e. the request context
+     * is only activated once for the whole collection.
+     *
+     * @param events the event objects
+     * @param executor the executor
+     * @return the completion stage which completes with the list of the given event objects
+     * @see #fireAsync(Object, Executor)
+     */
+    public <U extends T> CompletionStage<List<U>> fireAllAsync(Collection<U> events, Executor executor) {
+        Preconditions.checkArgumentNotNull(executor, "executor");
+        return fireAllAsyncInternal(events, executor);
+    }
+
+    private <U extends T> CompletionStage<List<U>> fireAllAsyncInternal(Collection<U> events, Executor executor) {
+        Preconditions.checkArgumentNotNull(events, EVENTS_ARGUMENT_NAME);
+        List<U> result = ImmutableList.copyOf(events);
+        return getBeanManager().getGlobalLenientObserverNotifier().notifyAllAsync(createBatches(result), result, executor);
+    }
+
+    private List<EventBatch<?>> createBatches(Collection<? extends T> events) {
+        List<EventBatch<?>> batches = new ArrayList<>();
+        CachedObservers observers = null;
+        List<T> batch = null;
+        for (T event : events) {
+            Preconditions.checkArgumentNotNull(event, EVENT_ARGUMENT_NAME);
+            if (observers == null || !observers.rawType.equals(event.getClass())) {
+                if (batch != null) {
+                    batches.add(new EventBatch<>(observers.observers, batch, observers.metadata));
+                }
+                observers = getObservers(event);
+                batch = new ArrayList<>();
+            }
+            batch.add(event);
+        }
+        if (batch != null) {
+            batches.add(new EventBatch<>(observers.observers, batch, observers.metadata));
+        }
+        return batches;
+    }
+
+    private <U extends T> CompletionStage<U> fireAsyncInternal(U event, Executor executor) {
+        return fireAsync(event, NotificationOptions.ofExecutor(executor));
     }
 
     private CachedObservers getObservers(T event) {
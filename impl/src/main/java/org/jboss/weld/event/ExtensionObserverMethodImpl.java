@@ -33,6 +33,8 @@ import org.jboss.weld.Container;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedMethod;
 import org.jboss.weld.annotated.enhanced.EnhancedAnnotatedParameter;
 import org.jboss.weld.bean.RIBean;
+import org.jboss.weld.bootstrap.BootstrapProfiler;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Measurement;
 import org.jboss.weld.bootstrap.events.NotificationListener;
 import org.jboss.weld.injection.InjectionPointFactory;
 import org.jboss.weld.injection.MethodInjectionPoint;
@@ -55,11 +57,13 @@ public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X>
     private final Container containerLifecycleEventDeliveryLock;
     private final Set<Class<? extends Annotation>> requiredTypeAnnotations;
     private volatile Set<Class<? extends Annotation>> requiredScopeTypeAnnotations;
+    private final BootstrapProfiler profiler;
 
     protected ExtensionObserverMethodImpl(EnhancedAnnotatedMethod<T, ? super X> observer, RIBean<X> declaringBean, BeanManagerImpl manager, boolean isAsync) {
         super(observer, declaringBean, manager, isAsync);
         this.containerLifecycleEventDeliveryLock = Container.instance(manager);
         this.requiredTypeAnnotations = initRequiredTypeAnnotations(observer);
+        this.profiler = manager.getServices().get(BootstrapProfiler.class);
     }
 
     protected Set<Class<? extends Annotation>> initRequiredTypeAnnotations(EnhancedAnnotatedMethod<T, ? super X> observer) {
@@ -119,7 +123,13 @@ public class ExtensionObserverMethodImpl<T, X> extends ObserverMethodImpl<T, X>
     @Override
     protected void sendEvent(T event, Object receiver, CreationalContext<?> creationalContext) {
         synchronized (containerLifecycleEventDeliveryLock) {
-            super.sendEvent(event, receiver, creationalContext);
+            if (profiler == null) {
+                super.sendEvent(event, receiver, creationalContext);
+            } else {
+                try (Measurement measurement = profiler.startNotification(this, event)) {
+                    super.sendEvent(event, receiver, creationalContext);
+                }
+            }
         }
     }
 
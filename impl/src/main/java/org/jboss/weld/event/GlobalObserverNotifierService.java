@@ -19,6 +19,7 @@ package org.jboss.weld.event;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.enterprise.inject.spi.ObserverMethod;
 
@@ -44,11 +45,13 @@ public class GlobalObserverNotifierService implements BootstrapService {
     private final Set<BeanManagerImpl> beanManagers;
     private final ObserverNotifier globalLenientObserverNotifier;
     private final ObserverNotifier globalStrictObserverNotifier;
+    private final AtomicLong observerModifications;
 
     public GlobalObserverNotifierService(ServiceRegistry services, String contextId) {
         this.beanManagers = new CopyOnWriteArraySet<BeanManagerImpl>();
+        this.observerModifications = new AtomicLong();
         TypeSafeObserverResolver resolver = new TypeSafeObserverResolver(services.get(MetaAnnotationStore.class),
-                createGlobalObserverMethodIterable(beanManagers), services.get(WeldConfiguration.class));
+                createGlobalObserverMethodIterable(beanManagers), services.get(WeldConfiguration.class), this::getObserverModificationCount);
         final ObserverNotifierFactory factory = services.get(ObserverNotifierFactory.class);
         this.globalLenientObserverNotifier = factory.create(contextId, resolver, services, false);
         this.globalStrictObserverNotifier = factory.create(contextId, resolver, services, true);
@@ -66,7 +69,9 @@ public class GlobalObserverNotifierService implements BootstrapService {
     }
 
     public void registerBeanManager(BeanManagerImpl manager) {
-        this.beanManagers.add(manager);
+        if (this.beanManagers.add(manager)) {
+            observersModified();
+        }
     }
 
     public ObserverNotifier getGlobalLenientObserverNotifier() {
@@ -81,6 +86,22 @@ public class GlobalObserverNotifierService implements BootstrapService {
         return createGlobalObserverMethodIterable(beanManagers);
     }
 
+    /**
+     * Should be invoked whenever an observer method is added to or removed from any bean manager of the deployment.
+     */
+    public void observersModified() {
+        observerModifications.incrementAndGet();
+    }
+
+    /**
+     * The observer method index of a {@link TypeSafeObserverResolver} is rebuilt once this value changes.
+     *
+     * @return the number of modifications of the observer methods of the deployment
+     */
+    public long getObserverModificationCount() {
+        return observerModifications.get();
+    }
+
     @Override
     public void cleanupAfterBoot() {
         this.globalStrictObserverNotifier.clear();
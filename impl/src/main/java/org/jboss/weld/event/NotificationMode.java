@@ -0,0 +1,39 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+/**
+ * The way the asynchronous observer methods of an event are notified.
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#ASYNC_OBSERVER_NOTIFICATION_MODE
+ * @see NotificationOptions
+ */
+public enum NotificationMode {
+
+    /**
+     * All the asynchronous observer methods are notified serially in a single worker thread.
+     */
+    SERIAL,
+
+    /**
+     * Each asynchronous observer method is notified in a separate task submitted to the executor. Therefore, a slow observer method does not delay the
+     * notification of the other observer methods.
+     */
+    PARALLEL,
+    ;
+
+}
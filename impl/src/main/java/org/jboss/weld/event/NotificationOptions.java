@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.event;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Weld-specific options of an asynchronous event delivery.
+ *
+ * @see EventImpl#fireAsync(Object, NotificationOptions)
+ * @see ObserverNotifier#notifyAsync(ResolvedObservers, Object, javax.enterprise.inject.spi.EventMetadata, NotificationOptions)
+ */
+public final class NotificationOptions {
+
+    private static final NotificationOptions DEFAULT = new NotificationOptions(null, null);
+
+    /**
+     *
+     * @return the options using the default executor and the default notification mode
+     */
+    public static NotificationOptions ofDefaults() {
+        return DEFAULT;
+    }
+
+    /**
+     *
+     * @param executor
+     * @return the options using the given executor and the default notification mode
+     */
+    public static NotificationOptions ofExecutor(Executor executor) {
+        return new NotificationOptions(executor, null);
+    }
+
+    /**
+     *
+     * @param mode
+     * @return the options using the default executor and the given notification mode
+     */
+    public static NotificationOptions of(NotificationMode mode) {
+        return new NotificationOptions(null, mode);
+    }
+
+    /**
+     *
+     * @param executor
+     * @param mode
+     * @return the options using the given executor and the given notification mode
+     */
+    public static NotificationOptions of(Executor executor, NotificationMode mode) {
+        return new NotificationOptions(executor, mode);
+    }
+
+    private final Executor executor;
+
+    private final NotificationMode mode;
+
+    private NotificationOptions(Executor executor, NotificationMode mode) {
+        this.executor = executor;
+        this.mode = mode;
+    }
+
+    /**
+     *
+     * @return the executor used to notify the observer methods, or <code>null</code> if the Weld's task executor should be used
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     *
+     * @return the notification mode, or <code>null</code> if the configured default should be used
+     * @see org.jboss.weld.config.ConfigurationKey#ASYNC_OBSERVER_NOTIFICATION_MODE
+     */
+    public NotificationMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationOptions [executor=" + executor + ", mode=" + mode + "]";
+    }
+
+}
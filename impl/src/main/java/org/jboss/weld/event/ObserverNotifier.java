@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
@@ -36,9 +37,12 @@ import javax.enterprise.inject.spi.ObserverMethod;
 
 import org.jboss.weld.Container;
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.context.RequestContext;
 import org.jboss.weld.context.unbound.UnboundLiteral;
 import org.jboss.weld.injection.ThreadLocalStack.ThreadLocalStackReference;
+import org.jboss.weld.logging.ConfigurationLogger;
 import org.jboss.weld.logging.UtilLogger;
 import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.resolution.QualifierInstance;
@@ -77,6 +81,7 @@ public class ObserverNotifier {
     private final Executor asyncEventExecutor;
     private final SecurityServices securityServices;
     private final LazyValueHolder<RequestContext> requestContextHolder;
+    private final NotificationMode defaultNotificationMode;
 
     protected ObserverNotifier(String contextId, TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
         this.resolver = resolver;
@@ -93,6 +98,19 @@ public class ObserverNotifier {
         this.securityServices = services.getRequired(SecurityServices.class);
         // LazyValueHolder is used because contexts are not ready yet at the point when ObserverNotifier is first initialized
         this.requestContextHolder = LazyValueHolder.forSupplier(() -> Container.instance(contextId).deploymentManager().instance().select(RequestContext.class, UnboundLiteral.INSTANCE).get());
+        this.defaultNotificationMode = initNotificationMode(services.get(WeldConfiguration.class));
+    }
+
+    private static NotificationMode initNotificationMode(WeldConfiguration configuration) {
+        if (configuration == null) {
+            return NotificationMode.SERIAL;
+        }
+        String mode = configuration.getStringProperty(ConfigurationKey.ASYNC_OBSERVER_NOTIFICATION_MODE);
+        try {
+            return NotificationMode.valueOf(mode);
+        } catch (IllegalArgumentException e) {
+            throw ConfigurationLogger.LOG.invalidConfigurationPropertyValue(mode, ConfigurationKey.ASYNC_OBSERVER_NOTIFICATION_MODE.get());
+        }
     }
 
     /**
@@ -192,6 +210,13 @@ public class ObserverNotifier {
             .create();
     }
 
+    /**
+     * @return the resolver used to resolve observer methods
+     */
+    public TypeSafeObserverResolver getResolver() {
+        return resolver;
+    }
+
     /**
      * Clears cached observer method resolutions and event type checks.
      */
@@ -268,6 +293,44 @@ public class ObserverNotifier {
     }
 
 
+    /**
+     * Delivers the given batches of synchronous event objects to synchronous and transactional observer methods. The batches are delivered in the given
+     * order. Event metadata is made available for injection into observer methods, if needed, and is only pushed once per batch. Asynchronous observer
+     * methods are ignored.
+     *
+     * @param batches the given batches
+     * @see #notify(ResolvedObservers, Object, EventMetadata)
+     */
+    public void notifyAll(List<EventBatch<?>> batches) {
+        for (EventBatch<?> batch : batches) {
+            notifyBatch(batch);
+        }
+    }
+
+    private <T> void notifyBatch(EventBatch<T> batch) {
+        final List<ObserverMethod<? super T>> syncObservers = batch.observers.getImmediateSyncObservers();
+        final List<ObserverMethod<? super T>> transactionObservers = batch.observers.getTransactionObservers();
+        if (syncObservers.isEmpty() && transactionObservers.isEmpty()) {
+            return;
+        }
+        final EventMetadata metadata = batch.observers.isMetadataRequired() ? batch.metadata : null;
+        final ThreadLocalStackReference<EventMetadata> stack = currentEventMetadata.pushIfNotNull(metadata);
+        try {
+            for (T event : batch.events) {
+                for (ObserverMethod<? super T> observer : syncObservers) {
+                    try {
+                        observer.notify(event);
+                    } catch (Throwable throwable) {
+                        ObserverExceptionHandler.IMMEDIATE_HANDLER.handle(throwable);
+                    }
+                }
+                notifyTransactionObservers(transactionObservers, event, metadata, ObserverExceptionHandler.IMMEDIATE_HANDLER);
+            }
+        } finally {
+            stack.pop();
+        }
+    }
+
     protected <T> void notifySyncObservers(List<ObserverMethod<? super T>> observers, T event, EventMetadata metadata, ObserverExceptionHandler handler) {
         if (observers.isEmpty()) {
             return;
@@ -307,9 +370,32 @@ public class ObserverNotifier {
      * @param executor the executor to be used for asynchronous delivery - may be null
      */
     public <T, U extends T> CompletionStage<U> notifyAsync(ResolvedObservers<T> observers, U event, EventMetadata metadata, Executor executor) {
+        return notifyAsync(observers, event, metadata, NotificationOptions.ofExecutor(executor));
+    }
+
+    /**
+     * Delivers the given asynchronous event object to given observer asynchronous observer methods using the given notification options.
+     *
+     * In the {@link NotificationMode#SERIAL} mode all the observer methods are notified serially in a single worker thread. In the
+     * {@link NotificationMode#PARALLEL} mode each observer method is notified in a separate task. If no mode is specified the mode configured by
+     * {@link ConfigurationKey#ASYNC_OBSERVER_NOTIFICATION_MODE} is used. In both modes the returned {@link CompletionStage} completes once all the
+     * observer methods are notified and the exceptions are grouped in the same way.
+     *
+     * @param observers the given observer methods
+     * @param event the given event object
+     * @param metadata event metadata
+     * @param options the notification options
+     * @see #notifyAsync(ResolvedObservers, Object, EventMetadata, Executor)
+     */
+    public <T, U extends T> CompletionStage<U> notifyAsync(ResolvedObservers<T> observers, U event, EventMetadata metadata, NotificationOptions options) {
         if (!observers.isMetadataRequired()) {
             metadata = null;
         }
+        Executor executor = options.getExecutor() != null ? options.getExecutor() : asyncEventExecutor;
+        NotificationMode mode = options.getMode() != null ? options.getMode() : defaultNotificationMode;
+        if (mode == NotificationMode.PARALLEL && observers.getAsyncObservers().size() > 1) {
+            return notifyAsyncObserversInParallel(observers.getAsyncObservers(), event, metadata, executor);
+        }
         final ObserverExceptionHandler handler = new CollectingExceptionHandler();
         return notifyAsyncObservers(observers.getAsyncObservers(), event, metadata, executor, handler);
     }
@@ -344,21 +430,130 @@ public class ObserverNotifier {
                 securityContext.dissociate();
                 securityContext.close();
             }
-            List<Throwable> handledExceptions = handler.getHandledExceptions();
-            if (!handledExceptions.isEmpty()) {
-                CompletionException exception = null;
-                if (handledExceptions.size() == 1) {
-                    exception = new CompletionException(handledExceptions.get(0));
-                } else {
-                    exception = new CompletionException(null);
+            rethrowHandledExceptions(handler);
+            return event;
+        }, executor);
+    }
+
+    /**
+     * Delivers the given batches of asynchronous event objects to asynchronous observer methods.
+     *
+     * All the batches are notified serially in a single worker thread, i.e. the request context is activated and the security context is associated only
+     * once for all the event objects. Event metadata is pushed once per batch. The exceptions thrown by observer methods are collected in the same way as
+     * in {@link #notifyAsync(ResolvedObservers, Object, EventMetadata, Executor)} and the returned {@link CompletionStage} fails with the compound
+     * exception. Otherwise, it completes with the given result.
+     *
+     * @param batches the given batches
+     * @param result the result the returned stage completes with
+     * @param executor the executor to be used for asynchronous delivery - may be null
+     */
+    public <R> CompletionStage<R> notifyAllAsync(List<EventBatch<?>> batches, R result, Executor executor) {
+        if (executor == null) {
+            executor = asyncEventExecutor;
+        }
+        boolean noObservers = true;
+        for (EventBatch<?> batch : batches) {
+            if (!batch.observers.getAsyncObservers().isEmpty()) {
+                noObservers = false;
+                break;
+            }
+        }
+        if (noObservers) {
+            return AsyncEventDeliveryStage.completed(result, executor);
+        }
+        final ObserverExceptionHandler handler = new CollectingExceptionHandler();
+        final SecurityContext securityContext = securityServices.getSecurityContext();
+        return new AsyncEventDeliveryStage<>(() -> {
+            final RequestContext requestContext = requestContextHolder.get();
+            try {
+                securityContext.associate();
+                requestContext.activate();
+                for (EventBatch<?> batch : batches) {
+                    notifyAsyncBatch(batch, handler);
                 }
-                for (Throwable handledException : handledExceptions) {
-                    exception.addSuppressed(handledException);
+            } finally {
+                requestContext.invalidate();
+                requestContext.deactivate();
+                securityContext.dissociate();
+                securityContext.close();
+            }
+            rethrowHandledExceptions(handler);
+            return result;
+        }, executor);
+    }
+
+    private <T> void notifyAsyncBatch(EventBatch<T> batch, ObserverExceptionHandler handler) {
+        final List<ObserverMethod<? super T>> asyncObservers = batch.observers.getAsyncObservers();
+        if (asyncObservers.isEmpty()) {
+            return;
+        }
+        final ThreadLocalStackReference<EventMetadata> stack = currentEventMetadata.pushIfNotNull(batch.observers.isMetadataRequired() ? batch.metadata : null);
+        try {
+            for (T event : batch.events) {
+                for (ObserverMethod<? super T> observer : asyncObservers) {
+                    try {
+                        observer.notify(event);
+                    } catch (Throwable e) {
+                        handler.handle(e);
+                    }
                 }
-                throw exception;
             }
+        } finally {
+            stack.pop();
+        }
+    }
+
+    /**
+     * Each observer method is notified in a separate task submitted to the given executor. The request context is activated and the security context
+     * is associated for each notification separately. The exceptions thrown by all the observer methods are collected and the returned stage fails with
+     * the compound exception once all the tasks are finished.
+     */
+    protected <T, U extends T> CompletionStage<U> notifyAsyncObserversInParallel(List<ObserverMethod<? super T>> observers, U event,
+            EventMetadata metadata, Executor executor) {
+        final ObserverExceptionHandler handler = new CollectingExceptionHandler(Collections.synchronizedList(new LinkedList<>()));
+        final CompletableFuture<?>[] notifications = new CompletableFuture<?>[observers.size()];
+        int i = 0;
+        for (ObserverMethod<? super T> observer : observers) {
+            // the security context is obtained in the caller thread
+            final SecurityContext securityContext = securityServices.getSecurityContext();
+            notifications[i++] = CompletableFuture.runAsync(() -> {
+                final ThreadLocalStackReference<EventMetadata> stack = currentEventMetadata.pushIfNotNull(metadata);
+                final RequestContext requestContext = requestContextHolder.get();
+                try {
+                    securityContext.associate();
+                    requestContext.activate();
+                    observer.notify(event);
+                } catch (Throwable e) {
+                    handler.handle(e);
+                } finally {
+                    stack.pop();
+                    requestContext.invalidate();
+                    requestContext.deactivate();
+                    securityContext.dissociate();
+                    securityContext.close();
+                }
+            }, executor);
+        }
+        return new AsyncEventDeliveryStage<>(CompletableFuture.allOf(notifications).thenApply((ignored) -> {
+            rethrowHandledExceptions(handler);
             return event;
-        }, executor);
+        }), executor);
+    }
+
+    private static void rethrowHandledExceptions(ObserverExceptionHandler handler) {
+        List<Throwable> handledExceptions = handler.getHandledExceptions();
+        if (!handledExceptions.isEmpty()) {
+            CompletionException exception = null;
+            if (handledExceptions.size() == 1) {
+                exception = new CompletionException(handledExceptions.get(0));
+            } else {
+                exception = new CompletionException(null);
+            }
+            for (Throwable handledException : handledExceptions) {
+                exception.addSuppressed(handledException);
+            }
+            throw exception;
+        }
     }
 
     /**
@@ -389,9 +584,46 @@ public class ObserverNotifier {
         }
     }
 
+    /**
+     * A batch of event objects of the same runtime type which are delivered to the same observer methods.
+     *
+     * @param <T> the event type
+     * @see ObserverNotifier#notifyAll(List)
+     * @see ObserverNotifier#notifyAllAsync(List, Object, Executor)
+     */
+    public static final class EventBatch<T> {
+
+        private final ResolvedObservers<T> observers;
+
+        private final List<? extends T> events;
+
+        private final EventMetadata metadata;
+
+        /**
+         *
+         * @param observers the observer methods resolved for the runtime type of the event objects
+         * @param events the event objects
+         * @param metadata event metadata - may be null
+         */
+        public EventBatch(ResolvedObservers<T> observers, List<? extends T> events, EventMetadata metadata) {
+            this.observers = observers;
+            this.events = events;
+            this.metadata = metadata;
+        }
+
+    }
+
     static class CollectingExceptionHandler implements ObserverExceptionHandler {
 
-        private List<Throwable> throwables = new LinkedList<>();
+        private final List<Throwable> throwables;
+
+        CollectingExceptionHandler() {
+            this(new LinkedList<>());
+        }
+
+        CollectingExceptionHandler(List<Throwable> throwables) {
+            this.throwables = throwables;
+        }
 
         @Override
         public void handle(Throwable throwable) {
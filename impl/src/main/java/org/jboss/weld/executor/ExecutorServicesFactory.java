@@ -52,6 +52,8 @@ public class ExecutorServicesFactory {
                 return new TimingOutFixedThreadPoolExecutorServices(threadPoolSize, threadPoolKeepAliveTime);
             case COMMON:
                 return new CommonForkJoinPoolExecutorServices();
+            case THREAD_PER_TASK:
+                return new ThreadPerTaskExecutorServices(threadPoolSize);
             default:
                 return new FixedThreadPoolExecutorServices(threadPoolSize);
         }
@@ -85,6 +87,6 @@ public class ExecutorServicesFactory {
      * @author Martin Kouba
      */
     public enum ThreadPoolType {
-        FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD, COMMON
+        FIXED, FIXED_TIMEOUT, NONE, SINGLE_THREAD, COMMON, THREAD_PER_TASK
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.executor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jboss.weld.logging.BootstrapLogger;
+
+/**
+ * Implementation of {@link org.jboss.weld.manager.api.ExecutorServices} that starts a new thread for each task. Virtual threads are used if supported by
+ * the runtime, i.e. if {@code Executors.newVirtualThreadPerTaskExecutor()} is available. Otherwise, an unbounded pool of daemon platform threads is used so
+ * that tasks blocking on I/O (e.g. asynchronous observer methods) never wait for a free worker thread.
+ * <p>
+ * The thread pool size is only used to determine the number of workers for bootstrap tasks which are CPU-bound.
+ */
+public class ThreadPerTaskExecutorServices extends AbstractExecutorServices {
+
+    private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY_METHOD = "newVirtualThreadPerTaskExecutor";
+
+    private final int threadPoolSize;
+
+    private final ExecutorService executor;
+
+    private final boolean virtualThreads;
+
+    public ThreadPerTaskExecutorServices(int threadPoolSize) {
+        this.threadPoolSize = threadPoolSize;
+        ExecutorService virtualThreadExecutor = createVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+            this.executor = virtualThreadExecutor;
+            this.virtualThreads = true;
+        } else {
+            this.executor = Executors.newCachedThreadPool(new DaemonThreadFactory(new ThreadGroup("weld-workers"), "weld-worker-"));
+            this.virtualThreads = false;
+        }
+        BootstrapLogger.LOG.threadPerTaskExecutorInUse(virtualThreads);
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            Method factoryMethod = Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY_METHOD);
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (NoSuchMethodException e) {
+            // virtual threads not supported
+            return null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // e.g. virtual threads are a preview feature which is not enabled
+            BootstrapLogger.LOG.catchingDebug(e);
+            return null;
+        }
+    }
+
+    @Override
+    public ExecutorService getTaskExecutor() {
+        return executor;
+    }
+
+    @Override
+    public int getThreadPoolSize() {
+        return threadPoolSize;
+    }
+
+    /**
+     *
+     * @return <code>true</code> if virtual threads are used, <code>false</code> otherwise
+     */
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadPerTaskExecutorServices [threadPoolSize=" + threadPoolSize + ", virtualThreads=" + virtualThreads + "]";
+    }
+}
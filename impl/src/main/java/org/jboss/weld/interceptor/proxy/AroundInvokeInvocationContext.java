@@ -53,7 +53,7 @@ import org.jboss.weld.bean.proxy.InterceptionDecorationContext.Stack;
  */
 abstract class AroundInvokeInvocationContext extends AbstractInvocationContext {
 
-    public static AroundInvokeInvocationContext create(Object instance, Method method, Method proceed, Object[] args,  List<InterceptorMethodInvocation> chain,
+    public static AroundInvokeInvocationContext create(Object instance, Method method, MethodInvoker proceed, Object[] args,  List<InterceptorMethodInvocation> chain,
             Set<Annotation> interceptorBindings, Stack stack) {
         CombinedInterceptorAndDecoratorStackMethodHandler currentHandler = (stack == null) ? null : stack.peek();
         if (chain.size() == 1) {
@@ -64,11 +64,13 @@ abstract class AroundInvokeInvocationContext extends AbstractInvocationContext {
     }
 
     final CombinedInterceptorAndDecoratorStackMethodHandler currentHandler;
+    final MethodInvoker proceedInvoker;
 
-    AroundInvokeInvocationContext(Object target, Method method, Method proceed, Object[] parameters, Map<String, Object> contextData,
+    AroundInvokeInvocationContext(Object target, Method method, MethodInvoker proceed, Object[] parameters, Map<String, Object> contextData,
             Set<Annotation> interceptorBindings, CombinedInterceptorAndDecoratorStackMethodHandler currentHandler) {
-        super(target, method, proceed, parameters, contextData, interceptorBindings);
+        super(target, method, proceed.getMethod(), parameters, contextData, interceptorBindings);
         this.currentHandler = currentHandler;
+        this.proceedInvoker = proceed;
     }
 
     @Override
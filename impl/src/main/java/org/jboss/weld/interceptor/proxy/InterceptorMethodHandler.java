@@ -44,7 +44,6 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
     }
 
     public Object invoke(Stack stack, Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
-        SecurityActions.ensureAccessible(proceed);
         if (proceed == null) {
             if (thisMethod.getName().equals(InterceptionUtils.POST_CONSTRUCT)) {
                 return executeInterception(self, null, null, null, InterceptionType.POST_CONSTRUCT, stack);
@@ -53,6 +52,7 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
             }
         } else {
             if (isInterceptorMethod(thisMethod)) {
+                SecurityActions.ensureAccessible(proceed);
                 return Reflections.invokeAndUnwrap(self, proceed, args);
             }
             return executeInterception(self, thisMethod, proceed, args, InterceptionType.AROUND_INVOKE, stack);
@@ -61,13 +61,13 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
     }
 
     protected Object executeInterception(Object instance, Method method, Method proceed, Object[] args, InterceptionType interceptionType, Stack stack) throws Throwable {
-        CachedInterceptionChain chain = getInterceptionChain(instance, method, interceptionType);
+        CachedInterceptionChain chain = getInterceptionChain(instance, method, proceed, interceptionType);
         if (chain.interceptorMethods.isEmpty()) {
             // shortcut if there are no interceptors
             if (proceed == null) {
                 return null;
             } else {
-                return Reflections.invokeAndUnwrap(instance, proceed, args);
+                return chain.proceedInvoker.invokeAndUnwrap(instance, args);
             }
         }
         if (InterceptionType.AROUND_INVOKE == interceptionType) {
@@ -81,7 +81,7 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
     }
 
     protected Object executeAroundInvoke(Object instance, Method method, Method proceed, Object[] args, CachedInterceptionChain chain, Stack stack) throws Throwable {
-        ExperimentalInvocationContext ctx = create(instance, method, proceed, args, chain.interceptorMethods, chain.interceptorBindings, stack);
+        ExperimentalInvocationContext ctx = create(instance, method, chain.proceedInvoker, args, chain.interceptorMethods, chain.interceptorBindings, stack);
         try {
             return chain.interceptorMethods.get(0).invoke(ctx);
         } catch (InvocationTargetException e) {
@@ -89,12 +89,13 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
         }
     }
 
-    private CachedInterceptionChain getInterceptionChain(Object instance, Method method, InterceptionType interceptionType) {
+    private CachedInterceptionChain getInterceptionChain(Object instance, Method method, Method proceed, InterceptionType interceptionType) {
         if (method != null) {
             CachedInterceptionChain cachedChain = cachedChains.get(method);
             if (cachedChain == null) {
+                // the proceed method is declared by the intercepted subclass, its invoker is shared by the handlers of all instances of the class
                 cachedChain = new CachedInterceptionChain(ctx.buildInterceptorMethodInvocations(instance, method, interceptionType), ctx.getInterceptionModel()
-                        .getMemberInterceptorBindings(method));
+                        .getMemberInterceptorBindings(method), (proceed == null) ? null : MethodInvoker.forMethod(proceed));
                 CachedInterceptionChain old = cachedChains.putIfAbsent(method, cachedChain);
                 if (old != null) {
                     cachedChain = old;
@@ -102,7 +103,7 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
             }
             return cachedChain;
         }
-        return new CachedInterceptionChain(ctx.buildInterceptorMethodInvocations(instance, null, interceptionType), ctx.getInterceptionModel().getClassInterceptorBindings());
+        return new CachedInterceptionChain(ctx.buildInterceptorMethodInvocations(instance, null, interceptionType), ctx.getInterceptionModel().getClassInterceptorBindings(), null);
     }
 
     private boolean isInterceptorMethod(Method method) {
@@ -117,10 +118,12 @@ public class InterceptorMethodHandler implements StackAwareMethodHandler, Serial
 
         private final List<InterceptorMethodInvocation> interceptorMethods;
         private final Set<Annotation> interceptorBindings;
+        private final MethodInvoker proceedInvoker;
 
-        public CachedInterceptionChain(List<InterceptorMethodInvocation> chain, Set<Annotation> interceptorBindings) {
+        public CachedInterceptionChain(List<InterceptorMethodInvocation> chain, Set<Annotation> interceptorBindings, MethodInvoker proceedInvoker) {
             this.interceptorMethods = chain;
             this.interceptorBindings = interceptorBindings;
+            this.proceedInvoker = proceedInvoker;
         }
     }
 }
@@ -0,0 +1,216 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.interceptor.proxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jboss.weld.exceptions.WeldException;
+
+/**
+ * Invokes a method through a {@link MethodHandle} which is created once, when the interception chain is built. Unlike {@link Method#invoke(Object, Object...)}
+ * no access checks are performed on invocation.
+ *
+ * <p>
+ * The handle is adapted to a single generic type so that it can be called using {@link MethodHandle#invokeExact(Object...)}. Arguments are spread from the
+ * given array and primitive values are unboxed and widened the same way reflection does.
+ * </p>
+ *
+ * <p>
+ * The target instance and the arguments are checked before the handle is invoked so that, as with reflection, an {@link IllegalArgumentException} is thrown
+ * if they do not match the method signature. Only throwables thrown by the method itself are wrapped in {@link InvocationTargetException}.
+ * </p>
+ */
+public final class MethodInvoker {
+
+    private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /**
+     * Invokers of methods declared on a given class. Unlike a map keyed by class, the values do not prevent the class from being unloaded.
+     */
+    private static final ClassValue<ConcurrentMap<Method, MethodInvoker>> INVOKERS = new ClassValue<ConcurrentMap<Method, MethodInvoker>>() {
+        @Override
+        protected ConcurrentMap<Method, MethodInvoker> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<Method, MethodInvoker>();
+        }
+    };
+
+    /**
+     * Returns the invoker for the given method. The invoker is created once per method and shared, e.g. by the method handlers of all instances of an
+     * intercepted bean.
+     *
+     * @param method
+     * @return the shared invoker for the given method
+     */
+    public static MethodInvoker forMethod(Method method) {
+        ConcurrentMap<Method, MethodInvoker> invokers = INVOKERS.get(method.getDeclaringClass());
+        MethodInvoker invoker = invokers.get(method);
+        if (invoker == null) {
+            invoker = of(method);
+            MethodInvoker old = invokers.putIfAbsent(method, invoker);
+            if (old != null) {
+                invoker = old;
+            }
+        }
+        return invoker;
+    }
+
+    /**
+     * Makes the method accessible and creates the handle. This is only supposed to be called when an interception chain is built.
+     *
+     * @param method
+     * @return a new invoker for the given method
+     */
+    public static MethodInvoker of(Method method) {
+        SecurityActions.ensureAccessible(method);
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new WeldException(e);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return new MethodInvoker(method, handle.asSpreader(Object[].class, method.getParameterCount()).asType(GENERIC_TYPE));
+    }
+
+    private final Method method;
+
+    private final MethodHandle handle;
+
+    private final Class<?> declaringClass;
+
+    private final boolean isStatic;
+
+    private final Class<?>[] parameterTypes;
+
+    private MethodInvoker(Method method, MethodHandle handle) {
+        this.method = method;
+        this.handle = handle;
+        this.declaringClass = method.getDeclaringClass();
+        this.isStatic = Modifier.isStatic(method.getModifiers());
+        this.parameterTypes = method.getParameterTypes();
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Invokes the method. Any exception thrown by the method is wrapped in {@link InvocationTargetException} so that this method is a drop-in replacement for
+     * {@link Method#invoke(Object, Object...)}.
+     *
+     * @param instance
+     * @param parameters
+     * @return the return value, boxed if primitive, or {@code null} for void methods
+     * @throws IllegalArgumentException if the instance or the parameters do not match the method
+     * @throws InvocationTargetException
+     */
+    public Object invoke(Object instance, Object[] parameters) throws InvocationTargetException {
+        checkArguments(instance, parameters);
+        try {
+            return handle.invokeExact(instance, parameters);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Invokes the method. Any exception thrown by the method is propagated as is.
+     *
+     * @param instance
+     * @param parameters
+     * @return the return value, boxed if primitive, or {@code null} for void methods
+     * @throws IllegalArgumentException if the instance or the parameters do not match the method
+     * @throws Throwable
+     */
+    public Object invokeAndUnwrap(Object instance, Object[] parameters) throws Throwable {
+        checkArguments(instance, parameters);
+        return handle.invokeExact(instance, parameters);
+    }
+
+    /**
+     * Performs the checks {@link Method#invoke(Object, Object...)} performs, so that the {@link ClassCastException} or {@link NullPointerException} the adapted
+     * handle would throw is not mistaken for an exception thrown by the method.
+     */
+    private void checkArguments(Object instance, Object[] parameters) {
+        if (!isStatic && !declaringClass.isInstance(instance)) {
+            throw new IllegalArgumentException("Object " + instance + " is not an instance of " + declaringClass.getName() + " declaring " + method);
+        }
+        int length = (parameters == null) ? 0 : parameters.length;
+        if (length != parameterTypes.length) {
+            throw new IllegalArgumentException("Wrong number of arguments for " + method + ", expected " + parameterTypes.length + " but got " + length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isAssignable(parameterTypes[i], parameters[i])) {
+                throw new IllegalArgumentException("Argument " + i + " of " + method + " is not assignable to " + parameterTypes[i].getName() + ": "
+                        + parameters[i]);
+            }
+        }
+    }
+
+    private static boolean isAssignable(Class<?> type, Object value) {
+        if (!type.isPrimitive()) {
+            return value == null || type.isInstance(value);
+        }
+        if (value == null) {
+            return false;
+        }
+        // unboxing followed by a widening primitive conversion, as allowed by reflection
+        Class<?> valueType = value.getClass();
+        if (type == boolean.class) {
+            return valueType == Boolean.class;
+        }
+        if (type == char.class) {
+            return valueType == Character.class;
+        }
+        if (valueType == Character.class && type == short.class) {
+            return false;
+        }
+        int valueRank = wideningRank(valueType);
+        return valueRank != -1 && valueRank <= wideningRank(type);
+    }
+
+    private static int wideningRank(Class<?> type) {
+        if (type == Byte.class || type == byte.class) {
+            return 0;
+        } else if (type == Short.class || type == short.class || type == Character.class || type == char.class) {
+            return 1;
+        } else if (type == Integer.class || type == int.class) {
+            return 2;
+        } else if (type == Long.class || type == long.class) {
+            return 3;
+        } else if (type == Float.class || type == float.class) {
+            return 4;
+        } else if (type == Double.class || type == double.class) {
+            return 5;
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodInvoker [method=" + method + ']';
+    }
+}
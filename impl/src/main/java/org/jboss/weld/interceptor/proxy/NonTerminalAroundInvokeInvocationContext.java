@@ -42,17 +42,17 @@ class NonTerminalAroundInvokeInvocationContext extends AroundInvokeInvocationCon
     private final int position;
     private final List<InterceptorMethodInvocation> chain;
 
-    public NonTerminalAroundInvokeInvocationContext(Object target, Method method, Method proceed, Object[] parameters, Set<Annotation> interceptorBindings,
+    public NonTerminalAroundInvokeInvocationContext(Object target, Method method, MethodInvoker proceed, Object[] parameters, Set<Annotation> interceptorBindings,
             List<InterceptorMethodInvocation> chain, CombinedInterceptorAndDecoratorStackMethodHandler currentHandler) {
         this(target, method, proceed, parameters, newContextData(interceptorBindings), interceptorBindings, 0, chain, currentHandler);
     }
 
     public NonTerminalAroundInvokeInvocationContext(NonTerminalAroundInvokeInvocationContext ctx) {
-        this(ctx.getTarget(), ctx.getMethod(), ctx.getProceed(), ctx.getParameters(), ctx.contextData, ctx.getInterceptorBindings(), ctx.position + 1,
+        this(ctx.getTarget(), ctx.getMethod(), ctx.proceedInvoker, ctx.getParameters(), ctx.contextData, ctx.getInterceptorBindings(), ctx.position + 1,
                 ctx.chain, ctx.currentHandler);
     }
 
-    private NonTerminalAroundInvokeInvocationContext(Object target, Method method, Method proceed, Object[] parameters, Map<String, Object> contextData,
+    private NonTerminalAroundInvokeInvocationContext(Object target, Method method, MethodInvoker proceed, Object[] parameters, Map<String, Object> contextData,
             Set<Annotation> interceptorBindings, int position, List<InterceptorMethodInvocation> chain,
             CombinedInterceptorAndDecoratorStackMethodHandler currentHandler) {
         super(target, method, proceed, parameters, contextData, interceptorBindings, currentHandler);
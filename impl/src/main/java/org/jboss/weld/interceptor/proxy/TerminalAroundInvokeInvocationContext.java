@@ -37,18 +37,18 @@ import org.jboss.weld.bean.proxy.CombinedInterceptorAndDecoratorStackMethodHandl
  */
 class TerminalAroundInvokeInvocationContext extends AroundInvokeInvocationContext {
 
-    public TerminalAroundInvokeInvocationContext(Object target, Method method, Method proceed, Object[] parameters, Map<String, Object> contextData,
+    public TerminalAroundInvokeInvocationContext(Object target, Method method, MethodInvoker proceed, Object[] parameters, Map<String, Object> contextData,
             Set<Annotation> interceptorBindings, CombinedInterceptorAndDecoratorStackMethodHandler currentHandler) {
         super(target, method, proceed, parameters, (contextData == null) ? null : new HashMap<String, Object>(contextData), interceptorBindings, currentHandler);
     }
 
     public TerminalAroundInvokeInvocationContext(NonTerminalAroundInvokeInvocationContext ctx) {
-        super(ctx.getTarget(), ctx.getMethod(), ctx.getProceed(), ctx.getParameters(), ctx.contextData, ctx.getInterceptorBindings(), ctx.currentHandler);
+        super(ctx.getTarget(), ctx.getMethod(), ctx.proceedInvoker, ctx.getParameters(), ctx.contextData, ctx.getInterceptorBindings(), ctx.currentHandler);
     }
 
     @Override
     public Object proceedInternal() throws Exception {
-        return getProceed().invoke(getTarget(), getParameters());
+        return proceedInvoker.invoke(getTarget(), getParameters());
     }
 
     @Override
@@ -21,10 +21,14 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.jboss.weld.interceptor.proxy.InterceptorInvocation;
+import org.jboss.weld.interceptor.proxy.MethodInvoker;
 import org.jboss.weld.interceptor.spi.metadata.InterceptorMetadata;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
+import org.jboss.weld.util.collections.ImmutableList;
 
 
 /**
@@ -35,8 +39,12 @@ public abstract class AbstractInterceptorMetadata implements InterceptorMetadata
 
     protected final Map<InterceptionType, List<Method>> interceptorMethodMap;
 
+    // invokers are created lazily and shared by all interceptor instances
+    private final ConcurrentMap<InterceptionType, List<MethodInvoker>> interceptorMethodInvokers;
+
     public AbstractInterceptorMetadata(Map<InterceptionType, List<Method>> interceptorMethodMap) {
         this.interceptorMethodMap = interceptorMethodMap;
+        this.interceptorMethodInvokers = new ConcurrentHashMap<InterceptionType, List<MethodInvoker>>();
     }
 
     public List<Method> getInterceptorMethods(InterceptionType interceptionType) {
@@ -48,6 +56,11 @@ public abstract class AbstractInterceptorMetadata implements InterceptorMetadata
         }
     }
 
+    protected List<MethodInvoker> getInterceptorMethodInvokers(InterceptionType interceptionType) {
+        return interceptorMethodInvokers.computeIfAbsent(interceptionType,
+                (type) -> getInterceptorMethods(type).stream().map(MethodInvoker::of).collect(ImmutableList.collector()));
+    }
+
     @Override
     public boolean isEligible(InterceptionType interceptionType) {
         if (this.interceptorMethodMap == null) {
@@ -60,7 +73,7 @@ public abstract class AbstractInterceptorMetadata implements InterceptorMetadata
 
     @Override
     public InterceptorInvocation getInterceptorInvocation(Object interceptorInstance, InterceptionType interceptionType) {
-        return new SimpleInterceptorInvocation(interceptorInstance, interceptionType, getInterceptorMethods(interceptionType), isTargetClassInterceptor());
+        return new SimpleInterceptorInvocation(interceptorInstance, interceptionType, getInterceptorMethodInvokers(interceptionType), isTargetClassInterceptor());
     }
 
     protected abstract boolean isTargetClassInterceptor();
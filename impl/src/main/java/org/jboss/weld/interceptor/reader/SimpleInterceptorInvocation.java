@@ -17,14 +17,15 @@
 
 package org.jboss.weld.interceptor.reader;
 
-import java.lang.reflect.Method;
 import java.util.List;
 
 import javax.interceptor.InvocationContext;
 
 import org.jboss.weld.interceptor.proxy.InterceptorInvocation;
 import org.jboss.weld.interceptor.proxy.InterceptorMethodInvocation;
+import org.jboss.weld.interceptor.proxy.MethodInvoker;
 import org.jboss.weld.interceptor.spi.model.InterceptionType;
+import org.jboss.weld.util.collections.Arrays2;
 import org.jboss.weld.util.collections.ImmutableList;
 
 /**
@@ -37,7 +38,7 @@ class SimpleInterceptorInvocation implements InterceptorInvocation {
     private final boolean targetClass;
     private final InterceptionType interceptionType;
 
-    public SimpleInterceptorInvocation(Object instance, InterceptionType interceptionType, List<Method> interceptorMethods, boolean targetClass) {
+    public SimpleInterceptorInvocation(Object instance, InterceptionType interceptionType, List<MethodInvoker> interceptorMethods, boolean targetClass) {
         this.instance = instance;
         this.interceptionType = interceptionType;
         this.targetClass = targetClass;
@@ -47,7 +48,7 @@ class SimpleInterceptorInvocation implements InterceptorInvocation {
             interceptorMethodInvocations = ImmutableList.<InterceptorMethodInvocation> of(new SimpleMethodInvocation(interceptorMethods.get(0)));
         } else {
             ImmutableList.Builder<InterceptorMethodInvocation> builder = ImmutableList.builder();
-            for (Method method : interceptorMethods) {
+            for (MethodInvoker method : interceptorMethods) {
                 builder.add(new SimpleMethodInvocation(method));
             }
             interceptorMethodInvocations = builder.build();
@@ -61,19 +62,19 @@ class SimpleInterceptorInvocation implements InterceptorInvocation {
 
     class SimpleMethodInvocation implements InterceptorMethodInvocation {
 
-        private final Method method;
+        private final MethodInvoker method;
 
-        SimpleMethodInvocation(Method method) {
+        SimpleMethodInvocation(MethodInvoker method) {
             this.method = method;
         }
 
         @Override
         public Object invoke(InvocationContext invocationContext) throws Exception {
             if (invocationContext != null) {
-                return method.invoke(instance, invocationContext);
+                return method.invoke(instance, new Object[] { invocationContext });
             }
             else {
-                return method.invoke(instance);
+                return method.invoke(instance, Arrays2.EMPTY_ARRAY);
             }
         }
 
@@ -84,7 +85,7 @@ class SimpleInterceptorInvocation implements InterceptorInvocation {
 
         @Override
         public String toString() {
-            return "SimpleMethodInvocation [method=" + method + ']';
+            return "SimpleMethodInvocation [method=" + method.getMethod() + ']';
         }
     }
 }
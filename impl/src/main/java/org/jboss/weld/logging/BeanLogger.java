@@ -496,4 +496,8 @@ public interface BeanLogger extends WeldLogger {
     @Message(id = 1563, value = "A producer field type may not be a type variable or an array type whose component type is a type variable: \n  {0}\n\tat {1}\n  StackTrace:", format = Format.MESSAGE_FORMAT)
     DefinitionException producerFieldTypeInvalidTypeVariable(Object param1, String stackElement);
 
-}
\ No newline at end of file
+    @LogMessage(level = Level.WARN)
+    @Message(id = 1564, value = "The proxy class {0} loaded by {1} was generated for a different version of the proxied type and is ignored, generating {2} instead", format = Format.MESSAGE_FORMAT)
+    void outdatedProxyClass(Object param1, Object param2, Object param3);
+
+}
@@ -202,4 +202,24 @@ public interface BootstrapLogger extends WeldLogger {
     @LogMessage(level = Level.WARN)
     @Message(id = 147, value = "Decorator {0} declares inappropriate constructor therefore will not available as a managed bean!", format = Format.MESSAGE_FORMAT)
     void decoratorWithNonCdiConstructor(String clazzName);
-}
\ No newline at end of file
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 148, value = "Using a new thread for each task, virtual threads used: {0}", format = Format.MESSAGE_FORMAT)
+    void threadPerTaskExecutorInUse(boolean virtualThreads);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 149, value = "Bootstrap profile of {0}:\n{1}", format = Format.MESSAGE_FORMAT)
+    void bootstrapProfile(String contextId, String report);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 150, value = "Unable to write the bootstrap profiling report to {0}", format = Format.MESSAGE_FORMAT)
+    void unableToWriteBootstrapProfile(Object path, @Cause Throwable cause);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 151, value = "Resolver caches pre-warmed - {0} entries resolved in {1} ms", format = Format.MESSAGE_FORMAT)
+    void resolverCachesWarmedUp(Object count, Object time);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 152, value = "Unable to access the resolver cache warm-up file {0}", format = Format.MESSAGE_FORMAT)
+    void unableToAccessResolverCacheWarmupFile(Object path, @Cause Throwable cause);
+}
@@ -85,4 +85,8 @@ public interface EventLogger extends WeldLogger {
     @Message(id = 414, value = "Observer method for container lifecycle events cannot be asynchronous. {0}\n\tat {1}\n  StackTrace:", format = Format.MESSAGE_FORMAT)
     DefinitionException asyncContainerLifecycleEventObserver(ObserverMethod<?> observer, Object stackElement);
 
+    @LogMessage(level = Level.WARN)
+    @Message(id = 415, value = "No ExecutorServices available, AFTER_SUCCESS transactional observer notifications are processed synchronously", format = Format.MESSAGE_FORMAT)
+    void asyncAfterSuccessNotAvailable();
+
 }
@@ -264,4 +264,12 @@ public interface ValidatorLogger extends WeldLogger {
     @Message(id = 1479, value = "Decorator {0} is enabled for the application and for the bean archive {1}. It will only be invoked in the @Priority part of the chain.", format = Format.MESSAGE_FORMAT)
     void decoratorEnabledForApplicationAndBeanArchive(Object decorator, Object beanArchive);
 
+    @LogMessage(level = Level.INFO)
+    @Message(id = 1480, value = "Deferred validation finished - {0} beans validated in {1} ms, no problems found", format = Format.MESSAGE_FORMAT)
+    void deferredValidationFinished(Object beans, Object time);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 1481, value = "Deferred validation finished - {0} beans validated in {1} ms, {2} problem(s) found:{3}", format = Format.MESSAGE_FORMAT)
+    void deferredValidationProblemsFound(Object beans, Object time, Object count, Object summary);
+
 }
\ No newline at end of file
@@ -99,6 +99,7 @@ import org.jboss.weld.bootstrap.events.ContainerLifecycleEvents;
 import org.jboss.weld.bootstrap.spi.CDI11Deployment;
 import org.jboss.weld.config.ConfigurationKey;
 import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.context.ActiveContextIndex;
 import org.jboss.weld.context.CreationalContextImpl;
 import org.jboss.weld.context.PassivatingContextWrapper;
 import org.jboss.weld.context.WeldCreationalContext;
@@ -193,6 +194,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     // Contexts are shared across the application
     private final transient Map<Class<? extends Annotation>, List<Context>> contexts;
+    private final transient ActiveContextIndex activeContexts;
 
     // Client proxies can be used application wide
     private final transient ClientProxyProvider clientProxyProvider;
@@ -308,6 +310,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
                 new ConcurrentHashMap<EjbDescriptor<?>, SessionBean<?>>(),
                 new ClientProxyProvider(contextId),
                 contexts,
+                new ActiveContextIndex(),
                 ModuleEnablement.EMPTY_ENABLEMENT,
                 id,
                 new AtomicInteger(),
@@ -327,6 +330,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
                 rootManager.getEnterpriseBeans(),
                 rootManager.getClientProxyProvider(),
                 rootManager.getContexts(),
+                rootManager.activeContexts,
                 ModuleEnablement.EMPTY_ENABLEMENT,
                 id,
                 new AtomicInteger(),
@@ -345,6 +349,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
             Map<EjbDescriptor<?>, SessionBean<?>> enterpriseBeans,
             ClientProxyProvider clientProxyProvider,
             Map<Class<? extends Annotation>, List<Context>> contexts,
+            ActiveContextIndex activeContexts,
             ModuleEnablement enabled,
             String id,
             AtomicInteger childIds,
@@ -358,6 +363,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.enterpriseBeans = enterpriseBeans;
         this.clientProxyProvider = clientProxyProvider;
         this.contexts = contexts;
+        this.activeContexts = activeContexts;
         this.observers = observers;
         this.enabled = enabled;
         this.namespaces = namespaces;
@@ -379,10 +385,11 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.nameBasedResolver = new NameBasedResolver(this, createDynamicAccessibleIterable(beanTransform));
         this.weldELResolver = services.getOptional(ExpressionLanguageSupport.class).map(el -> el.createElResolver(this)).orElse(null);
 
+        GlobalObserverNotifierService globalObserverNotifierService = services.get(GlobalObserverNotifierService.class);
         TypeSafeObserverResolver accessibleObserverResolver = new TypeSafeObserverResolver(getServices().get(MetaAnnotationStore.class),
-                createDynamicAccessibleIterable(BeanManagerImpl::getObservers), getServices().get(WeldConfiguration.class));
+                createDynamicAccessibleIterable(BeanManagerImpl::getObservers), getServices().get(WeldConfiguration.class),
+                globalObserverNotifierService::getObserverModificationCount);
         this.accessibleLenientObserverNotifier = getServices().get(ObserverNotifierFactory.class).create(contextId, accessibleObserverResolver, getServices(), false);
-        GlobalObserverNotifierService globalObserverNotifierService = services.get(GlobalObserverNotifierService.class);
         this.globalLenientObserverNotifier = globalObserverNotifierService.getGlobalLenientObserverNotifier();
         this.globalStrictObserverNotifier = globalObserverNotifierService.getGlobalStrictObserverNotifier();
         globalObserverNotifierService.registerBeanManager(this);
@@ -466,7 +473,10 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     public void addDecorator(Decorator<?> bean) {
         decorators.add(bean);
         getServices().get(ContextualStore.class).putIfAbsent(bean);
-        decoratorResolver.clear();
+        // The decorator resolver of every bean manager sees all the decorators of the deployment
+        for (BeanManagerImpl manager : managers) {
+            manager.decoratorResolver.clear();
+        }
     }
 
     @Override
@@ -482,7 +492,10 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     public void addInterceptor(Interceptor<?> bean) {
         interceptors.add(bean);
         getServices().get(ContextualStore.class).putIfAbsent(bean);
-        interceptorResolver.clear();
+        // The interceptor resolver of every bean manager sees all the interceptors of the deployment
+        for (BeanManagerImpl manager : managers) {
+            manager.interceptorResolver.clear();
+        }
     }
 
     /**
@@ -586,6 +599,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
 
     public void addContext(Context context) {
         Class<? extends Annotation> scope = context.getScope();
+        final Context unwrapped = context;
         if (isPassivatingScope(scope)) {
             context = PassivatingContextWrapper.wrap(context, services.get(ContextualStore.class));
         }
@@ -595,6 +609,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
             contexts.put(scope, contextList);
         }
         contextList.add(context);
+        activeContexts.addContext(context, unwrapped);
     }
 
     /**
@@ -605,6 +620,8 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     public void addObserver(ObserverMethod<?> observer) {
         //checkEventType(observer.getObservedType());
         observers.add(observer);
+        // The resolved observers are only updated by flushCaches() but the observer method indexes are rebuilt
+        getServices().get(GlobalObserverNotifierService.class).observersModified();
     }
 
     /**
@@ -657,21 +674,19 @@ public class BeanManagerImpl implements WeldManager, Serializable {
     }
 
     private Context internalGetContext(Class<? extends Annotation> scopeType) {
-        Context activeContext = null;
-        final List<Context> ctx = contexts.get(scopeType);
-        if (ctx == null) {
-            return null;
-        }
-        for (Context context : ctx) {
-            if (context.isActive()) {
-                if (activeContext == null) {
-                    activeContext = context;
-                } else {
-                    throw BeanManagerLogger.LOG.duplicateActiveContexts(scopeType.getName());
-                }
-            }
-        }
-        return activeContext;
+        return activeContexts.getActiveContext(scopeType);
+    }
+
+    /**
+     * Returns the contexts registered for the given scope. The returned list reflects the contexts registered later unless there was no context registered
+     * for the scope at the time of the invocation.
+     *
+     * @param scopeType The scope to match
+     * @return an unmodifiable view of the contexts registered for the given scope
+     */
+    public List<Context> getRegisteredContexts(Class<? extends Annotation> scopeType) {
+        List<Context> contextList = contexts.get(scopeType);
+        return contextList == null ? Collections.<Context> emptyList() : Collections.unmodifiableList(contextList);
     }
 
     public Object getReference(Bean<?> bean, Type requestedType, CreationalContext<?> creationalContext, boolean noProxy) {
@@ -1181,6 +1196,7 @@ public class BeanManagerImpl implements WeldManager, Serializable {
         this.enabledBeans.clear();
         this.clientProxyProvider.clear();
         this.contexts.clear();
+        this.activeContexts.cleanup();
         this.decoratorResolver.clear();
         this.decorators.clear();
         this.enterpriseBeans.clear();
@@ -91,6 +91,21 @@ public class QualifierInstance {
         }
     }
 
+    /**
+     * @param annotationClass the qualifier type, all its members (if any) must be {@link javax.enterprise.util.Nonbinding}
+     * @return a qualifier instance for the given qualifier type
+     * @see #hasBindingMembers()
+     */
+    public static QualifierInstance of(Class<? extends Annotation> annotationClass) {
+        if (Any.class == annotationClass) {
+            return ANY;
+        } else if (Default.class == annotationClass) {
+            return DEFAULT;
+        } else {
+            return new QualifierInstance(annotationClass);
+        }
+    }
+
     private QualifierInstance(final Class<? extends Annotation> annotationClass) {
         this(annotationClass, Collections.<String, Object>emptyMap());
     }
@@ -156,6 +171,13 @@ public class QualifierInstance {
         return annotationClass;
     }
 
+    /**
+     * @return <code>true</code> if the values of binding members are part of this qualifier instance, <code>false</code> otherwise
+     */
+    public boolean hasBindingMembers() {
+        return !values.isEmpty();
+    }
+
     @Override
     public int hashCode() {
         return hashCode;
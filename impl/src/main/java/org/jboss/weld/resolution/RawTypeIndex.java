@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resolution;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jboss.weld.util.Types;
+import org.jboss.weld.util.reflection.Reflections;
+
+/**
+ * Maps the boxed raw type of a type declared by each element (e.g. the observed type of an observer method or the delegate type of a decorator)
+ * to the elements. Both the observer and the delegate injection point assignability rules only match a class or parameterized type with the same
+ * raw type so a lookup only needs to consider the elements indexed under the raw types of the resolvable's type closure. Elements declaring any
+ * other type (type variables, arrays) are not indexed and are returned by every lookup.
+ *
+ * @param <T> the element type
+ */
+class RawTypeIndex<T> {
+
+    private final Map<Class<?>, List<T>> elementsByRawType;
+    private final List<T> unindexedElements;
+
+    RawTypeIndex(Iterable<? extends T> elements, Function<T, Type> typeFunction) {
+        Map<Class<?>, List<T>> elementsByRawType = new HashMap<Class<?>, List<T>>();
+        List<T> unindexedElements = new ArrayList<T>();
+        for (T element : elements) {
+            Class<?> key = getIndexKey(typeFunction.apply(element));
+            if (key == null) {
+                unindexedElements.add(element);
+            } else {
+                elementsByRawType.computeIfAbsent(key, (k) -> new ArrayList<T>()).add(element);
+            }
+        }
+        this.elementsByRawType = elementsByRawType;
+        this.unindexedElements = unindexedElements;
+    }
+
+    private static Class<?> getIndexKey(Type type) {
+        if ((type instanceof Class<?> && !((Class<?>) type).isArray()) || type instanceof ParameterizedType) {
+            return Types.boxedClass(Reflections.getRawType(type));
+        }
+        return null;
+    }
+
+    /**
+     *
+     * @param types the type closure of the resolvable
+     * @return the elements which may possibly match the given types
+     */
+    List<T> getCandidates(Set<Type> types) {
+        List<T> candidates = new ArrayList<T>(unindexedElements);
+        Set<Class<?>> rawTypes = new HashSet<Class<?>>();
+        for (Type type : types) {
+            Class<?> rawType = Reflections.getRawType(type);
+            if (rawType == null) {
+                continue;
+            }
+            rawType = Types.boxedClass(rawType);
+            if (rawTypes.add(rawType)) {
+                List<T> elements = elementsByRawType.get(rawType);
+                if (elements != null) {
+                    candidates.addAll(elements);
+                }
+            }
+        }
+        return candidates;
+    }
+}
@@ -25,6 +25,7 @@ import javax.enterprise.inject.spi.Decorator;
 
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.Beans;
+import org.jboss.weld.util.LazyValueHolder;
 
 /**
  * @author Pete Muir
@@ -32,10 +33,13 @@ import org.jboss.weld.util.Beans;
 public class TypeSafeDecoratorResolver extends AbstractTypeSafeBeanResolver<Decorator<?>, List<Decorator<?>>> {
 
     private final AssignabilityRules rules;
+    // decorators indexed by the raw delegate type, built lazily and cleared together with the resolution cache
+    private final LazyValueHolder<RawTypeIndex<Decorator<?>>> decoratorsByDelegateType;
 
     public TypeSafeDecoratorResolver(BeanManagerImpl manager, Iterable<Decorator<?>> decorators) {
         super(manager, decorators);
         this.rules = DelegateInjectionPointAssignabilityRules.instance();
+        this.decoratorsByDelegateType = LazyValueHolder.forSupplier(() -> new RawTypeIndex<Decorator<?>>(getAllBeans(), Decorator::getDelegateType));
     }
 
     @Override
@@ -47,7 +51,13 @@ public class TypeSafeDecoratorResolver extends AbstractTypeSafeBeanResolver<Deco
 
     @Override
     protected Iterable<? extends Decorator<?>> getAllBeans(Resolvable resolvable) {
-        return getAllBeans();
+        return decoratorsByDelegateType.get().getCandidates(resolvable.getTypes());
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        decoratorsByDelegateType.clear();
     }
 
     @Override
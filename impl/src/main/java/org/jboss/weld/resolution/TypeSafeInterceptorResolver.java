@@ -17,36 +17,117 @@
 
 package org.jboss.weld.resolution;
 
+import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.enterprise.inject.spi.InterceptionType;
 import javax.enterprise.inject.spi.Interceptor;
 
 import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.manager.BeanManagerImpl;
-import org.jboss.weld.util.Beans;
+import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.util.LazyValueHolder;
 
 /**
  * @author <a href="mailto:mariusb@redhat.com">Marius Bogoevici</a>
  */
 public class TypeSafeInterceptorResolver extends TypeSafeResolver<InterceptorResolvable, Interceptor<?>, List<Interceptor<?>>, List<Interceptor<?>>> {
 
+    /**
+     * Interceptors indexed by the interception type and the annotation type of one of their interceptor bindings. An interceptor only matches if
+     * the resolvable contains all its bindings so it is enough to look at the entries for the bindings of the resolvable. The interceptor bindings of
+     * each interceptor are precomputed as well.
+     */
+    private static class InterceptorIndex {
+
+        private final Map<InterceptionType, Map<Class<? extends Annotation>, List<Interceptor<?>>>> interceptorsByBinding;
+        private final Map<InterceptionType, List<Interceptor<?>>> interceptorsWithoutBindings;
+        private final Map<Interceptor<?>, Set<QualifierInstance>> bindings;
+
+        private InterceptorIndex(Iterable<? extends Interceptor<?>> interceptors, BeanManagerImpl manager) {
+            this.interceptorsByBinding = new EnumMap<>(InterceptionType.class);
+            this.interceptorsWithoutBindings = new EnumMap<>(InterceptionType.class);
+            this.bindings = new IdentityHashMap<>();
+            MetaAnnotationStore store = manager.getServices().get(MetaAnnotationStore.class);
+            for (Interceptor<?> interceptor : interceptors) {
+                Set<QualifierInstance> interceptorBindings = manager
+                        .extractInterceptorBindingsForQualifierInstance(QualifierInstance.of(interceptor.getInterceptorBindings(), store));
+                bindings.put(interceptor, interceptorBindings);
+                for (InterceptionType type : InterceptionType.values()) {
+                    if (!interceptor.intercepts(type)) {
+                        continue;
+                    }
+                    if (interceptorBindings.isEmpty()) {
+                        interceptorsWithoutBindings.computeIfAbsent(type, (t) -> new ArrayList<>()).add(interceptor);
+                    } else {
+                        interceptorsByBinding.computeIfAbsent(type, (t) -> new HashMap<>())
+                                .computeIfAbsent(interceptorBindings.iterator().next().getAnnotationClass(), (c) -> new ArrayList<>()).add(interceptor);
+                    }
+                }
+            }
+        }
+
+        private List<Interceptor<?>> getCandidates(InterceptionType type, Set<QualifierInstance> resolvableBindings) {
+            List<Interceptor<?>> candidates = new ArrayList<>();
+            List<Interceptor<?>> withoutBindings = interceptorsWithoutBindings.get(type);
+            if (withoutBindings != null) {
+                candidates.addAll(withoutBindings);
+            }
+            Map<Class<? extends Annotation>, List<Interceptor<?>>> byBinding = interceptorsByBinding.get(type);
+            if (byBinding != null) {
+                Set<Class<? extends Annotation>> bindingTypes = new HashSet<>();
+                for (QualifierInstance binding : resolvableBindings) {
+                    if (bindingTypes.add(binding.getAnnotationClass())) {
+                        List<Interceptor<?>> interceptors = byBinding.get(binding.getAnnotationClass());
+                        if (interceptors != null) {
+                            candidates.addAll(interceptors);
+                        }
+                    }
+                }
+            }
+            return candidates;
+        }
+    }
+
     private final BeanManagerImpl manager;
+    // built lazily as the interceptors are not known when the resolver is created, calling clear() also clears the index
+    private final LazyValueHolder<InterceptorIndex> index;
 
     public TypeSafeInterceptorResolver(BeanManagerImpl manager, Iterable<Interceptor<?>> interceptors) {
         super(interceptors, manager.getServices().get(WeldConfiguration.class));
         this.manager = manager;
+        this.index = LazyValueHolder.forSupplier(() -> new InterceptorIndex(getAllBeans(), manager));
+    }
+
+    @Override
+    protected Iterable<? extends Interceptor<?>> getAllBeans(InterceptorResolvable resolvable) {
+        return index.get().getCandidates(resolvable.getInterceptionType(), resolvable.getQualifiers());
     }
 
     @Override
     protected boolean matches(InterceptorResolvable resolvable, Interceptor<?> bean) {
         return bean.intercepts(resolvable.getInterceptionType())
-                && Beans.containsAllInterceptionBindings(bean.getInterceptorBindings(), resolvable.getQualifiers(), getManager())
+                && containsAllInterceptionBindings(bean, resolvable.getQualifiers())
                 && manager.getEnabled().isInterceptorEnabled(bean.getBeanClass());
     }
 
+    private boolean containsAllInterceptionBindings(Interceptor<?> interceptor, Set<QualifierInstance> resolvableBindings) {
+        Set<QualifierInstance> expected = index.get().bindings.get(interceptor);
+        if (expected == null) {
+            expected = manager.extractInterceptorBindingsForQualifierInstance(
+                    QualifierInstance.of(interceptor.getInterceptorBindings(), manager.getServices().get(MetaAnnotationStore.class)));
+        }
+        return manager.extractInterceptorBindingsForQualifierInstance(resolvableBindings).containsAll(expected);
+    }
+
     @Override
     protected List<Interceptor<?>> sortResult(Set<Interceptor<?>> matchedInterceptors) {
         List<Interceptor<?>> sortedInterceptors = new ArrayList<Interceptor<?>>(matchedInterceptors);
@@ -59,6 +140,12 @@ public class TypeSafeInterceptorResolver extends TypeSafeResolver<InterceptorRes
         return matched;
     }
 
+    @Override
+    public void clear() {
+        super.clear();
+        index.clear();
+    }
+
     public BeanManagerImpl getManager() {
         return manager;
     }
@@ -23,8 +23,11 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.LongSupplier;
 
 import javax.enterprise.inject.spi.ObserverMethod;
 
@@ -56,13 +59,92 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
         }
     }
 
+    /**
+     * Observer methods indexed by the raw observed type together with their precomputed qualifier instances.
+     */
+    private static class ObserverMethodIndex {
+
+        private final long modificationCount;
+        private final RawTypeIndex<ObserverMethod<?>> observersByRawType;
+        private final Map<ObserverMethod<?>, Set<QualifierInstance>> qualifiers;
+
+        /**
+         *
+         * @param observers
+         * @param modificationCount
+         * @param previous the previous index whose qualifier instances are reused, may be null
+         * @param metaAnnotationStore
+         */
+        private ObserverMethodIndex(Iterable<? extends ObserverMethod<?>> observers, long modificationCount, ObserverMethodIndex previous,
+                MetaAnnotationStore metaAnnotationStore) {
+            this.modificationCount = modificationCount;
+            this.observersByRawType = new RawTypeIndex<ObserverMethod<?>>(observers, ObserverMethod::getObservedType);
+            this.qualifiers = new IdentityHashMap<ObserverMethod<?>, Set<QualifierInstance>>();
+            for (ObserverMethod<?> observer : observers) {
+                Set<QualifierInstance> observedQualifiers = previous != null ? previous.qualifiers.get(observer) : null;
+                if (observedQualifiers == null) {
+                    observedQualifiers = QualifierInstance.of(observer.getObservedQualifiers(), metaAnnotationStore);
+                }
+                qualifiers.put(observer, observedQualifiers);
+            }
+        }
+    }
+
     private final MetaAnnotationStore metaAnnotationStore;
     private final AssignabilityRules rules;
-
+    // null if the observer methods are not indexed
+    private final LongSupplier modificationCount;
+    // built lazily as the observer methods are not known when the resolver is created, rebuilt if an observer method is added, calling clear() also
+    // clears the index
+    private volatile ObserverMethodIndex index;
+
+    /**
+     * The observer methods are not indexed as it is not possible to detect a modification.
+     *
+     * @param metaAnnotationStore
+     * @param observers
+     * @param configuration
+     */
     public TypeSafeObserverResolver(MetaAnnotationStore metaAnnotationStore, Iterable<ObserverMethod<?>> observers, WeldConfiguration configuration) {
+        this(metaAnnotationStore, observers, configuration, null);
+    }
+
+    /**
+     * Note that the resolved observer methods are not affected by a modification - they are only updated once the resolver is cleared. However, an
+     * observer method added before the resolution of an event type is always taken into account.
+     *
+     * @param metaAnnotationStore
+     * @param observers
+     * @param configuration
+     * @param modificationCount a value which changes whenever an observer method is added or removed, the observer method index is rebuilt then
+     * @see org.jboss.weld.event.GlobalObserverNotifierService#getObserverModificationCount()
+     */
+    public TypeSafeObserverResolver(MetaAnnotationStore metaAnnotationStore, Iterable<ObserverMethod<?>> observers, WeldConfiguration configuration,
+            LongSupplier modificationCount) {
         super(observers, configuration);
         this.metaAnnotationStore = metaAnnotationStore;
         this.rules = EventTypeAssignabilityRules.instance();
+        this.modificationCount = modificationCount;
+    }
+
+    @Override
+    protected Iterable<? extends ObserverMethod<?>> getAllBeans(Resolvable resolvable) {
+        ObserverMethodIndex index = getIndex();
+        return index != null ? index.observersByRawType.getCandidates(resolvable.getTypes()) : getAllBeans();
+    }
+
+    private ObserverMethodIndex getIndex() {
+        if (modificationCount == null) {
+            return null;
+        }
+        // Read the modification count first so that an observer method added while the index is being built results in another rebuild
+        long count = modificationCount.getAsLong();
+        ObserverMethodIndex index = this.index;
+        if (index == null || index.modificationCount != count) {
+            index = new ObserverMethodIndex(getAllBeans(), count, index, metaAnnotationStore);
+            this.index = index;
+        }
+        return index;
     }
 
     @Override
@@ -70,7 +152,12 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
         if (!rules.matches(observer.getObservedType(), resolvable.getTypes())) {
             return false;
         }
-        if (!Beans.containsAllQualifiers(QualifierInstance.of(observer.getObservedQualifiers(), metaAnnotationStore), resolvable.getQualifiers())) {
+        ObserverMethodIndex index = getIndex();
+        Set<QualifierInstance> observedQualifiers = index != null ? index.qualifiers.get(observer) : null;
+        if (observedQualifiers == null) {
+            observedQualifiers = QualifierInstance.of(observer.getObservedQualifiers(), metaAnnotationStore);
+        }
+        if (!Beans.containsAllQualifiers(observedQualifiers, resolvable.getQualifiers())) {
             return false;
         }
         if (observer instanceof ExtensionObserverMethodImpl<?, ?>) {
@@ -112,6 +199,12 @@ public class TypeSafeObserverResolver extends TypeSafeResolver<Resolvable, Obser
         return ResolvedObservers.of(cast(result));
     }
 
+    @Override
+    public void clear() {
+        super.clear();
+        index = null;
+    }
+
     public MetaAnnotationStore getMetaAnnotationStore() {
         return metaAnnotationStore;
     }
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.jboss.weld.config.ConfigurationKey;
@@ -65,7 +66,8 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
      */
     public TypeSafeResolver(Iterable<? extends T> allBeans, WeldConfiguration configuration) {
         this.resolverFunction = new ResolvableToBeanCollection<R, T, C, F>(this);
-        this.resolved = ComputingCacheBuilder.newBuilder().setMaxSize(configuration.getLongProperty(ConfigurationKey.RESOLUTION_CACHE_SIZE)).build(resolverFunction);
+        this.resolved = ComputingCacheBuilder.newBuilder().setMaxSize(configuration.getLongProperty(ConfigurationKey.RESOLUTION_CACHE_SIZE))
+                .setRecordStatistics().build(resolverFunction);
         this.allBeans = allBeans;
     }
 
@@ -138,10 +140,43 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
         return resolvable;
     }
 
+    /**
+     * Performs the given action for each resolvable whose resolution is cached.
+     *
+     * @param consumer the action
+     */
+    public void forEachCachedResolvable(Consumer<? super R> consumer) {
+        resolved.forEachKey(consumer);
+    }
+
     public boolean isCached(R resolvable) {
         return resolved.getValueIfPresent(wrap(resolvable)) != null;
     }
 
+    /**
+     *
+     * @return the number of resolutions served from the cache
+     */
+    public long getCacheHitCount() {
+        return resolved.getHitCount();
+    }
+
+    /**
+     *
+     * @return the number of resolutions which had to be computed
+     */
+    public long getCacheMissCount() {
+        return resolved.getMissCount();
+    }
+
+    /**
+     *
+     * @return the number of cached resolutions evicted because the cache exceeded {@link ConfigurationKey#RESOLUTION_CACHE_SIZE}
+     */
+    public long getCacheEvictionCount() {
+        return resolved.getEvictionCount();
+    }
+
     /**
      * Gets a string representation
      *
@@ -152,6 +187,8 @@ public abstract class TypeSafeResolver<R extends Resolvable, T, C extends Collec
         StringBuilder sb = new StringBuilder();
         sb.append("Resolver\n");
         sb.append("Resolved injection points: ").append(resolved.size()).append('\n');
+        sb.append("Cache hits: ").append(resolved.getHitCount()).append(", misses: ").append(resolved.getMissCount()).append(", evictions: ")
+                .append(resolved.getEvictionCount()).append('\n');
         return sb.toString();
     }
 }
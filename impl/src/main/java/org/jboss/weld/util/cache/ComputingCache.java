@@ -67,6 +67,27 @@ public interface ComputingCache<K, V> {
      */
     void invalidate(Object key);
 
+    /**
+     *
+     * @return the number of lookups which found a cached value, or zero if statistics are not recorded
+     * @see ComputingCacheBuilder#setRecordStatistics()
+     */
+    long getHitCount();
+
+    /**
+     *
+     * @return the number of lookups which required a computation, or zero if statistics are not recorded
+     * @see ComputingCacheBuilder#setRecordStatistics()
+     */
+    long getMissCount();
+
+    /**
+     *
+     * @return the number of entries removed because the cache exceeded its maximum size, or zero if statistics are not recorded
+     * @see ComputingCacheBuilder#setRecordStatistics()
+     */
+    long getEvictionCount();
+
     /**
      *
      * @return an immutable map of entries
@@ -79,4 +100,10 @@ public interface ComputingCache<K, V> {
      */
     void forEachValue(Consumer<? super V> consumer);
 
+    /**
+     * Performs the given action for each key of a cached value.
+     * @param consumer the given action
+     */
+    void forEachKey(Consumer<? super K> consumer);
+
 }
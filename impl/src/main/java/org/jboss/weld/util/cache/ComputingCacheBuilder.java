@@ -19,6 +19,7 @@ package org.jboss.weld.util.cache;
 import java.lang.ref.WeakReference;
 import java.util.function.Function;
 
+import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.WeakLazyValueHolder;
 
 /**
@@ -33,6 +34,8 @@ public final class ComputingCacheBuilder {
 
     private boolean weakValues;
 
+    private boolean recordStatistics;
+
     private ComputingCacheBuilder() {
     }
 
@@ -45,6 +48,7 @@ public final class ComputingCacheBuilder {
     }
 
     /**
+     * Once the cache size exceeds the given maximum, the least recently used entries are evicted (using an approximation of LRU).
      *
      * @param maxSize
      * @return self
@@ -64,6 +68,17 @@ public final class ComputingCacheBuilder {
         return this;
     }
 
+    /**
+     * The cache should record hit, miss and eviction counts.
+     *
+     * @return self
+     * @see ComputingCache#getHitCount()
+     */
+    public ComputingCacheBuilder setRecordStatistics() {
+        this.recordStatistics = true;
+        return this;
+    }
+
     /**
      *
      * @param computingFunction
@@ -71,8 +86,8 @@ public final class ComputingCacheBuilder {
      */
     public <K, V> ComputingCache<K, V> build(Function<K, V> computingFunction) {
         if (weakValues) {
-            return new ReentrantMapBackedComputingCache<>(computingFunction, WeakLazyValueHolder::forSupplier, maxSize);
+            return new ReentrantMapBackedComputingCache<>(computingFunction, WeakLazyValueHolder::forSupplier, maxSize, recordStatistics);
         }
-        return new ReentrantMapBackedComputingCache<>(computingFunction, maxSize);
+        return new ReentrantMapBackedComputingCache<>(computingFunction, LazyValueHolder::forSupplier, maxSize, recordStatistics);
     }
 }
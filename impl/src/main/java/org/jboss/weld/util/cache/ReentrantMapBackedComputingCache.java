@@ -21,11 +21,13 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import org.jboss.weld.util.LazyValueHolder;
 import org.jboss.weld.util.ValueHolder;
 
 /**
@@ -37,7 +39,7 @@ import org.jboss.weld.util.ValueHolder;
  * @param <K> the key type
  * @param <V> the value type
  * @see ValueHolder
- * @see LazyValueHolder
+ * @see org.jboss.weld.util.LazyValueHolder
  */
 class ReentrantMapBackedComputingCache<K, V> implements ComputingCache<K, V>, Iterable<V> {
 
@@ -45,20 +47,44 @@ class ReentrantMapBackedComputingCache<K, V> implements ComputingCache<K, V>, It
     private final Long maxSize;
     private final Function<K, ValueHolder<V>> function;
 
-    ReentrantMapBackedComputingCache(Function<K, V> computingFunction, Long maxSize) {
-        this(computingFunction, LazyValueHolder::forSupplier, maxSize);
-    }
+    // statistics, null if not recorded
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder evictionCount;
+
+    // eviction state, guarded by evictionLock
+    private final Lock evictionLock;
+    private Iterator<Map.Entry<K, ValueHolder<V>>> clockHand;
 
-    ReentrantMapBackedComputingCache(Function<K, V> computingFunction, Function<Supplier<V>, ValueHolder<V>> valueHolderFunction, Long maxSize) {
+    ReentrantMapBackedComputingCache(Function<K, V> computingFunction, Function<Supplier<V>, ValueHolder<V>> valueHolderFunction, Long maxSize,
+            boolean recordStatistics) {
         this.map = new ConcurrentHashMap<>();
         this.maxSize = maxSize;
-        this.function = (key) -> valueHolderFunction.apply(() -> computingFunction.apply(key));
+        if (maxSize != null) {
+            this.function = (key) -> new EvictableValueHolder<>(valueHolderFunction.apply(() -> computingFunction.apply(key)));
+            this.evictionLock = new ReentrantLock();
+        } else {
+            this.function = (key) -> valueHolderFunction.apply(() -> computingFunction.apply(key));
+            this.evictionLock = null;
+        }
+        if (recordStatistics) {
+            this.hitCount = new LongAdder();
+            this.missCount = new LongAdder();
+            this.evictionCount = new LongAdder();
+        } else {
+            this.hitCount = null;
+            this.missCount = null;
+            this.evictionCount = null;
+        }
     }
 
     @Override
     public V getValue(final K key) {
         ValueHolder<V> value = map.get(key);
         if (value == null) {
+            if (missCount != null) {
+                missCount.increment();
+            }
             value = function.apply(key);
             ValueHolder<V> previous = map.putIfAbsent(key, value);
             if (previous != null) {
@@ -66,12 +92,52 @@ class ReentrantMapBackedComputingCache<K, V> implements ComputingCache<K, V>, It
             }
             // finally, check that we are not over the bound
             if (maxSize != null && size() > maxSize) {
-                clear();
+                evict();
+            }
+        } else {
+            if (hitCount != null) {
+                hitCount.increment();
+            }
+            if (maxSize != null) {
+                ((EvictableValueHolder<V>) value).markReferenced();
             }
         }
         return value.get();
     }
 
+    /**
+     * Removes entries until the cache is within its bounds. The "clock" (second chance) algorithm is used to approximate LRU: the clock hand sweeps
+     * over the entries, an entry which was hit since the last sweep gets a second chance, other entries are evicted. This only removes the entries
+     * over the limit instead of dropping all the cached values at once.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            // another thread is already evicting
+            return;
+        }
+        try {
+            // make sure the sweep terminates even if the entries keep being accessed concurrently
+            long secondChances = 2L * map.size();
+            while (map.size() > maxSize) {
+                if (clockHand == null || !clockHand.hasNext()) {
+                    clockHand = map.entrySet().iterator();
+                    if (!clockHand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<K, ValueHolder<V>> entry = clockHand.next();
+                EvictableValueHolder<V> holder = (EvictableValueHolder<V>) entry.getValue();
+                if (holder.referenced && secondChances-- > 0) {
+                    holder.referenced = false;
+                } else if (map.remove(entry.getKey(), holder) && evictionCount != null) {
+                    evictionCount.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getCastValue(Object key) {
@@ -102,6 +168,21 @@ class ReentrantMapBackedComputingCache<K, V> implements ComputingCache<K, V>, It
         map.remove(key);
     }
 
+    @Override
+    public long getHitCount() {
+        return hitCount != null ? hitCount.sum() : 0L;
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount != null ? missCount.sum() : 0L;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount != null ? evictionCount.sum() : 0L;
+    }
+
     @Override
     public Iterable<V> getAllPresentValues() {
         return this;
@@ -122,6 +203,13 @@ class ReentrantMapBackedComputingCache<K, V> implements ComputingCache<K, V>, It
         }
     }
 
+    @Override
+    public void forEachKey(Consumer<? super K> consumer) {
+        for (K key : map.keySet()) {
+            consumer.accept(key);
+        }
+    }
+
     @Override
     public Iterator<V> iterator() {
         return new Iterator<V>() {
@@ -155,4 +243,36 @@ class ReentrantMapBackedComputingCache<K, V> implements ComputingCache<K, V>, It
             }
         };
     }
+
+    /**
+     * Wraps the value holder of a bounded cache and keeps track of whether the entry was hit since the last eviction sweep. New entries start
+     * unreferenced so that a burst of one-off lookups does not push out the frequently used entries.
+     */
+    private static class EvictableValueHolder<V> implements ValueHolder<V> {
+
+        private final ValueHolder<V> delegate;
+
+        private volatile boolean referenced;
+
+        EvictableValueHolder(ValueHolder<V> delegate) {
+            this.delegate = delegate;
+        }
+
+        void markReferenced() {
+            if (!referenced) {
+                // avoid the volatile write if possible
+                referenced = true;
+            }
+        }
+
+        @Override
+        public V get() {
+            return delegate.get();
+        }
+
+        @Override
+        public V getIfPresent() {
+            return delegate.getIfPresent();
+        }
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.resolution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import org.jboss.weld.util.reflection.GenericArrayTypeImpl;
+import org.jboss.weld.util.reflection.ParameterizedTypeImpl;
+import org.jboss.weld.util.reflection.WildcardTypeImpl;
+import org.junit.Test;
+
+/**
+ * Tests {@link RawTypeIndex}.
+ */
+public class RawTypeIndexTest {
+
+    private static final TypeVariable<?> TYPE_VARIABLE = Box.class.getTypeParameters()[0];
+
+    private static final Type LIST_OF_STRINGS = new ParameterizedTypeImpl(List.class, new Type[] { String.class }, null);
+
+    private static final Type LIST_OF_NUMBERS = new ParameterizedTypeImpl(List.class, new Type[] { WildcardTypeImpl.withUpperBound(Number.class) }, null);
+
+    private static final Type MAP_OF_TYPE_VARIABLES = new ParameterizedTypeImpl(Map.class, new Type[] { TYPE_VARIABLE, TYPE_VARIABLE }, null);
+
+    private static final Type GENERIC_ARRAY = new GenericArrayTypeImpl(TYPE_VARIABLE);
+
+    private static final Type WILDCARD = WildcardTypeImpl.defaultInstance();
+
+    private static final List<Type> ELEMENTS = Arrays.asList(String.class, Integer.class, int.class, LIST_OF_STRINGS, LIST_OF_NUMBERS, Collection.class,
+            MAP_OF_TYPE_VARIABLES, String[].class, GENERIC_ARRAY, TYPE_VARIABLE, WILDCARD);
+
+    private static final Set<Type> UNINDEXED = new HashSet<Type>(Arrays.asList(String[].class, GENERIC_ARRAY, TYPE_VARIABLE, WILDCARD));
+
+    private final RawTypeIndex<Type> index = new RawTypeIndex<Type>(ELEMENTS, (type) -> type);
+
+    @Test
+    public void testRawTypes() {
+        assertCandidates(types(String.class, Serializable.class, Comparable.class, CharSequence.class, Object.class), String.class);
+        assertCandidates(types(Object.class));
+    }
+
+    @Test
+    public void testPrimitiveTypesBoxed() {
+        assertCandidates(types(Integer.class, Number.class, Object.class), Integer.class, int.class);
+        assertCandidates(types(int.class, Object.class), Integer.class, int.class);
+    }
+
+    @Test
+    public void testParameterizedTypes() {
+        Type arrayListOfStrings = new ParameterizedTypeImpl(ArrayList.class, new Type[] { String.class }, null);
+        Type abstractListOfStrings = new ParameterizedTypeImpl(AbstractList.class, new Type[] { String.class }, null);
+        Type collectionOfStrings = new ParameterizedTypeImpl(Collection.class, new Type[] { String.class }, null);
+        // Both the lists are candidates as the type arguments are not taken into account
+        assertCandidates(types(arrayListOfStrings, abstractListOfStrings, LIST_OF_STRINGS, collectionOfStrings, RandomAccess.class, Object.class),
+                LIST_OF_STRINGS, LIST_OF_NUMBERS, Collection.class);
+        // A raw type of the closure matches the indexed parameterized type
+        assertCandidates(types(Map.class, Object.class), MAP_OF_TYPE_VARIABLES);
+    }
+
+    @Test
+    public void testUnindexedTypesAlwaysCandidates() {
+        assertCandidates(types(String[].class, Object.class));
+        assertCandidates(types());
+    }
+
+    @Test
+    public void testTypeVariableOfResolvableMatchesBound() {
+        // The raw type of a type variable is its bound
+        assertCandidates(types(TYPE_VARIABLE), String.class);
+    }
+
+    private void assertCandidates(Set<Type> types, Type... expectedIndexed) {
+        List<Type> candidates = index.getCandidates(types);
+        Set<Type> expected = new HashSet<Type>(UNINDEXED);
+        expected.addAll(Arrays.asList(expectedIndexed));
+        assertEquals(expected, new HashSet<Type>(candidates));
+        // No duplicates
+        assertEquals(expected.size(), candidates.size());
+        assertTrue(candidates.containsAll(UNINDEXED));
+    }
+
+    private static Set<Type> types(Type... types) {
+        return new HashSet<Type>(Arrays.asList(types));
+    }
+
+    private static class Box<T extends String> {
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.ArrayBeanStore;
+import org.jboss.weld.context.beanstore.BeanSlotIndex;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.tests.unit.context.BeanSlotIndexTest.DummyBean;
+import org.junit.Test;
+
+public class ArrayBeanStoreTest {
+
+    private static final BeanIdentifier FOO = new StringBeanIdentifier("foo");
+    private static final BeanIdentifier BAR = new StringBeanIdentifier("bar");
+    private static final BeanIdentifier BAZ = new StringBeanIdentifier("baz");
+
+    @Test
+    public void testIndexedAndFallback() {
+        ArrayBeanStore beanStore = new ArrayBeanStore(buildIndex());
+        ContextualInstance<String> foo = new Instance<String>("foo");
+        ContextualInstance<String> baz = new Instance<String>("baz");
+        assertNull(beanStore.get(FOO));
+        beanStore.put(FOO, foo);
+        // Not indexed
+        beanStore.put(BAZ, baz);
+        assertSame(foo, beanStore.get(new StringBeanIdentifier("foo")));
+        assertSame(baz, beanStore.get(BAZ));
+        assertTrue(beanStore.contains(FOO));
+        assertFalse(beanStore.contains(BAR));
+        assertEquals(ids(FOO, BAZ), toSet(beanStore.iterator()));
+
+        assertSame(foo, beanStore.remove(FOO));
+        assertNull(beanStore.remove(FOO));
+        assertNull(beanStore.remove(BAR));
+        assertSame(baz, beanStore.remove(BAZ));
+        assertFalse(beanStore.iterator().hasNext());
+    }
+
+    @Test
+    public void testClear() {
+        ArrayBeanStore beanStore = new ArrayBeanStore(buildIndex());
+        beanStore.put(FOO, new Instance<String>("foo"));
+        beanStore.put(BAR, new Instance<String>("bar"));
+        beanStore.put(BAZ, new Instance<String>("baz"));
+        beanStore.clear();
+        assertNull(beanStore.get(FOO));
+        assertNull(beanStore.get(BAZ));
+        assertFalse(beanStore.iterator().hasNext());
+    }
+
+    @Test
+    public void testIndexNotBuilt() {
+        ArrayBeanStore beanStore = new ArrayBeanStore(new BeanSlotIndex());
+        ContextualInstance<String> foo = new Instance<String>("foo");
+        beanStore.put(FOO, foo);
+        assertSame(foo, beanStore.get(FOO));
+        assertEquals(ids(FOO), toSet(beanStore.iterator()));
+        assertSame(foo, beanStore.remove(FOO));
+    }
+
+    @Test
+    public void testIndexCleanedUp() {
+        BeanSlotIndex index = buildIndex();
+        ArrayBeanStore beanStore = new ArrayBeanStore(index);
+        ContextualInstance<String> foo = new Instance<String>("foo");
+        beanStore.put(FOO, foo);
+        index.cleanup();
+        // The bean store keeps using the slots obtained when it was created
+        assertSame(foo, beanStore.get(FOO));
+        assertEquals(ids(FOO), toSet(beanStore.iterator()));
+        assertSame(foo, beanStore.remove(FOO));
+        assertNull(beanStore.get(FOO));
+    }
+
+    private static BeanSlotIndex buildIndex() {
+        BeanSlotIndex index = new BeanSlotIndex();
+        Set<Bean<?>> beans = new HashSet<Bean<?>>();
+        beans.add(DummyBean.of("foo"));
+        beans.add(DummyBean.of("bar"));
+        index.build(beans);
+        return index;
+    }
+
+    private static Set<BeanIdentifier> ids(BeanIdentifier... identifiers) {
+        Set<BeanIdentifier> ids = new HashSet<BeanIdentifier>();
+        for (BeanIdentifier identifier : identifiers) {
+            ids.add(identifier);
+        }
+        return ids;
+    }
+
+    private static Set<BeanIdentifier> toSet(Iterator<BeanIdentifier> iterator) {
+        Set<BeanIdentifier> ids = new HashSet<BeanIdentifier>();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next());
+        }
+        return ids;
+    }
+
+    private static class Instance<T> implements ContextualInstance<T> {
+
+        private final T instance;
+
+        Instance(T instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public T getInstance() {
+            return instance;
+        }
+
+        @Override
+        public CreationalContext<T> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<T> getContextual() {
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanAttributes;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.jboss.weld.bean.CommonBean;
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.beanstore.BeanSlotIndex;
+import org.jboss.weld.exceptions.IllegalStateException;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.junit.Test;
+
+public class BeanSlotIndexTest {
+
+    @Test
+    public void testNotBuilt() {
+        BeanSlotIndex index = new BeanSlotIndex();
+        assertFalse(index.isBuilt());
+        assertEquals(0, index.size());
+        assertEquals(BeanSlotIndex.NO_SLOT, index.getSlot(new StringBeanIdentifier("foo")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBuildTwice() {
+        BeanSlotIndex index = new BeanSlotIndex();
+        index.build(Collections.<Bean<?>> emptySet());
+        index.build(Collections.<Bean<?>> emptySet());
+    }
+
+    @Test
+    public void testEmpty() {
+        BeanSlotIndex index = new BeanSlotIndex();
+        index.build(Collections.<Bean<?>> emptySet());
+        assertTrue(index.isBuilt());
+        assertEquals(0, index.size());
+        assertEquals(BeanSlotIndex.NO_SLOT, index.getSlot(new StringBeanIdentifier("foo")));
+    }
+
+    @Test
+    public void testGetSlot() {
+        BeanSlotIndex index = new BeanSlotIndex();
+        Set<Bean<?>> beans = new HashSet<Bean<?>>();
+        for (int i = 0; i < 100; i++) {
+            beans.add(DummyBean.of(i + ".foo"));
+        }
+        index.build(beans);
+        assertEquals(100, index.size());
+        Set<Integer> slots = new HashSet<Integer>();
+        for (int i = 0; i < 100; i++) {
+            // Use an equal but not identical identifier
+            int slot = index.getSlot(new StringBeanIdentifier(i + ".foo"));
+            assertTrue(slot >= 0 && slot < 100);
+            assertTrue(slots.add(slot));
+        }
+        assertEquals(BeanSlotIndex.NO_SLOT, index.getSlot(new StringBeanIdentifier("bar")));
+    }
+
+    @Test
+    public void testCleanup() {
+        BeanSlotIndex index = new BeanSlotIndex();
+        index.build(Collections.<Bean<?>> singleton(DummyBean.of("foo")));
+        assertNotEquals(BeanSlotIndex.NO_SLOT, index.getSlot(new StringBeanIdentifier("foo")));
+        index.cleanup();
+        assertFalse(index.isBuilt());
+        assertEquals(0, index.size());
+        assertEquals(BeanSlotIndex.NO_SLOT, index.getSlot(new StringBeanIdentifier("foo")));
+    }
+
+    static class DummyBean<T> extends CommonBean<T> {
+
+        static <T> DummyBean<T> of(String id) {
+            return new DummyBean<>(null, new StringBeanIdentifier(id));
+        }
+
+        protected DummyBean(BeanAttributes<T> attributes, BeanIdentifier identifier) {
+            super(attributes, identifier);
+        }
+
+        @Override
+        public Class<?> getBeanClass() {
+            return null;
+        }
+
+        @Override
+        public Set<InjectionPoint> getInjectionPoints() {
+            return null;
+        }
+
+        @Override
+        public T create(CreationalContext<T> creationalContext) {
+            return null;
+        }
+
+        @Override
+        public void destroy(T instance, CreationalContext<T> creationalContext) {
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.beanstore.ConcurrentHashMapBeanStore;
+import org.jboss.weld.context.beanstore.LockedBean;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests creation locking of {@link ConcurrentHashMapBeanStore}.
+ */
+public class ConcurrentHashMapBeanStoreTest {
+
+    private static final BeanIdentifier FOO = new StringBeanIdentifier("foo");
+    private static final BeanIdentifier BAR = new StringBeanIdentifier("bar");
+
+    @Test
+    public void testLockIsReentrant() {
+        ConcurrentHashMapBeanStore beanStore = new ConcurrentHashMapBeanStore();
+        LockedBean outer = beanStore.lock(FOO);
+        LockedBean inner = beanStore.lock(FOO);
+        inner.unlock();
+        outer.unlock();
+    }
+
+    @Test
+    public void testLockIsExclusive() throws Exception {
+        final ConcurrentHashMapBeanStore beanStore = new ConcurrentHashMapBeanStore();
+        final int threads = 8;
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 100; j++) {
+                        LockedBean lock = beanStore.lock(FOO);
+                        try {
+                            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                            Thread.yield();
+                            active.decrementAndGet();
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1, maxActive.get());
+    }
+
+    @Test
+    public void testDifferentBeansDoNotBlock() throws Exception {
+        final ConcurrentHashMapBeanStore beanStore = new ConcurrentHashMapBeanStore();
+        LockedBean fooLock = beanStore.lock(FOO);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> beanStore.lock(BAR).unlock()).get(10, TimeUnit.SECONDS);
+        } finally {
+            fooLock.unlock();
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jboss.weld.context.conversation.ConversationExpirationQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link ConversationExpirationQueue}.
+ */
+public class ConversationExpirationQueueTest {
+
+    @Test
+    public void testSerialization() throws Exception {
+        ConversationExpirationQueue queue = new ConversationExpirationQueue();
+        queue.schedule("1", 100);
+        queue.schedule("2", 200);
+        queue.ended("3");
+        ConversationExpirationQueue copy = deserialize(serialize(queue));
+        Assert.assertEquals(queue.getId(), copy.getId());
+        Assert.assertEquals(Collections.singletonList("3"), copy.pollEnded());
+        Assert.assertEquals(Arrays.asList("1", "2"), copy.pollExpired(200));
+        Assert.assertTrue(copy.isEmpty());
+    }
+
+    @Test
+    public void testSerializationWhileModified() throws Exception {
+        final ConversationExpirationQueue queue = new ConversationExpirationQueue();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        Thread modifier = new Thread(() -> {
+            try {
+                long time = 0;
+                while (running.get()) {
+                    for (int i = 0; i < 100; i++) {
+                        queue.schedule(String.valueOf(i), ++time);
+                    }
+                    queue.ended("ended" + time);
+                    queue.pollExpired(time);
+                    queue.pollEnded();
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        modifier.start();
+        try {
+            for (int i = 0; i < 500; i++) {
+                Assert.assertNotNull(deserialize(serialize(queue)));
+            }
+        } finally {
+            running.set(false);
+            modifier.join();
+        }
+        Assert.assertNull(failure.get());
+    }
+
+    private static byte[] serialize(ConversationExpirationQueue queue) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(queue);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ConversationExpirationQueue deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return (ConversationExpirationQueue) in.readObject();
+        }
+    }
+
+}
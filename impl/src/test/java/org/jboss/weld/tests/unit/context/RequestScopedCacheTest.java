@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.weld.context.cache.RequestScopedCache;
+import org.jboss.weld.context.cache.RequestScopedItem;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests {@link RequestScopedCache}.
+ */
+public class RequestScopedCacheTest {
+
+    @After
+    public void cleanup() {
+        RequestScopedCache.endRequest();
+        RequestScopedCache.setSourceStatisticsEnabled(false);
+        RequestScopedCache.resetStatistics();
+    }
+
+    @Test
+    public void testItemsInvalidatedAtTheEndOfRequest() {
+        final List<Integer> invalidated = new ArrayList<>();
+        ThreadLocal<String> threadLocal = new ThreadLocal<>();
+        // the storage is reused by subsequent requests and needs to grow
+        for (int request = 0; request < 3; request++) {
+            invalidated.clear();
+            RequestScopedCache.beginRequest();
+            Assert.assertTrue(RequestScopedCache.isActive());
+            for (int i = 0; i < 50; i++) {
+                final int idx = i;
+                RequestScopedCache.addItem(() -> invalidated.add(idx));
+            }
+            threadLocal.set("foo");
+            Assert.assertTrue(RequestScopedCache.addItemIfActive(threadLocal));
+            RequestScopedCache.endRequest();
+            Assert.assertFalse(RequestScopedCache.isActive());
+            Assert.assertEquals(50, invalidated.size());
+            for (int i = 0; i < 50; i++) {
+                Assert.assertEquals(Integer.valueOf(i), invalidated.get(i));
+            }
+            Assert.assertNull(threadLocal.get());
+        }
+    }
+
+    @Test
+    public void testItemNotAddedIfInactive() {
+        Assert.assertFalse(RequestScopedCache.isActive());
+        Assert.assertFalse(RequestScopedCache.addItemIfActive(new ThreadLocal<String>()));
+        Assert.assertFalse(RequestScopedCache.addItemIfActive((RequestScopedItem) () -> {
+        }));
+    }
+
+    @Test
+    public void testStatistics() {
+        RequestScopedCache.resetStatistics();
+        RequestScopedCache.setSourceStatisticsEnabled(true);
+        RequestScopedCache.beginRequest();
+        RequestScopedCache.addItemIfActive(new ThreadLocal<String>(), "foo");
+        RequestScopedCache.addItemIfActive(new ThreadLocal<String>(), "bar");
+        RequestScopedCache.addItemIfActive(new ThreadLocal<String>(), Integer.valueOf(1));
+        RequestScopedCache.endRequest();
+        RequestScopedCache.beginRequest();
+        RequestScopedCache.addItemIfActive(new ThreadLocal<String>(), "foo");
+        // flushing the cache ends the current request
+        RequestScopedCache.invalidate();
+        Assert.assertTrue(RequestScopedCache.isActive());
+        RequestScopedCache.endRequest();
+        Assert.assertEquals(3, RequestScopedCache.getEndedRequestCount());
+        Assert.assertEquals(4, RequestScopedCache.getInvalidatedItemCount());
+        // the statistics are aggregated per source type
+        Assert.assertEquals(2, RequestScopedCache.getInvalidatedItemsPerSource().size());
+        Assert.assertEquals(Long.valueOf(3), RequestScopedCache.getInvalidatedItemsPerSource().get(String.class.getName()));
+        Assert.assertEquals(Long.valueOf(1), RequestScopedCache.getInvalidatedItemsPerSource().get(Integer.class.getName()));
+    }
+
+    @Test
+    public void testLargeStorageNotRetained() throws Exception {
+        RequestScopedCache.beginRequest();
+        for (int i = 0; i < 10; i++) {
+            RequestScopedCache.addItemIfActive(new ThreadLocal<String>());
+        }
+        RequestScopedCache.endRequest();
+        Object[] storage = getStorage();
+        Assert.assertNotNull(storage);
+
+        RequestScopedCache.beginRequest();
+        // the storage is reused
+        Assert.assertNull(getStorage());
+        for (int i = 0; i < 1000; i++) {
+            RequestScopedCache.addItemIfActive(new ThreadLocal<String>());
+        }
+        RequestScopedCache.endRequest();
+        // the grown storage is discarded
+        Assert.assertNull(getStorage());
+
+        RequestScopedCache.beginRequest();
+        Assert.assertTrue(RequestScopedCache.addItemIfActive(new ThreadLocal<String>()));
+        RequestScopedCache.endRequest();
+        Assert.assertNotNull(getStorage());
+    }
+
+    private static Object[] getStorage() throws Exception {
+        Field field = RequestScopedCache.class.getDeclaredField("STORAGE");
+        field.setAccessible(true);
+        return (Object[]) ((ThreadLocal<?>) field.get(null)).get();
+    }
+
+}
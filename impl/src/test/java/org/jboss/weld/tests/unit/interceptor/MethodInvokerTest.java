@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.interceptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.jboss.weld.interceptor.proxy.MethodInvoker;
+import org.junit.Test;
+
+public class MethodInvokerTest {
+
+    @Test
+    public void testInvokerShared() throws NoSuchMethodException {
+        Method method = Target.class.getDeclaredMethod("add", int.class, long.class);
+        assertSame(MethodInvoker.forMethod(method), MethodInvoker.forMethod(method));
+    }
+
+    @Test
+    public void testInvocation() throws Exception {
+        MethodInvoker invoker = MethodInvoker.forMethod(Target.class.getDeclaredMethod("add", int.class, long.class));
+        // byte is widened to int and int to long, as with reflection
+        assertEquals(3L, invoker.invoke(new Target(), new Object[] { (byte) 1, 2 }));
+        assertNull(MethodInvoker.forMethod(Target.class.getDeclaredMethod("echo", String.class)).invoke(new Target(), new Object[] { null }));
+    }
+
+    @Test
+    public void testIllegalArgumentsNotWrapped() throws Exception {
+        MethodInvoker invoker = MethodInvoker.forMethod(Target.class.getDeclaredMethod("add", int.class, long.class));
+        assertIllegalArguments(invoker, new Target(), new Object[] { null, 1L });
+        assertIllegalArguments(invoker, new Target(), new Object[] { "foo", 1L });
+        assertIllegalArguments(invoker, new Target(), new Object[] { 1L, 1L });
+        assertIllegalArguments(invoker, new Target(), new Object[] { 1 });
+        assertIllegalArguments(invoker, new Object(), new Object[] { 1, 1L });
+        assertIllegalArguments(invoker, null, new Object[] { 1, 1L });
+    }
+
+    @Test
+    public void testTargetExceptionWrapped() throws Throwable {
+        MethodInvoker invoker = MethodInvoker.forMethod(Target.class.getDeclaredMethod("throwException"));
+        try {
+            invoker.invoke(new Target(), null);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertTrue(e.getCause() instanceof NullPointerException);
+        }
+        try {
+            invoker.invokeAndUnwrap(new Target(), null);
+            fail();
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    private static void assertIllegalArguments(MethodInvoker invoker, Object instance, Object[] parameters) throws InvocationTargetException {
+        try {
+            invoker.invoke(instance, parameters);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    static class Target {
+
+        private long add(int a, long b) {
+            return a + b;
+        }
+
+        String echo(String value) {
+            return value;
+        }
+
+        void throwException() {
+            throw new NullPointerException();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2015, Red Hat, Inc. and/or its affiliates, and individual
+ * contributors by the @authors tag. See the copyright.txt in the
+ * distribution for a full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.util.cache;
+
+import org.jboss.weld.util.cache.ComputingCache;
+import org.jboss.weld.util.cache.ComputingCacheBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testcase for {@link ComputingCacheBuilder#setMaxSize(long)} and {@link ComputingCacheBuilder#setRecordStatistics()}
+ */
+public class BoundedComputingCacheTest {
+
+    @Test
+    public void testOverflowEvictsOnlyExcessEntries() {
+        ComputingCache<Integer, String> cache = ComputingCacheBuilder.newBuilder().setMaxSize(10).setRecordStatistics().build(x -> x.toString());
+        for (int i = 0; i < 100; i++) {
+            cache.getValue(i);
+            Assert.assertTrue(cache.size() <= 10);
+        }
+        Assert.assertEquals(10, cache.size());
+        Assert.assertEquals(90, cache.getEvictionCount());
+        Assert.assertEquals(100, cache.getMissCount());
+        Assert.assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    public void testRecentlyUsedEntriesSurvive() {
+        ComputingCache<Integer, String> cache = ComputingCacheBuilder.newBuilder().setMaxSize(10).build(x -> x.toString());
+        for (int i = 0; i < 1000; i++) {
+            // keep the hot entry referenced
+            cache.getValue(-1);
+            cache.getValue(i);
+        }
+        Assert.assertEquals("-1", cache.getValueIfPresent(-1));
+    }
+
+    @Test
+    public void testStatistics() {
+        ComputingCache<String, String> cache = ComputingCacheBuilder.newBuilder().setRecordStatistics().build(x -> x);
+        cache.getValue("foo");
+        cache.getValue("foo");
+        cache.getValue("bar");
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testStatisticsNotRecordedByDefault() {
+        ComputingCache<String, String> cache = ComputingCacheBuilder.newBuilder().build(x -> x);
+        cache.getValue("foo");
+        cache.getValue("foo");
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(0, cache.getMissCount());
+    }
+}
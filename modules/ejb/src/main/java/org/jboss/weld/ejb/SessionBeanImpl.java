@@ -146,6 +146,7 @@ class SessionBeanImpl<T> extends AbstractClassBean<T> implements SessionBean<T>
      */
     @Override
     public T create(final CreationalContext<T> creationalContext) {
+        validateIfDeferred();
         return proxyInstantiator.newInstance(creationalContext, beanManager);
     }
 
@@ -16,25 +16,58 @@
  */
 package org.jboss.weld.jta;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.transaction.Synchronization;
 
+import org.jboss.weld.logging.EventLogger;
+
 /**
  * A JTA transaction synchronization which wraps all defferred transactional event notifications.
  *
+ * <p>
+ * If coalescing is enabled, a single synchronization is registered per transaction and the notifications of subsequent events are appended (see
+ * {@link #append(List)}). The notifications are always processed in the order in which they were added.
+ * </p>
+ *
  * @author David Allen
  */
 class TransactionNotificationSynchronization implements Synchronization {
 
+    // guarded by this
     private final List<DeferredEventNotification<?>> notifications;
 
+    // if not null, AFTER_SUCCESS notifications are processed asynchronously
+    private final Executor afterSuccessExecutor;
+
+    // guarded by this, once set no more notifications may be appended
+    private boolean closed;
+
     /**
      *
      * @param notifications The ordered list of notifications
+     * @param afterSuccessExecutor The executor used to process {@link javax.enterprise.event.TransactionPhase#AFTER_SUCCESS} notifications, may be null
      */
-    public TransactionNotificationSynchronization(List<DeferredEventNotification<?>> notifications) {
+    public TransactionNotificationSynchronization(List<DeferredEventNotification<?>> notifications, Executor afterSuccessExecutor) {
         this.notifications = notifications;
+        this.afterSuccessExecutor = afterSuccessExecutor;
+    }
+
+    /**
+     * Appends the given notifications. Notifications may only be appended until all the before completion notifications are processed.
+     *
+     * @param notifications the notifications to append
+     * @return <code>true</code> if the notifications were appended, <code>false</code> if a new synchronization must be registered
+     */
+    public synchronized boolean append(List<DeferredEventNotification<?>> notifications) {
+        if (closed) {
+            return false;
+        }
+        this.notifications.addAll(notifications);
+        return true;
     }
 
     /*
@@ -43,11 +76,22 @@ class TransactionNotificationSynchronization implements Synchronization {
      * @see javax.transaction.Synchronization#afterCompletion(int)
      */
     public void afterCompletion(int status) {
-        for (DeferredEventNotification<?> notification : notifications) {
+        List<DeferredEventNotification<?>> async = null;
+        for (DeferredEventNotification<?> notification : getNotifications()) {
             if (!notification.isBefore() && notification.getStatus().matches(status)) {
-                notification.run();
+                if (afterSuccessExecutor != null && notification.getStatus() == Status.SUCCESS) {
+                    if (async == null) {
+                        async = new ArrayList<DeferredEventNotification<?>>();
+                    }
+                    async.add(notification);
+                } else {
+                    notification.run();
+                }
             }
         }
+        if (async != null) {
+            runAsync(async);
+        }
     }
 
     /*
@@ -56,10 +100,40 @@ class TransactionNotificationSynchronization implements Synchronization {
      * @see javax.transaction.Synchronization#beforeCompletion()
      */
     public void beforeCompletion() {
-        for (DeferredEventNotification<?> notification : notifications) {
+        // A before completion observer may fire another event within the transaction - the notifications appended meanwhile are also processed
+        for (int i = 0;; i++) {
+            DeferredEventNotification<?> notification;
+            synchronized (this) {
+                if (i >= notifications.size()) {
+                    closed = true;
+                    return;
+                }
+                notification = notifications.get(i);
+            }
             if (notification.isBefore()) {
                 notification.run();
             }
         }
     }
+
+    private synchronized List<DeferredEventNotification<?>> getNotifications() {
+        // the synchronization might be completed without the before completion phase, e.g. if the transaction is rolled back
+        closed = true;
+        return notifications;
+    }
+
+    private void runAsync(final List<DeferredEventNotification<?>> notifications) {
+        // A single task preserves the order of notifications
+        Runnable task = () -> {
+            for (DeferredEventNotification<?> notification : notifications) {
+                notification.run();
+            }
+        };
+        try {
+            afterSuccessExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            EventLogger.LOG.catchingDebug(e);
+            task.run();
+        }
+    }
 }
@@ -18,13 +18,21 @@ package org.jboss.weld.jta;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.enterprise.event.TransactionPhase;
 import javax.enterprise.inject.spi.EventMetadata;
 import javax.enterprise.inject.spi.ObserverMethod;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.transaction.TransactionSynchronizationRegistry;
 
 import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.event.ObserverNotifier;
+import org.jboss.weld.logging.EventLogger;
+import org.jboss.weld.manager.api.ExecutorServices;
 import org.jboss.weld.module.ObserverNotifierFactory;
 import org.jboss.weld.resolution.TypeSafeObserverResolver;
 import org.jboss.weld.transaction.spi.TransactionServices;
@@ -43,13 +51,56 @@ class TransactionalObserverNotifier extends ObserverNotifier {
         }
     };
 
+    private static final String TRANSACTION_SYNCHRONIZATION_REGISTRY_JNDI_NAME = "java:comp/TransactionSynchronizationRegistry";
+
     private final TransactionServices transactionServices;
     private final String contextId;
+    // The key of the coalescing synchronization - a transaction may span several containers
+    private final String synchronizationKey;
+    private final boolean coalesce;
+    // Only set once the lookup succeeds
+    private volatile TransactionSynchronizationRegistry synchronizationRegistry;
+    // null if AFTER_SUCCESS notifications are processed synchronously
+    private final Executor afterSuccessExecutor;
 
     TransactionalObserverNotifier(String contextId, TypeSafeObserverResolver resolver, ServiceRegistry services, boolean strict) {
         super(contextId, resolver, services, strict);
         this.contextId = contextId;
         this.transactionServices = services.get(TransactionServices.class);
+        this.synchronizationKey = TransactionNotificationSynchronization.class.getName() + "." + contextId;
+        WeldConfiguration configuration = services.get(WeldConfiguration.class);
+        this.coalesce = configuration != null && configuration.getBooleanProperty(ConfigurationKey.TRANSACTIONAL_OBSERVER_COALESCING);
+        if (configuration != null && configuration.getBooleanProperty(ConfigurationKey.TRANSACTIONAL_OBSERVER_ASYNC_AFTER_SUCCESS)) {
+            // Never run observers on a thread pool not managed by Weld
+            ExecutorServices executorServices = services.get(ExecutorServices.class);
+            if (executorServices != null) {
+                this.afterSuccessExecutor = executorServices.getTaskExecutor();
+            } else {
+                EventLogger.LOG.asyncAfterSuccessNotAvailable();
+                this.afterSuccessExecutor = null;
+            }
+        } else {
+            this.afterSuccessExecutor = null;
+        }
+    }
+
+    /**
+     * The registry is looked up lazily as JNDI may not be available during bootstrap. A failed lookup is not remembered, it is retried for the next event.
+     *
+     * @return the registry or <code>null</code> if not available
+     */
+    private TransactionSynchronizationRegistry getSynchronizationRegistry() {
+        TransactionSynchronizationRegistry registry = synchronizationRegistry;
+        if (registry == null) {
+            try {
+                registry = (TransactionSynchronizationRegistry) new InitialContext().lookup(TRANSACTION_SYNCHRONIZATION_REGISTRY_JNDI_NAME);
+                synchronizationRegistry = registry;
+            } catch (NamingException | RuntimeException e) {
+                // a synchronization is registered for each event
+                EventLogger.LOG.catchingDebug(e);
+            }
+        }
+        return registry;
     }
 
     /**
@@ -78,7 +129,27 @@ class TransactionalObserverNotifier extends ObserverNotifier {
             for (ObserverMethod<? super T> observer : observers) {
                 deferNotification(event, metadata, observer, notifications);
             }
-            transactionServices.registerSynchronization(new TransactionNotificationSynchronization(notifications));
+            if (coalesce) {
+                TransactionSynchronizationRegistry registry = getSynchronizationRegistry();
+                if (registry != null) {
+                    registerCoalescedSynchronization(registry, notifications);
+                    return;
+                }
+            }
+            transactionServices.registerSynchronization(new TransactionNotificationSynchronization(notifications, afterSuccessExecutor));
+        }
+    }
+
+    /**
+     * Appends the notifications to the synchronization registered for the current transaction. A new synchronization is only registered if there is no
+     * synchronization yet or if it does not accept new notifications anymore.
+     */
+    private void registerCoalescedSynchronization(TransactionSynchronizationRegistry registry, List<DeferredEventNotification<?>> notifications) {
+        Object resource = registry.getResource(synchronizationKey);
+        if (!(resource instanceof TransactionNotificationSynchronization) || !((TransactionNotificationSynchronization) resource).append(notifications)) {
+            TransactionNotificationSynchronization synchronization = new TransactionNotificationSynchronization(notifications, afterSuccessExecutor);
+            transactionServices.registerSynchronization(synchronization);
+            registry.putResource(synchronizationKey, synchronization);
         }
     }
 }
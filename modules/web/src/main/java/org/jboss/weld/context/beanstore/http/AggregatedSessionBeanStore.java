@@ -0,0 +1,300 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore.http;
+
+import static org.jboss.weld.util.reflection.Reflections.cast;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.BoundBeanStore;
+import org.jboss.weld.context.beanstore.HashMapBeanStore;
+import org.jboss.weld.context.beanstore.LockStore;
+import org.jboss.weld.context.beanstore.LockedBean;
+import org.jboss.weld.logging.ContextLogger;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.jboss.weld.servlet.SessionHolder;
+
+/**
+ * <p>
+ * A bound bean store which keeps all the session-scoped instances of an HTTP session in a single {@link SessionBeanStorage} session attribute instead of
+ * using a separate attribute for each instance and for the {@link LockStore}. The instances are looked up by the position in the {@link BeanIdentifierIndex}
+ * so that no attribute names need to be built.
+ * </p>
+ *
+ * <p>
+ * Similarly to {@link LazySessionBeanStore}, if backed by a request the session is only created when an instance needs to be written. The bean store is
+ * "write-through" while attached. If any instance was added or removed, the attribute is set again when the bean store is detached so that the servlet
+ * container is aware of the change. Therefore, the storage is replicated at most once per request.
+ * </p>
+ *
+ * <p>
+ * This class is not threadsafe
+ * </p>
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#CONTEXT_SESSION_AGGREGATED_BEAN_STORE
+ */
+public class AggregatedSessionBeanStore implements BoundBeanStore {
+
+    public static final String SESSION_KEY = "WELD_S_STORAGE";
+
+    private static final ThreadLocal<SessionBeanStorage> CURRENT_STORAGE = new ThreadLocal<SessionBeanStorage>();
+
+    private final HttpServletRequest request;
+
+    private final HttpSession session;
+
+    private final BeanIdentifierIndex index;
+
+    private final HashMapBeanStore beanStore;
+
+    private boolean attached;
+
+    private volatile LockStore lockStore;
+
+    /**
+     *
+     * @param request
+     * @param index
+     */
+    public AggregatedSessionBeanStore(HttpServletRequest request, BeanIdentifierIndex index) {
+        this(request, null, index);
+    }
+
+    /**
+     *
+     * @param session
+     * @param index
+     */
+    public AggregatedSessionBeanStore(HttpSession session, BeanIdentifierIndex index) {
+        this(null, session, index);
+    }
+
+    private AggregatedSessionBeanStore(HttpServletRequest request, HttpSession session, BeanIdentifierIndex index) {
+        this.request = request;
+        this.session = session;
+        this.index = (index != null && index.isBuilt()) ? index : null;
+        this.beanStore = new HashMapBeanStore();
+        ContextLogger.LOG.loadingBeanStoreMapFromSession(this, getSession(false));
+    }
+
+    @Override
+    public boolean detach() {
+        if (attached) {
+            attached = false;
+            flushStorage();
+            ContextLogger.LOG.beanStoreDetached(this);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean attach() {
+        if (!attached) {
+            attached = true;
+            if (!beanStore.delegate().isEmpty()) {
+                // The local bean store is authoritative, so copy everything to the backing store
+                SessionBeanStorage storage = getStorage(true);
+                if (storage != null) {
+                    for (BeanIdentifier id : beanStore) {
+                        ContextualInstance<?> instance = beanStore.get(id);
+                        ContextLogger.LOG.updatingStoreWithContextualUnderId(instance, id);
+                        storage.put(getPosition(id), id, instance);
+                    }
+                }
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isAttached() {
+        return attached;
+    }
+
+    @Override
+    public <T> ContextualInstance<T> get(BeanIdentifier id) {
+        ContextualInstance<T> instance = beanStore.get(id);
+        if (instance == null && isAttached()) {
+            SessionBeanStorage storage = getStorage(false);
+            if (storage != null) {
+                instance = cast(storage.get(getPosition(id), id));
+                if (instance != null) {
+                    beanStore.put(id, instance);
+                }
+            }
+        }
+        ContextLogger.LOG.contextualInstanceFound(id, instance, this);
+        return instance;
+    }
+
+    @Override
+    public boolean contains(BeanIdentifier id) {
+        return get(id) != null;
+    }
+
+    @Override
+    public <T> void put(BeanIdentifier id, ContextualInstance<T> instance) {
+        beanStore.put(id, instance);
+        if (isAttached()) {
+            SessionBeanStorage storage = getStorage(true);
+            if (storage != null) {
+                storage.put(getPosition(id), id, instance);
+            }
+        }
+        ContextLogger.LOG.contextualInstanceAdded(instance.getContextual(), id, this);
+    }
+
+    @Override
+    public <T> ContextualInstance<T> remove(BeanIdentifier id) {
+        ContextualInstance<T> instance = beanStore.remove(id);
+        if (isAttached()) {
+            SessionBeanStorage storage = getStorage(false);
+            if (storage != null) {
+                ContextualInstance<T> stored = cast(storage.remove(getPosition(id), id));
+                if (instance == null) {
+                    instance = stored;
+                }
+            }
+        }
+        if (instance != null) {
+            ContextLogger.LOG.contextualInstanceRemoved(id, this);
+        }
+        return instance;
+    }
+
+    @Override
+    public void clear() {
+        beanStore.clear();
+        if (isAttached()) {
+            SessionBeanStorage storage = getStorage(false);
+            if (storage != null) {
+                storage.clear();
+            }
+        }
+        ContextLogger.LOG.contextCleared(this);
+    }
+
+    @Override
+    public Iterator<BeanIdentifier> iterator() {
+        Set<BeanIdentifier> identifiers = null;
+        if (isAttached()) {
+            SessionBeanStorage storage = getStorage(false);
+            if (storage != null) {
+                identifiers = storage.getIdentifiers(index);
+            }
+        }
+        if (identifiers == null) {
+            identifiers = new HashSet<BeanIdentifier>();
+        }
+        // Merge the bean identifiers from the local bean store and the backing store
+        identifiers.addAll(beanStore.getContextualIds());
+        return identifiers.iterator();
+    }
+
+    @Override
+    public LockedBean lock(BeanIdentifier id) {
+        LockStore lockStore = this.lockStore;
+        if (lockStore == null) {
+            // Needed to prevent an infinite loop if creating the session results in an attempt to lock a bean, see also AbstractSessionBeanStore
+            SessionBeanStorage storage = CURRENT_STORAGE.get();
+            if (storage != null) {
+                return storage.getLockStore().lock(id);
+            }
+            CURRENT_STORAGE.set(new SessionBeanStorage());
+            try {
+                storage = getStorage(true);
+            } finally {
+                CURRENT_STORAGE.remove();
+            }
+            if (storage == null) {
+                return null;
+            }
+            lockStore = storage.getLockStore();
+            this.lockStore = lockStore;
+        }
+        return lockStore.lock(id);
+    }
+
+    protected HttpSession getSession(boolean create) {
+        if (session != null) {
+            return session;
+        }
+        try {
+            return SessionHolder.getSession(request, create);
+        } catch (IllegalStateException e) {
+            // If container can't create an underlying session, invalidate the current one
+            detach();
+            return null;
+        }
+    }
+
+    private SessionBeanStorage getStorage(boolean create) {
+        HttpSession session = getSession(create);
+        if (session == null) {
+            if (create) {
+                ContextLogger.LOG.unableToAddKeyToSession(SESSION_KEY);
+            }
+            return null;
+        }
+        SessionBeanStorage storage = (SessionBeanStorage) session.getAttribute(SESSION_KEY);
+        if (storage == null && create) {
+            // This should only happen once per session
+            synchronized (AggregatedSessionBeanStore.class) {
+                storage = (SessionBeanStorage) session.getAttribute(SESSION_KEY);
+                if (storage == null) {
+                    storage = new SessionBeanStorage();
+                    session.setAttribute(SESSION_KEY, storage);
+                }
+            }
+        }
+        return storage;
+    }
+
+    private void flushStorage() {
+        HttpSession session = getSession(false);
+        if (session == null) {
+            return;
+        }
+        try {
+            SessionBeanStorage storage = (SessionBeanStorage) session.getAttribute(SESSION_KEY);
+            // The dirty state is left to the integrator
+            if (storage != null && storage.pollModified()) {
+                // Setting the attribute again marks it as modified for the purpose of replication
+                session.setAttribute(SESSION_KEY, storage);
+            }
+        } catch (IllegalStateException e) {
+            // The session was invalidated in the meantime - there is nothing to replicate
+            ContextLogger.LOG.catchingDebug(e);
+        }
+    }
+
+    private Integer getPosition(BeanIdentifier id) {
+        return index != null ? index.getIndex(id) : null;
+    }
+
+}
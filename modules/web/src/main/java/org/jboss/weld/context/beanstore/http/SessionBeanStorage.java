@@ -0,0 +1,243 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.context.beanstore.http;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.LockStore;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+
+/**
+ * Holds all the session-scoped instances of a single HTTP session together with the {@link LockStore}. It is stored as a single session attribute by
+ * {@link AggregatedSessionBeanStore}.
+ *
+ * <p>
+ * The instances of beans contained in the {@link BeanIdentifierIndex} are stored in an array at the position of the bean identifier. Other instances are
+ * stored in a map.
+ * </p>
+ *
+ * <p>
+ * The modified beans are tracked so that an integrator is able to replicate the changes only, see {@link #getDirtyPositions()},
+ * {@link #getDirtyIdentifiers()} and {@link #clearDirty()}. Independently of that, {@link AggregatedSessionBeanStore} sets the session attribute again (so
+ * that the servlet container is aware of the change) once per request, and only if any instance was added or removed during the request. The dirty state is
+ * not serialized.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @see org.jboss.weld.config.ConfigurationKey#CONTEXT_SESSION_AGGREGATED_BEAN_STORE
+ */
+public class SessionBeanStorage implements Serializable {
+
+    private static final long serialVersionUID = 6436278187066627893L;
+
+    private static final ContextualInstance<?>[] EMPTY = new ContextualInstance<?>[0];
+
+    private final LockStore lockStore;
+
+    private ContextualInstance<?>[] indexed;
+
+    private final Map<BeanIdentifier, ContextualInstance<?>> identified;
+
+    // Cleared by the integrator once the changes are replicated
+    private transient BitSet dirtyPositions;
+
+    private transient Set<BeanIdentifier> dirtyIdentifiers;
+
+    // Cleared by the bean store once the attribute is set again
+    private transient boolean modified;
+
+    public SessionBeanStorage() {
+        this.lockStore = new LockStore();
+        this.indexed = EMPTY;
+        this.identified = new HashMap<BeanIdentifier, ContextualInstance<?>>();
+        this.dirtyPositions = new BitSet();
+        this.dirtyIdentifiers = new HashSet<BeanIdentifier>();
+    }
+
+    /**
+     *
+     * @param position the position in the {@link BeanIdentifierIndex} or <code>null</code> if the bean is not indexed
+     * @param id the bean identifier
+     * @return the instance or <code>null</code>
+     */
+    synchronized ContextualInstance<?> get(Integer position, BeanIdentifier id) {
+        if (position != null) {
+            return position < indexed.length ? indexed[position] : null;
+        }
+        return identified.get(id);
+    }
+
+    synchronized void put(Integer position, BeanIdentifier id, ContextualInstance<?> instance) {
+        if (position != null) {
+            if (position >= indexed.length) {
+                indexed = Arrays.copyOf(indexed, position + 1);
+            }
+            indexed[position] = instance;
+            dirtyPositions.set(position);
+        } else {
+            identified.put(id, instance);
+            dirtyIdentifiers.add(id);
+        }
+        modified = true;
+    }
+
+    synchronized ContextualInstance<?> remove(Integer position, BeanIdentifier id) {
+        ContextualInstance<?> instance;
+        if (position != null) {
+            if (position >= indexed.length) {
+                return null;
+            }
+            instance = indexed[position];
+            indexed[position] = null;
+            if (instance != null) {
+                dirtyPositions.set(position);
+            }
+        } else {
+            instance = identified.remove(id);
+            if (instance != null) {
+                dirtyIdentifiers.add(id);
+            }
+        }
+        if (instance != null) {
+            modified = true;
+        }
+        return instance;
+    }
+
+    synchronized void clear() {
+        for (int i = 0; i < indexed.length; i++) {
+            if (indexed[i] != null) {
+                indexed[i] = null;
+                dirtyPositions.set(i);
+                modified = true;
+            }
+        }
+        if (!identified.isEmpty()) {
+            dirtyIdentifiers.addAll(identified.keySet());
+            identified.clear();
+            modified = true;
+        }
+    }
+
+    /**
+     *
+     * @param index the index, may be <code>null</code>
+     * @return the identifiers of all the stored beans
+     */
+    synchronized Set<BeanIdentifier> getIdentifiers(BeanIdentifierIndex index) {
+        Set<BeanIdentifier> identifiers = new HashSet<BeanIdentifier>(identified.keySet());
+        if (index != null) {
+            for (int i = 0; i < indexed.length; i++) {
+                if (indexed[i] != null) {
+                    identifiers.add(index.getIdentifier(i));
+                }
+            }
+        }
+        return identifiers;
+    }
+
+    LockStore getLockStore() {
+        return lockStore;
+    }
+
+    /**
+     *
+     * @param position the position in the {@link BeanIdentifierIndex}
+     * @return the instance stored at the given position or <code>null</code>, e.g. if the instance was removed
+     */
+    public synchronized ContextualInstance<?> getIndexedInstance(int position) {
+        return position < indexed.length ? indexed[position] : null;
+    }
+
+    /**
+     *
+     * @param id the identifier of a bean not contained in the {@link BeanIdentifierIndex}
+     * @return the instance or <code>null</code>, e.g. if the instance was removed
+     */
+    public synchronized ContextualInstance<?> getIdentifiedInstance(BeanIdentifier id) {
+        return identified.get(id);
+    }
+
+    /**
+     * @return <code>true</code> if any bean was added or removed since the last {@link #clearDirty()}, <code>false</code> otherwise
+     */
+    public synchronized boolean isDirty() {
+        return !dirtyPositions.isEmpty() || !dirtyIdentifiers.isEmpty();
+    }
+
+    /**
+     * @return the positions of the indexed beans which were added or removed since the last {@link #clearDirty()}
+     * @see BeanIdentifierIndex#getIdentifier(int)
+     * @see #getIndexedInstance(int)
+     */
+    public synchronized BitSet getDirtyPositions() {
+        return (BitSet) dirtyPositions.clone();
+    }
+
+    /**
+     * @return the identifiers of the beans not contained in the {@link BeanIdentifierIndex} which were added or removed since the last {@link #clearDirty()}
+     * @see #getIdentifiedInstance(BeanIdentifier)
+     */
+    public synchronized Set<BeanIdentifier> getDirtyIdentifiers() {
+        return new HashSet<BeanIdentifier>(dirtyIdentifiers);
+    }
+
+    /**
+     * Should be invoked by the integrator once the changes are replicated.
+     */
+    public synchronized void clearDirty() {
+        dirtyPositions.clear();
+        dirtyIdentifiers.clear();
+    }
+
+    /**
+     * Unlike the dirty state, the modification flag is only used by {@link AggregatedSessionBeanStore} to set the session attribute again at most once per
+     * request.
+     *
+     * @return <code>true</code> if any instance was added or removed since the last invocation of this method, <code>false</code> otherwise
+     */
+    synchronized boolean pollModified() {
+        boolean result = modified;
+        modified = false;
+        return result;
+    }
+
+    private synchronized void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.dirtyPositions = new BitSet();
+        this.dirtyIdentifiers = new HashSet<BeanIdentifier>();
+    }
+
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+    }
+
+}
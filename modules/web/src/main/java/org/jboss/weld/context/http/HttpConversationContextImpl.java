@@ -69,6 +69,11 @@ public class HttpConversationContextImpl extends AbstractConversationContext<Htt
         return session.getAttribute(name);
     }
 
+    @Override
+    protected void setSessionAttributeInSession(HttpSession session, String name, Object value) {
+        session.setAttribute(name, value);
+    }
+
     @Override
     protected HttpSession getSessionFromRequest(HttpServletRequest request, boolean create) {
         return SessionHolder.getSession(request, create);
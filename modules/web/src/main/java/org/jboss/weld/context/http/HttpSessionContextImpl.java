@@ -15,6 +15,7 @@ import org.jboss.weld.context.beanstore.AttributeBeanStore;
 import org.jboss.weld.context.beanstore.BoundBeanStore;
 import org.jboss.weld.context.beanstore.NamingScheme;
 import org.jboss.weld.context.beanstore.SimpleBeanIdentifierIndexNamingScheme;
+import org.jboss.weld.context.beanstore.http.AggregatedSessionBeanStore;
 import org.jboss.weld.context.beanstore.http.EagerSessionBeanStore;
 import org.jboss.weld.context.beanstore.http.LazySessionBeanStore;
 import org.jboss.weld.logging.ContextLogger;
@@ -29,11 +30,16 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
 
     private final NamingScheme namingScheme;
     private final String contextId;
+    private final BeanIdentifierIndex index;
+    private final boolean aggregatedBeanStore;
 
     public HttpSessionContextImpl(String contextId, BeanIdentifierIndex index) {
         super(contextId, true);
         this.namingScheme = new SimpleBeanIdentifierIndexNamingScheme(NAMING_SCHEME_PREFIX, index);
         this.contextId = contextId;
+        this.index = index;
+        this.aggregatedBeanStore = getServiceRegistry().getRequired(WeldConfiguration.class).getBooleanProperty(
+                ConfigurationKey.CONTEXT_SESSION_AGGREGATED_BEAN_STORE);
     }
 
     public boolean associate(HttpServletRequest request) {
@@ -42,8 +48,12 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
             ContextLogger.LOG.beanStoreLeakDuringAssociation(this.getClass().getName(), request);
         }
         // We always associate a new bean store to avoid possible leaks (security threats)
-        setBeanStore(new LazySessionBeanStore(request, namingScheme, getServiceRegistry().getRequired(WeldConfiguration.class).getBooleanProperty(
-                ConfigurationKey.CONTEXT_ATTRIBUTES_LAZY_FETCH)));
+        if (aggregatedBeanStore) {
+            setBeanStore(new AggregatedSessionBeanStore(request, index));
+        } else {
+            setBeanStore(new LazySessionBeanStore(request, namingScheme, getServiceRegistry().getRequired(WeldConfiguration.class).getBooleanProperty(
+                    ConfigurationKey.CONTEXT_ATTRIBUTES_LAZY_FETCH)));
+        }
         checkBeanIdentifierIndexConsistency(request);
         return true;
     }
@@ -53,7 +63,7 @@ public class HttpSessionContextImpl extends AbstractBoundContext<HttpServletRequ
         if (beanStore == null) {
             try {
                 HttpConversationContext conversationContext = getConversationContext();
-                setBeanStore(new EagerSessionBeanStore(namingScheme, session));
+                setBeanStore(aggregatedBeanStore ? new AggregatedSessionBeanStore(session, index) : new EagerSessionBeanStore(namingScheme, session));
                 activate();
                 invalidate();
                 conversationContext.destroy(session);
@@ -21,9 +21,12 @@ import java.lang.annotation.Annotation;
 import javax.enterprise.context.SessionScoped;
 import javax.servlet.http.HttpSession;
 
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.context.AbstractBoundContext;
 import org.jboss.weld.context.beanstore.SimpleBeanIdentifierIndexNamingScheme;
 import org.jboss.weld.context.beanstore.NamingScheme;
+import org.jboss.weld.context.beanstore.http.AggregatedSessionBeanStore;
 import org.jboss.weld.context.beanstore.http.EagerSessionBeanStore;
 import org.jboss.weld.serialization.BeanIdentifierIndex;
 
@@ -38,17 +41,22 @@ import org.jboss.weld.serialization.BeanIdentifierIndex;
 public class HttpSessionDestructionContext extends AbstractBoundContext<HttpSession> {
 
     private final NamingScheme namingScheme;
+    private final BeanIdentifierIndex index;
+    private final boolean aggregatedBeanStore;
 
     public HttpSessionDestructionContext(String contextId, BeanIdentifierIndex index) {
         super(contextId, true);
         this.namingScheme = new SimpleBeanIdentifierIndexNamingScheme(HttpSessionContextImpl.NAMING_SCHEME_PREFIX, index);
+        this.index = index;
+        this.aggregatedBeanStore = getServiceRegistry().getRequired(WeldConfiguration.class).getBooleanProperty(
+                ConfigurationKey.CONTEXT_SESSION_AGGREGATED_BEAN_STORE);
     }
 
     @Override
     public boolean associate(HttpSession session) {
         if (getBeanStore() == null) {
             // Don't reassociate
-            setBeanStore(new EagerSessionBeanStore(namingScheme, session));
+            setBeanStore(aggregatedBeanStore ? new AggregatedSessionBeanStore(session, index) : new EagerSessionBeanStore(namingScheme, session));
             return true;
         } else {
             return false;
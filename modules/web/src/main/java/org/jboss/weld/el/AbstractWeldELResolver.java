@@ -97,11 +97,31 @@ public abstract class AbstractWeldELResolver extends ELResolver {
         return null;
     }
 
-    private Object lookup(BeanManagerImpl beanManager, ELContext context, String name) {
+    /**
+     * Looks up the bean with the given EL name and obtains its reference.
+     *
+     * @param beanManager the bean manager
+     * @param context the EL context
+     * @param name the EL name
+     * @return the reference or <code>null</code> if no bean with the given name is resolved
+     */
+    protected Object lookup(BeanManagerImpl beanManager, ELContext context, String name) {
         final Bean<?> bean = beanManager.resolve(beanManager.getBeans(name));
         if (bean == null) {
             return null;
         }
+        return getReference(beanManager, context, bean);
+    }
+
+    /**
+     * Obtains the reference of the given bean. Instances of {@link Dependent} beans are shared within a single EL expression.
+     *
+     * @param beanManager the bean manager
+     * @param context the EL context
+     * @param bean the resolved bean
+     * @return the reference
+     */
+    protected Object getReference(BeanManagerImpl beanManager, ELContext context, Bean<?> bean) {
         Class<? extends Annotation> scope = bean.getScope();
         if (!scope.equals(Dependent.class)) {
             return beanManager.getReference(bean, null, beanManager.createCreationalContext(bean), true);
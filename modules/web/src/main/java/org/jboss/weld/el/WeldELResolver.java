@@ -16,12 +16,24 @@
  */
 package org.jboss.weld.el;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import javax.el.ELContext;
+import javax.enterprise.inject.spi.Bean;
 
+import org.jboss.weld.Container;
+import org.jboss.weld.ContainerState;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.config.WeldConfiguration;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.util.LazyValueHolder;
 
 /**
+ * If {@link ConfigurationKey#EL_RESOLUTION_TABLE} is enabled, the results of the EL name resolution are stored in a table once the container is initialized.
+ * For a normal-scoped bean the table holds the client proxy so that the lookup is a single map read. Instances of dependent beans are still obtained for each
+ * expression. Names which do not resolve to a bean are not stored so that the size of the table is bounded by the number of named beans.
+ *
  * @author pmuir
  * @author Jozef Hartinger
  */
@@ -30,6 +42,10 @@ public class WeldELResolver extends AbstractWeldELResolver {
     private final BeanManagerImpl beanManager;
     private final LazyValueHolder<Namespace> rootNamespace;
 
+    // Only set if the resolution table is enabled and the container is initialized
+    private volatile ConcurrentMap<String, ResolvedName> resolvedNames;
+    private volatile boolean resolvedNamesInitialized;
+
     public WeldELResolver(BeanManagerImpl manager) {
         this.beanManager = manager;
         this.rootNamespace = LazyValueHolder.forSupplier(() -> new Namespace(manager.getAccessibleNamespaces()));
@@ -45,4 +61,77 @@ public class WeldELResolver extends AbstractWeldELResolver {
         return rootNamespace.get();
     }
 
+    @Override
+    protected Object lookup(BeanManagerImpl beanManager, ELContext context, String name) {
+        ConcurrentMap<String, ResolvedName> names = getResolvedNames();
+        if (names == null) {
+            return super.lookup(beanManager, context, name);
+        }
+        ResolvedName resolved = names.get(name);
+        if (resolved == null) {
+            resolved = resolve(name);
+            if (resolved == null) {
+                // Unresolved names are not stored - an expression may contain an arbitrary number of names which are not bean names
+                return null;
+            }
+            ResolvedName previous = names.putIfAbsent(name, resolved);
+            if (previous != null) {
+                resolved = previous;
+            }
+        }
+        if (resolved.reference != null) {
+            return resolved.reference;
+        }
+        return getReference(beanManager, context, resolved.bean);
+    }
+
+    /**
+     *
+     * @param name
+     * @return the resolved name or <code>null</code> if no bean with the given name is resolved
+     */
+    private ResolvedName resolve(String name) {
+        final Bean<?> bean = beanManager.resolve(beanManager.getBeans(name));
+        if (bean == null) {
+            return null;
+        }
+        if (beanManager.isNormalScope(bean.getScope())) {
+            // The client proxy does not depend on the EL context
+            return new ResolvedName(bean, beanManager.getReference(bean, null, beanManager.createCreationalContext(bean), false));
+        }
+        return new ResolvedName(bean, null);
+    }
+
+    private ConcurrentMap<String, ResolvedName> getResolvedNames() {
+        if (!resolvedNamesInitialized) {
+            // The set of beans may change until the container is initialized
+            if (!ContainerState.INITIALIZED.equals(Container.instance(beanManager).getState())) {
+                return null;
+            }
+            synchronized (this) {
+                if (!resolvedNamesInitialized) {
+                    if (beanManager.getServices().get(WeldConfiguration.class).getBooleanProperty(ConfigurationKey.EL_RESOLUTION_TABLE)) {
+                        resolvedNames = new ConcurrentHashMap<String, ResolvedName>();
+                    }
+                    resolvedNamesInitialized = true;
+                }
+            }
+        }
+        return resolvedNames;
+    }
+
+    private static final class ResolvedName {
+
+        private final Bean<?> bean;
+
+        // The client proxy of a normal-scoped bean, null otherwise
+        private final Object reference;
+
+        private ResolvedName(Bean<?> bean, Object reference) {
+            this.bean = bean;
+            this.reference = reference;
+        }
+
+    }
+
 }
@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.context.beanstore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.servlet.http.HttpSession;
+
+import org.jboss.weld.bean.StringBeanIdentifier;
+import org.jboss.weld.context.api.ContextualInstance;
+import org.jboss.weld.context.beanstore.http.AggregatedSessionBeanStore;
+import org.jboss.weld.context.beanstore.http.SessionBeanStorage;
+import org.jboss.weld.serialization.spi.BeanIdentifier;
+import org.junit.Test;
+
+/**
+ * Tests that {@link AggregatedSessionBeanStore} sets the session attribute again at most once per request and only if the storage was modified. Also
+ * tests the tracking of the modified beans by {@link SessionBeanStorage}.
+ */
+public class AggregatedSessionBeanStoreTest {
+
+    private static final BeanIdentifier FOO = new StringBeanIdentifier("foo");
+    private static final BeanIdentifier BAR = new StringBeanIdentifier("bar");
+
+    @Test
+    public void testAttributeSetOncePerRequest() {
+        MockSession session = new MockSession();
+        AggregatedSessionBeanStore beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        beanStore.put(FOO, new Instance<String>("foo"));
+        beanStore.put(BAR, new Instance<String>("bar"));
+        // The storage attribute is only created
+        assertEquals(1, session.setAttributeCount);
+        beanStore.detach();
+        assertEquals(2, session.setAttributeCount);
+        assertNotNull(session.attributes.get(AggregatedSessionBeanStore.SESSION_KEY));
+    }
+
+    @Test
+    public void testUnmodifiedStorageNotSetAgain() {
+        MockSession session = new MockSession();
+        AggregatedSessionBeanStore beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        beanStore.put(FOO, new Instance<String>("foo"));
+        beanStore.detach();
+        int count = session.setAttributeCount;
+
+        // Next request only reads the instance
+        beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        ContextualInstance<String> instance = beanStore.get(FOO);
+        assertNotNull(instance);
+        assertEquals("foo", instance.getInstance());
+        assertNull(beanStore.get(BAR));
+        beanStore.detach();
+        assertEquals(count, session.setAttributeCount);
+    }
+
+    @Test
+    public void testRemovalSetsAttributeAgain() {
+        MockSession session = new MockSession();
+        AggregatedSessionBeanStore beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        beanStore.put(FOO, new Instance<String>("foo"));
+        beanStore.detach();
+        int count = session.setAttributeCount;
+
+        beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        assertNotNull(beanStore.remove(FOO));
+        // Removing a missing instance does not modify the storage
+        assertNull(beanStore.remove(BAR));
+        beanStore.detach();
+        assertEquals(count + 1, session.setAttributeCount);
+
+        beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        assertFalse(beanStore.contains(FOO));
+        beanStore.detach();
+        assertEquals(count + 1, session.setAttributeCount);
+    }
+
+    @Test
+    public void testDetachAfterInvalidation() {
+        MockSession session = new MockSession();
+        AggregatedSessionBeanStore beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        beanStore.put(FOO, new Instance<String>("foo"));
+        session.invalidated = true;
+        assertTrue(beanStore.detach());
+        assertEquals(1, session.setAttributeCount);
+    }
+
+    @Test
+    public void testDirtyBeansTracked() {
+        MockSession session = new MockSession();
+        AggregatedSessionBeanStore beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        beanStore.put(FOO, new Instance<String>("foo"));
+        beanStore.put(BAR, new Instance<String>("bar"));
+        beanStore.detach();
+        SessionBeanStorage storage = (SessionBeanStorage) session.attributes.get(AggregatedSessionBeanStore.SESSION_KEY);
+        // Setting the attribute again does not reset the delta
+        assertTrue(storage.isDirty());
+        assertEquals(new HashSet<BeanIdentifier>(Arrays.asList(FOO, BAR)), storage.getDirtyIdentifiers());
+        assertTrue(storage.getDirtyPositions().isEmpty());
+        // The integrator replicated the changes
+        storage.clearDirty();
+        assertFalse(storage.isDirty());
+
+        beanStore = new AggregatedSessionBeanStore(session.proxy, null);
+        beanStore.attach();
+        assertNotNull(beanStore.get(BAR));
+        beanStore.remove(FOO);
+        beanStore.detach();
+        assertEquals(Collections.singleton(FOO), storage.getDirtyIdentifiers());
+        assertNull(storage.getIdentifiedInstance(FOO));
+        assertEquals("bar", storage.getIdentifiedInstance(BAR).getInstance());
+    }
+
+    private static class MockSession {
+
+        private final Map<String, Object> attributes = new HashMap<String, Object>();
+
+        private int setAttributeCount;
+
+        private boolean invalidated;
+
+        private final HttpSession proxy = (HttpSession) Proxy.newProxyInstance(HttpSession.class.getClassLoader(), new Class<?>[] { HttpSession.class },
+                (p, method, args) -> {
+                    if (invalidated && !method.getName().equals("toString")) {
+                        throw new IllegalStateException("Session invalidated");
+                    }
+                    switch (method.getName()) {
+                        case "getAttribute":
+                            return attributes.get(args[0]);
+                        case "setAttribute":
+                            setAttributeCount++;
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        case "removeAttribute":
+                            attributes.remove(args[0]);
+                            return null;
+                        case "getId":
+                        case "toString":
+                            return "mockSession";
+                        case "hashCode":
+                            return System.identityHashCode(p);
+                        case "equals":
+                            return p == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+    }
+
+    private static class Instance<T> implements ContextualInstance<T> {
+
+        private final T instance;
+
+        Instance(T instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public T getInstance() {
+            return instance;
+        }
+
+        @Override
+        public CreationalContext<T> getCreationalContext() {
+            return null;
+        }
+
+        @Override
+        public Contextual<T> getContextual() {
+            return null;
+        }
+
+    }
+
+}
@@ -24,6 +24,7 @@ import java.lang.annotation.Annotation;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.ObserverMethod;
 
+import org.jboss.weld.bootstrap.BootstrapProfiler;
 import org.jboss.weld.manager.BeanManagerImpl;
 import org.jboss.weld.probe.Queries.BeanFilters;
 import org.jboss.weld.probe.Queries.EventsFilters;
@@ -135,4 +136,10 @@ public class DefaultJsonDataProvider implements JsonDataProvider {
         return Json.objectBuilder().add(REMOVED_EVENTS, probe.clearEvents()).build();
     }
 
+    @Override
+    public String receiveBootstrapProfile() {
+        BootstrapProfiler profiler = beanManager.getServices().get(BootstrapProfiler.class);
+        return profiler != null ? JsonObjects.createBootstrapProfileJson(profiler) : null;
+    }
+
 }
@@ -158,4 +158,12 @@ public interface JsonDataProvider {
     @Description("Removes all monitoring data - fired events.")
     String clearEvents();
 
+    /**
+     *
+     * @return the JSON data or <code>null</code> if the bootstrap profiling is not enabled
+     * @see Resource#BOOTSTRAP
+     */
+    @Description("Receives the bootstrap profile - bootstrap phases, container lifecycle events and extension observer methods.")
+    String receiveBootstrapProfile();
+
 }
@@ -17,6 +17,7 @@
 package org.jboss.weld.probe;
 
 import static org.jboss.weld.probe.Strings.ACCESSIBLE_BDAS;
+import static org.jboss.weld.probe.Strings.ALLOCATED;
 import static org.jboss.weld.probe.Strings.ALTERNATIVES;
 import static org.jboss.weld.probe.Strings.ANNOTATED_METHOD;
 import static org.jboss.weld.probe.Strings.APPLICATION;
@@ -48,11 +49,15 @@ import static org.jboss.weld.probe.Strings.DELEGATE_QUALIFIERS;
 import static org.jboss.weld.probe.Strings.DELEGATE_TYPE;
 import static org.jboss.weld.probe.Strings.DEPENDENCIES;
 import static org.jboss.weld.probe.Strings.DEPENDENTS;
+import static org.jboss.weld.probe.Strings.DEPTH;
 import static org.jboss.weld.probe.Strings.DESCRIPTION;
 import static org.jboss.weld.probe.Strings.DISPOSAL_METHOD;
 import static org.jboss.weld.probe.Strings.EJB_NAME;
 import static org.jboss.weld.probe.Strings.ENABLEMENT;
+import static org.jboss.weld.probe.Strings.EVENT;
+import static org.jboss.weld.probe.Strings.EVENTS;
 import static org.jboss.weld.probe.Strings.EVENT_INFO;
+import static org.jboss.weld.probe.Strings.EXTENSION;
 import static org.jboss.weld.probe.Strings.ID;
 import static org.jboss.weld.probe.Strings.INFO;
 import static org.jboss.weld.probe.Strings.INFO_FETCHING_LAZILY;
@@ -67,10 +72,12 @@ import static org.jboss.weld.probe.Strings.LAST_PAGE;
 import static org.jboss.weld.probe.Strings.METHOD;
 import static org.jboss.weld.probe.Strings.METHOD_NAME;
 import static org.jboss.weld.probe.Strings.NAME;
+import static org.jboss.weld.probe.Strings.NOTIFICATIONS;
 import static org.jboss.weld.probe.Strings.OBJECT_TO_STRING;
 import static org.jboss.weld.probe.Strings.OBSERVED_TYPE;
 import static org.jboss.weld.probe.Strings.OBSERVERS;
 import static org.jboss.weld.probe.Strings.PAGE;
+import static org.jboss.weld.probe.Strings.PHASES;
 import static org.jboss.weld.probe.Strings.PRIORITY;
 import static org.jboss.weld.probe.Strings.PRIORITY_RANGE;
 import static org.jboss.weld.probe.Strings.PROBE_COMPONENT;
@@ -113,6 +120,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.context.ConversationScoped;
@@ -138,6 +146,9 @@ import org.jboss.weld.bean.SessionBean;
 import org.jboss.weld.bean.builtin.AbstractBuiltInBean;
 import org.jboss.weld.bean.builtin.InstanceImpl;
 import org.jboss.weld.bean.proxy.ProxyObject;
+import org.jboss.weld.bootstrap.BootstrapProfiler;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Phase;
+import org.jboss.weld.bootstrap.BootstrapProfiler.Statistics;
 import org.jboss.weld.bootstrap.enablement.ModuleEnablement;
 import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
 import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
@@ -1116,6 +1127,34 @@ final class JsonObjects {
         return createPageJson(page, eventsBuilder);
     }
 
+    static String createBootstrapProfileJson(BootstrapProfiler profiler) {
+        JsonObjectBuilder profileBuilder = Json.objectBuilder();
+        profileBuilder.add(CONTEXT_ID, profiler.getContextId());
+        JsonArrayBuilder phasesBuilder = Json.arrayBuilder();
+        for (Phase phase : profiler.getPhases()) {
+            phasesBuilder.add(Json.objectBuilder().add(NAME, phase.getName()).add(DEPTH, phase.getDepth())
+                    .add(START, TimeUnit.NANOSECONDS.toMillis(phase.getStart())).add(TIME, TimeUnit.NANOSECONDS.toMillis(phase.getTime()))
+                    .add(ALLOCATED, phase.getAllocated()));
+        }
+        profileBuilder.add(PHASES, phasesBuilder);
+        JsonArrayBuilder eventsBuilder = Json.arrayBuilder();
+        for (Statistics event : profiler.getEvents()) {
+            eventsBuilder.add(createBootstrapStatisticsJson(event));
+        }
+        profileBuilder.add(EVENTS, eventsBuilder);
+        JsonArrayBuilder observersBuilder = Json.arrayBuilder();
+        for (Statistics observer : profiler.getObservers()) {
+            observersBuilder.add(createBootstrapStatisticsJson(observer).add(EXTENSION, observer.getExtension()).add(METHOD, observer.getMethod()));
+        }
+        profileBuilder.add(OBSERVERS, observersBuilder);
+        return profileBuilder.build();
+    }
+
+    private static JsonObjectBuilder createBootstrapStatisticsJson(Statistics statistics) {
+        return Json.objectBuilder().add(EVENT, statistics.getEvent()).add(NOTIFICATIONS, statistics.getNotifications())
+                .add(TIME, TimeUnit.NANOSECONDS.toMillis(statistics.getTime())).add(ALLOCATED, statistics.getAllocated());
+    }
+
     static JsonObjectBuilder createSimpleBdaJson(String bdaId) {
         JsonObjectBuilder bdaBuilder = Json.objectBuilder(true);
         bdaBuilder.add(BDA_ID, bdaId);
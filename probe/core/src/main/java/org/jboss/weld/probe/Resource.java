@@ -167,6 +167,14 @@ enum Resource {
                 throws IOException {
             append(resp, jsonDataProvider.clearEvents());
         }
+    }), /**
+         * The bootstrap profile. Only available if the bootstrap profiling is enabled.
+         */
+    BOOTSTRAP("/bootstrap", new Handler() {
+        @Override
+        protected void get(JsonDataProvider jsonDataProvider, String[] resourcePathParts, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            appendFound(resp, jsonDataProvider.receiveBootstrapProfile());
+        }
     }), /**
          * A default HTML client resource.
          */
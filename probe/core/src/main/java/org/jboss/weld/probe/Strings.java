@@ -102,6 +102,13 @@ public final class Strings {
     public static final String ASSOCIATED_TO = "associatedTo";
     public static final String REMOVED_EVENTS = "removedEvents";
     public static final String INIT_TS = "initTs";
+    public static final String PHASES = "phases";
+    public static final String DEPTH = "depth";
+    public static final String ALLOCATED = "allocated";
+    public static final String EVENTS = "events";
+    public static final String EVENT = "event";
+    public static final String EXTENSION = "extension";
+    public static final String NOTIFICATIONS = "notifications";
 
     public static final String PAGE = "page";
     public static final String PAGE_SIZE = "pageSize";
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.el.resolver.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.el.ELContext;
+import javax.el.ExpressionFactory;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.test.util.el.EL;
+import org.jboss.weld.tests.util.PropertiesBuilder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests the EL name resolution with {@link ConfigurationKey#EL_RESOLUTION_TABLE} enabled.
+ */
+@RunWith(Arquillian.class)
+public class ResolutionTableTest {
+
+    @Deployment
+    public static JavaArchive createDeployment() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(ResolutionTableTest.class))
+                .addClasses(Cellar.class, Glass.class, ResolutionTableTest.class)
+                .addClass(EL.class)
+                .addPackages(true, ExpressionFactory.class.getPackage())
+                .addAsResource(PropertiesBuilder.newBuilder().set(ConfigurationKey.EL_RESOLUTION_TABLE.get(), "true").build(), "weld.properties");
+    }
+
+    @Inject
+    private BeanManagerImpl beanManager;
+
+    @Test
+    public void testNormalScopedBeanResolvedToClientProxy() {
+        ELContext elContext = EL.createELContext(beanManager);
+        Object cellar1 = EL.EXPRESSION_FACTORY.createValueExpression(elContext, "#{cellar}", Cellar.class).getValue(elContext);
+        Object cellar2 = EL.EXPRESSION_FACTORY.createValueExpression(elContext, "#{cellar}", Cellar.class).getValue(elContext);
+        assertTrue(Utils.isProxy(cellar1));
+        assertSame(cellar1, cellar2);
+        assertEquals("cellar", EL.EXPRESSION_FACTORY.createValueExpression(elContext, "#{cellar.name}", String.class).getValue(elContext));
+    }
+
+    @Test
+    public void testDependentInstanceNotShared() {
+        ELContext elContext = EL.createELContext(beanManager);
+        Object glass1 = EL.EXPRESSION_FACTORY.createValueExpression(elContext, "#{glass}", Glass.class).getValue(elContext);
+        Object glass2 = EL.EXPRESSION_FACTORY.createValueExpression(elContext, "#{glass}", Glass.class).getValue(elContext);
+        assertFalse(Utils.isProxy(glass1));
+        assertNotSame(glass1, glass2);
+    }
+
+    @Test
+    public void testUnresolvedName() {
+        ELContext elContext = EL.createELContext(beanManager);
+        for (int i = 0; i < 2; i++) {
+            assertNull(beanManager.getELResolver().getValue(elContext, null, "bottle"));
+            assertFalse(elContext.isPropertyResolved());
+        }
+    }
+
+}
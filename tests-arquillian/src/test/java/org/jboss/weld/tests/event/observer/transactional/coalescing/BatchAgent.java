@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.coalescing;
+
+import static javax.ejb.TransactionManagementType.BEAN;
+
+import javax.annotation.Resource;
+import javax.ejb.EJBException;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionManagement;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.inject.Inject;
+import javax.transaction.UserTransaction;
+
+import org.jboss.weld.tests.event.observer.transactional.Actions;
+import org.jboss.weld.tests.event.observer.transactional.DogAgent;
+
+@Stateless
+@TransactionManagement(BEAN)
+public class BatchAgent {
+
+    @Resource
+    private UserTransaction userTransaction;
+
+    @Inject
+    private BeanManager beanManager;
+
+    public void sendInTransaction(Object... events) {
+        try {
+            userTransaction.begin();
+            for (Object event : events) {
+                beanManager.fireEvent(event);
+            }
+            Actions.add(DogAgent.EVENT_FIRED);
+            userTransaction.commit();
+        } catch (EJBException ejbException) {
+            throw ejbException;
+        } catch (Exception e) {
+            throw new EJBException("Transaction failure", e);
+        }
+    }
+
+    public void sendInTransactionAndFail(Object... events) throws Exception {
+        userTransaction.begin();
+        for (Object event : events) {
+            beanManager.fireEvent(event);
+        }
+        Actions.add(DogAgent.EVENT_FIRED);
+        userTransaction.rollback();
+    }
+
+}
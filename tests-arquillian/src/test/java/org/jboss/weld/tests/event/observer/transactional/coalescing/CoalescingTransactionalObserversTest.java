@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.coalescing;
+
+import static javax.enterprise.event.TransactionPhase.AFTER_COMPLETION;
+import static javax.enterprise.event.TransactionPhase.AFTER_FAILURE;
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+import static javax.enterprise.event.TransactionPhase.BEFORE_COMPLETION;
+import static javax.enterprise.event.TransactionPhase.IN_PROGRESS;
+import static org.jboss.weld.tests.event.observer.transactional.DogAgent.EVENT_FIRED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.tests.category.Integration;
+import org.jboss.weld.tests.event.observer.transactional.Actions;
+import org.jboss.weld.tests.event.observer.transactional.Bark;
+import org.jboss.weld.tests.event.observer.transactional.TransactionalObserversTest;
+import org.jboss.weld.tests.util.PropertiesBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Same scenarios as {@link TransactionalObserversTest} with a single synchronization per transaction, see
+ * {@link ConfigurationKey#TRANSACTIONAL_OBSERVER_COALESCING}.
+ */
+@Category(Integration.class)
+@RunWith(Arquillian.class)
+public class CoalescingTransactionalObserversTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(CoalescingTransactionalObserversTest.class))
+                .addPackage(TransactionalObserversTest.class.getPackage())
+                .addPackage(CoalescingTransactionalObserversTest.class.getPackage())
+                .addClass(Utils.class)
+                .addAsResource(PropertiesBuilder.newBuilder().set(ConfigurationKey.TRANSACTIONAL_OBSERVER_COALESCING.get(), "true").build(),
+                        "weld.properties");
+    }
+
+    @Inject
+    private BatchAgent agent;
+
+    @Before
+    public void reset() {
+        assertNotNull(agent);
+        Actions.clear();
+    }
+
+    @Test
+    public void testSuccess() {
+        agent.sendInTransaction(new Bark());
+        assertTrue(Actions.startsWith(IN_PROGRESS, EVENT_FIRED, BEFORE_COMPLETION));
+        assertTrue(Actions.precedes(BEFORE_COMPLETION, AFTER_SUCCESS, AFTER_COMPLETION));
+        assertTrue(Actions.precedes(AFTER_SUCCESS + "100", AFTER_SUCCESS, AFTER_COMPLETION));
+        assertTrue(Actions.precedes(AFTER_SUCCESS + "1", AFTER_SUCCESS + "100"));
+        assertFalse(Actions.contains(AFTER_FAILURE));
+    }
+
+    @Test
+    public void testSuccessWithMultipleEvents() {
+        agent.sendInTransaction(new Bark(), new Bark());
+        List<String> actions = Actions.getActions();
+        assertTrue(Actions.startsWith(IN_PROGRESS, IN_PROGRESS, EVENT_FIRED, BEFORE_COMPLETION, BEFORE_COMPLETION));
+        assertEquals(2, Collections.frequency(actions, AFTER_SUCCESS.toString()));
+        assertEquals(2, Collections.frequency(actions, AFTER_COMPLETION.toString()));
+        // the notifications of both events are processed in the order the events were fired
+        assertTrue(actions.lastIndexOf(BEFORE_COMPLETION.toString()) < actions.indexOf(AFTER_SUCCESS + "1"));
+        assertTrue(actions.indexOf(AFTER_SUCCESS + "1") < actions.lastIndexOf(AFTER_SUCCESS + "1"));
+        assertFalse(Actions.contains(AFTER_FAILURE));
+    }
+
+    @Test
+    public void testTransactionFailureWithMultipleEvents() throws Exception {
+        agent.sendInTransactionAndFail(new Bark(), new Bark());
+        List<String> actions = Actions.getActions();
+        assertTrue(Actions.startsWith(IN_PROGRESS, IN_PROGRESS, EVENT_FIRED));
+        assertEquals(2, Collections.frequency(actions, AFTER_FAILURE.toString()));
+        assertEquals(2, Collections.frequency(actions, AFTER_COMPLETION.toString()));
+        assertFalse(Actions.contains(BEFORE_COMPLETION));
+        assertFalse(Actions.contains(AFTER_SUCCESS));
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.coalescing.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.test.util.Utils;
+import org.jboss.weld.tests.category.Integration;
+import org.jboss.weld.tests.event.observer.transactional.TransactionalObserversTest;
+import org.jboss.weld.tests.event.observer.transactional.coalescing.BatchAgent;
+import org.jboss.weld.tests.util.PropertiesBuilder;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests that the <code>AFTER_SUCCESS</code> notifications are processed by the Weld executor, in order, see
+ * {@link ConfigurationKey#TRANSACTIONAL_OBSERVER_ASYNC_AFTER_SUCCESS}.
+ */
+@Category(Integration.class)
+@RunWith(Arquillian.class)
+public class AsyncAfterSuccessTransactionalObserversTest {
+
+    @Deployment
+    public static Archive<?> deploy() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(AsyncAfterSuccessTransactionalObserversTest.class))
+                .addPackage(TransactionalObserversTest.class.getPackage())
+                .addPackage(AsyncAfterSuccessTransactionalObserversTest.class.getPackage())
+                .addClasses(BatchAgent.class, Utils.class)
+                .addAsResource(PropertiesBuilder.newBuilder().set(ConfigurationKey.TRANSACTIONAL_OBSERVER_COALESCING.get(), "true")
+                        .set(ConfigurationKey.TRANSACTIONAL_OBSERVER_ASYNC_AFTER_SUCCESS.get(), "true").build(), "weld.properties");
+    }
+
+    @Inject
+    private BatchAgent agent;
+
+    @Test
+    public void testAfterSuccessNotifiedAsynchronouslyInOrder() throws InterruptedException {
+        PingObserver.reset(3);
+        agent.sendInTransaction(new Ping(1), new Ping(2), new Ping(3));
+        assertTrue(PingObserver.latch.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 2, 3), PingObserver.NOTIFIED);
+        // All the notifications are processed by a single task, not by the thread completing the transaction
+        assertNotNull(PingObserver.completingThread);
+        assertEquals(3, PingObserver.THREADS.size());
+        Thread notifyingThread = PingObserver.THREADS.get(0);
+        assertNotSame(PingObserver.completingThread, notifyingThread);
+        assertSame(notifyingThread, PingObserver.THREADS.get(1));
+        assertSame(notifyingThread, PingObserver.THREADS.get(2));
+    }
+
+}
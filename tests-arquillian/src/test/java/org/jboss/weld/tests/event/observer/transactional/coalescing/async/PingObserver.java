@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.event.observer.transactional.coalescing.async;
+
+import static javax.enterprise.event.TransactionPhase.AFTER_SUCCESS;
+import static javax.enterprise.event.TransactionPhase.BEFORE_COMPLETION;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+@ApplicationScoped
+public class PingObserver {
+
+    static final List<Integer> NOTIFIED = Collections.synchronizedList(new ArrayList<Integer>());
+
+    static final List<Thread> THREADS = Collections.synchronizedList(new ArrayList<Thread>());
+
+    static volatile Thread completingThread;
+
+    static volatile CountDownLatch latch;
+
+    static void reset(int expectedNotifications) {
+        NOTIFIED.clear();
+        THREADS.clear();
+        completingThread = null;
+        latch = new CountDownLatch(expectedNotifications);
+    }
+
+    void beforeCompletion(@Observes(during = BEFORE_COMPLETION) Ping ping) {
+        completingThread = Thread.currentThread();
+    }
+
+    void afterSuccess(@Observes(during = AFTER_SUCCESS) Ping ping) {
+        NOTIFIED.add(ping.getId());
+        THREADS.add(Thread.currentThread());
+        latch.countDown();
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.experimental.event.async.parallel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.ObservesAsync;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.event.EventImpl;
+import org.jboss.weld.event.NotificationMode;
+import org.jboss.weld.event.NotificationOptions;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests {@link NotificationMode#PARALLEL}.
+ */
+@RunWith(Arquillian.class)
+public class ParallelAsyncNotificationTest {
+
+    private static final CountDownLatch BLOCKING_OBSERVER_LATCH = new CountDownLatch(1);
+
+    private static final BlockingQueue<Throwable> FAILURES = new LinkedBlockingQueue<>();
+
+    @Inject
+    private Event<Ping> event;
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(ParallelAsyncNotificationTest.class))
+                .addPackage(ParallelAsyncNotificationTest.class.getPackage());
+    }
+
+    @Test
+    public void testObserversNotifiedInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // The first observer waits until the second one is notified - this would never happen in the serial mode
+            Throwable failure = ((EventImpl<Ping>) event).fireAsync(new Ping(), NotificationOptions.of(executor, NotificationMode.PARALLEL))
+                    .handle((ping, throwable) -> throwable).toCompletableFuture().get(10, TimeUnit.SECONDS);
+            assertNotNull(failure);
+            // Exceptions are collected in the same way as in the serial mode
+            assertEquals(1, failure.getSuppressed().length);
+            assertTrue(failure.getSuppressed()[0] instanceof IllegalStateException);
+            assertTrue(FAILURES.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static void observeBlocking(@ObservesAsync Ping ping, RequestScopedCounter counter) throws InterruptedException {
+        counter.increment();
+        if (!BLOCKING_OBSERVER_LATCH.await(5, TimeUnit.SECONDS)) {
+            FAILURES.add(new AssertionError("Observers not notified in parallel"));
+        }
+        if (counter.get() != 1) {
+            FAILURES.add(new AssertionError("Request context shared between observers"));
+        }
+    }
+
+    public static void observeFailing(@ObservesAsync Ping ping, RequestScopedCounter counter) {
+        counter.increment();
+        BLOCKING_OBSERVER_LATCH.countDown();
+        throw new IllegalStateException();
+    }
+
+    public static class Ping {
+    }
+
+    @RequestScoped
+    public static class RequestScopedCounter {
+
+        private int value;
+
+        void increment() {
+            value++;
+        }
+
+        int get() {
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.experimental.event.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.ObservesAsync;
+import javax.inject.Inject;
+
+import org.jboss.arquillian.container.test.api.Deployment;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.BeanArchive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.weld.event.EventImpl;
+import org.jboss.weld.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests {@link EventImpl#fireAll(java.util.Collection)} and {@link EventImpl#fireAllAsync(java.util.Collection)}.
+ */
+@RunWith(Arquillian.class)
+public class FireAllTest {
+
+    private static final List<Object> SYNC_EVENTS = new CopyOnWriteArrayList<>();
+
+    private static final List<Object> ASYNC_EVENTS = new CopyOnWriteArrayList<>();
+
+    private static final Set<String> REQUEST_IDS = new CopyOnWriteArraySet<>();
+
+    @Inject
+    private Event<Message> event;
+
+    @Deployment
+    public static Archive<?> getDeployment() {
+        return ShrinkWrap.create(BeanArchive.class, Utils.getDeploymentNameAsHash(FireAllTest.class)).addPackage(FireAllTest.class.getPackage());
+    }
+
+    @Test
+    public void testFireAll() {
+        SYNC_EVENTS.clear();
+        List<Message> messages = Arrays.asList(new Message(), new Message(), new UrgentMessage(), new Message());
+        ((EventImpl<Message>) event).fireAll(messages);
+        // the order is preserved, UrgentMessage is observed twice
+        assertEquals(Arrays.asList(messages.get(0), messages.get(1), messages.get(2), messages.get(2), messages.get(3)), new ArrayList<>(SYNC_EVENTS));
+    }
+
+    @Test
+    public void testFireAllAsync() throws InterruptedException, ExecutionException, TimeoutException {
+        ASYNC_EVENTS.clear();
+        REQUEST_IDS.clear();
+        List<Message> messages = Arrays.asList(new Message(), new Message(), new Message());
+        List<Message> result = ((EventImpl<Message>) event).fireAllAsync(messages).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEquals(messages, result);
+        assertEquals(messages, new ArrayList<>(ASYNC_EVENTS));
+        // the request context is only activated once
+        assertEquals(1, REQUEST_IDS.size());
+    }
+
+    @Test
+    public void testFireAllAsyncEmpty() throws InterruptedException, ExecutionException, TimeoutException {
+        assertTrue(((EventImpl<Message>) event).fireAllAsync(Collections.<Message> emptyList()).toCompletableFuture().get(10, TimeUnit.SECONDS).isEmpty());
+    }
+
+    public static void observeSync(@Observes Message message) {
+        SYNC_EVENTS.add(message);
+    }
+
+    public static void observeUrgent(@Observes UrgentMessage message) {
+        SYNC_EVENTS.add(message);
+    }
+
+    public static void observeAsync(@ObservesAsync Message message, RequestId requestId) {
+        ASYNC_EVENTS.add(message);
+        REQUEST_IDS.add(requestId.getId());
+    }
+
+    public static class Message {
+    }
+
+    public static class UrgentMessage extends Message {
+    }
+
+    @RequestScoped
+    public static class RequestId {
+
+        private final String id = UUID.randomUUID().toString();
+
+        public String getId() {
+            return id;
+        }
+
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.scheduler;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.BeanDeploymentArchiveImpl;
+import org.jboss.arquillian.container.weld.ee.embedded_1_1.mock.TestContainer;
+import org.jboss.weld.bootstrap.ConcurrentValidator;
+import org.jboss.weld.bootstrap.Validator;
+import org.jboss.weld.bootstrap.spi.BeanDeploymentArchive;
+import org.jboss.weld.bootstrap.spi.Deployment;
+import org.jboss.weld.config.ConfigurationKey;
+import org.jboss.weld.configuration.spi.ExternalConfiguration;
+import org.jboss.weld.configuration.spi.helpers.ExternalConfigurationBuilder;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.mock.AbstractDeployment;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Verifies that {@link org.jboss.weld.bootstrap.ConcurrentBeanDeploymentScheduler} deploys the same beans and observer methods and fires the same container
+ * lifecycle events as {@link org.jboss.weld.bootstrap.BeanDeploymentScheduler} for a deployment with several bean archives.
+ */
+public class BeanDeploymentSchedulerTest {
+
+    @Test
+    public void testConcurrentDeploymentEquivalent() {
+        DeploymentSnapshot sequential = deploy(false);
+        DeploymentSnapshot concurrent = deploy(true);
+        Assert.assertFalse(sequential.concurrent);
+        Assert.assertTrue(concurrent.concurrent);
+
+        // Cross-archive specialization
+        Assert.assertEquals(sequential.engine, "turbo");
+        Assert.assertEquals(concurrent.engine, "turbo");
+
+        Assert.assertEquals(concurrent.beans, sequential.beans);
+        Assert.assertEquals(concurrent.observers, sequential.observers);
+        Assert.assertEquals(concurrent.events, sequential.events);
+        Assert.assertTrue(sequential.events.contains("ProcessManagedBean " + toString(sequential.carBean)), sequential.events.toString());
+        Assert.assertTrue(sequential.events.contains("ProcessObserverMethod " + Radio.class.getName() + " " + Honk.class), sequential.events.toString());
+    }
+
+    private DeploymentSnapshot deploy(boolean concurrentDeployment) {
+        final BeanDeploymentArchiveImpl lib = new BeanDeploymentArchiveImpl("lib", Engine.class, Garage.class);
+        final BeanDeploymentArchiveImpl app = new BeanDeploymentArchiveImpl("app", TurboEngine.class, Car.class);
+        final BeanDeploymentArchiveImpl other = new BeanDeploymentArchiveImpl("other", Radio.class);
+        final BeanDeploymentArchiveImpl war = new BeanDeploymentArchiveImpl("war");
+        app.getBeanDeploymentArchives().add(lib);
+        war.getBeanDeploymentArchives().add(lib);
+        war.getBeanDeploymentArchives().add(app);
+        war.getBeanDeploymentArchives().add(other);
+
+        RecordingExtension extension = new RecordingExtension();
+        final Deployment deployment = new AbstractDeployment(war, extension) {
+
+            public BeanDeploymentArchive loadBeanDeploymentArchive(Class<?> beanClass) {
+                return war;
+            }
+
+        };
+        deployment.getServices().add(ExternalConfiguration.class,
+                new ExternalConfigurationBuilder().add(ConfigurationKey.CONCURRENT_DEPLOYMENT.get(), concurrentDeployment).build());
+
+        TestContainer container = new TestContainer(deployment);
+        try {
+            container.startContainer().ensureRequestActive();
+            DeploymentSnapshot snapshot = new DeploymentSnapshot();
+            BeanManagerImpl appManager = (BeanManagerImpl) container.getBeanManager(app);
+            snapshot.concurrent = deployment.getServices().get(Validator.class) instanceof ConcurrentValidator;
+            Bean<?> carBean = appManager.resolve(appManager.getBeans(Car.class));
+            snapshot.carBean = carBean;
+            snapshot.engine = ((Car) appManager.getReference(carBean, Car.class, appManager.createCreationalContext(carBean))).engine.getName();
+            for (BeanDeploymentArchive archive : new BeanDeploymentArchive[] { war, lib, app, other }) {
+                BeanManagerImpl manager = (BeanManagerImpl) container.getBeanManager(archive);
+                List<String> beans = new ArrayList<String>();
+                for (Bean<?> bean : manager.getBeans()) {
+                    beans.add(toString(bean));
+                }
+                Collections.sort(beans);
+                snapshot.beans.put(archive.getId(), beans);
+                List<String> observers = new ArrayList<String>();
+                for (ObserverMethod<?> observer : manager.getObservers()) {
+                    observers.add(observer.getBeanClass().getName() + " " + observer.getObservedType() + " " + observer.getObservedQualifiers());
+                }
+                Collections.sort(observers);
+                snapshot.observers.put(archive.getId(), observers);
+            }
+            // The order of the events fired for the beans of a single archive is not defined
+            snapshot.events = extension.getEvents();
+            Collections.sort(snapshot.events);
+            return snapshot;
+        } finally {
+            container.stopContainer();
+        }
+    }
+
+    static String toString(Bean<?> bean) {
+        List<String> types = new ArrayList<String>();
+        for (Type type : bean.getTypes()) {
+            types.add(type.getTypeName());
+        }
+        Collections.sort(types);
+        List<String> qualifiers = new ArrayList<String>();
+        for (Object qualifier : bean.getQualifiers()) {
+            qualifiers.add(qualifier.toString());
+        }
+        Collections.sort(qualifiers);
+        return bean.getBeanClass().getName() + " " + types + " " + qualifiers;
+    }
+
+    private static class DeploymentSnapshot {
+
+        private boolean concurrent;
+        private Bean<?> carBean;
+        private String engine;
+        private final Map<String, List<String>> beans = new LinkedHashMap<String, List<String>>();
+        private final Map<String, List<String>> observers = new LinkedHashMap<String, List<String>>();
+        private List<String> events;
+
+    }
+
+}
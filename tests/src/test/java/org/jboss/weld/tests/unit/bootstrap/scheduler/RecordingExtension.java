@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.bootstrap.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.Extension;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.enterprise.inject.spi.ProcessBean;
+import javax.enterprise.inject.spi.ProcessInjectionTarget;
+import javax.enterprise.inject.spi.ProcessManagedBean;
+import javax.enterprise.inject.spi.ProcessObserverMethod;
+import javax.enterprise.inject.spi.ProcessProducer;
+import javax.enterprise.inject.spi.ProcessProducerField;
+import javax.enterprise.inject.spi.ProcessProducerMethod;
+
+/**
+ * Records the bean and observer method events fired during bootstrap.
+ */
+public class RecordingExtension implements Extension {
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+
+    void processInjectionTarget(@Observes ProcessInjectionTarget<?> event) {
+        events.add("ProcessInjectionTarget " + event.getAnnotatedType().getJavaClass().getName());
+    }
+
+    void processProducer(@Observes ProcessProducer<?, ?> event) {
+        events.add("ProcessProducer " + event.getAnnotatedMember());
+    }
+
+    void processBean(@Observes ProcessBean<?> event) {
+        String kind;
+        if (event instanceof ProcessManagedBean<?>) {
+            kind = "ProcessManagedBean ";
+        } else if (event instanceof ProcessProducerMethod<?, ?>) {
+            kind = "ProcessProducerMethod ";
+        } else if (event instanceof ProcessProducerField<?, ?>) {
+            kind = "ProcessProducerField ";
+        } else {
+            kind = "ProcessBean ";
+        }
+        events.add(kind + BeanDeploymentSchedulerTest.toString(event.getBean()));
+    }
+
+    void processObserverMethod(@Observes ProcessObserverMethod<?, ?> event) {
+        ObserverMethod<?> observerMethod = event.getObserverMethod();
+        events.add("ProcessObserverMethod " + observerMethod.getBeanClass().getName() + " " + observerMethod.getObservedType());
+    }
+
+    List<String> getEvents() {
+        synchronized (events) {
+            return new ArrayList<String>(events);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2016, Red Hat, Inc., and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.weld.tests.unit.resolution;
+
+import static org.jboss.weld.bootstrap.api.helpers.RegistrySingletonProvider.STATIC_INSTANCE;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.jboss.weld.Container;
+import org.jboss.weld.bootstrap.api.ServiceRegistry;
+import org.jboss.weld.bootstrap.api.helpers.SimpleServiceRegistry;
+import org.jboss.weld.config.WeldConfiguration;
+import org.jboss.weld.event.DefaultObserverNotifierFactory;
+import org.jboss.weld.event.GlobalObserverNotifierService;
+import org.jboss.weld.manager.BeanManagerImpl;
+import org.jboss.weld.metadata.TypeStore;
+import org.jboss.weld.metadata.cache.MetaAnnotationStore;
+import org.jboss.weld.module.ExpressionLanguageSupport;
+import org.jboss.weld.module.ObserverNotifierFactory;
+import org.jboss.weld.resources.ClassTransformer;
+import org.jboss.weld.resources.ReflectionCacheFactory;
+import org.jboss.weld.resources.SharedObjectCache;
+import org.jboss.weld.security.NoopSecurityServices;
+import org.jboss.weld.security.spi.SecurityServices;
+import org.jboss.weld.serialization.BeanIdentifierIndex;
+import org.jboss.weld.serialization.ContextualStoreImpl;
+import org.jboss.weld.serialization.spi.ContextualStore;
+import org.jboss.weld.tests.unit.deployment.structure.resolution.MockDeployment;
+import org.jboss.weld.util.reflection.GenericArrayTypeImpl;
+import org.jboss.weld.web.WeldWebModule;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Observer methods added after the observer method index is built must be taken into account.
+ */
+public class ObserverMethodIndexTest {
+
+    private ServiceRegistry services;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        BeanIdentifierIndex beanIdentifierIndex = new BeanIdentifierIndex();
+        beanIdentifierIndex.build(Collections.<Bean<?>> emptySet());
+        TypeStore typeStore = new TypeStore();
+        ClassTransformer classTransformer = new ClassTransformer(typeStore, new SharedObjectCache(), ReflectionCacheFactory.newInstance(typeStore),
+                STATIC_INSTANCE);
+        this.services = new SimpleServiceRegistry();
+        this.services.add(MetaAnnotationStore.class, new MetaAnnotationStore(classTransformer));
+        this.services.add(ContextualStore.class, new ContextualStoreImpl(STATIC_INSTANCE, beanIdentifierIndex));
+        this.services.add(ClassTransformer.class, classTransformer);
+        this.services.add(SharedObjectCache.class, new SharedObjectCache());
+        this.services.add(WeldConfiguration.class, new WeldConfiguration(this.services, new MockDeployment(services)));
+        this.services.add(SecurityServices.class, NoopSecurityServices.INSTANCE);
+        this.services.add(ObserverNotifierFactory.class, DefaultObserverNotifierFactory.INSTANCE);
+        this.services.add(GlobalObserverNotifierService.class, new GlobalObserverNotifierService(services, STATIC_INSTANCE));
+        this.services.add(ExpressionLanguageSupport.class, WeldWebModule.EL_SUPPORT);
+    }
+
+    @Test
+    public void testObserverAddedAfterResolution() {
+        BeanManagerImpl root = BeanManagerImpl.newRootManager(STATIC_INSTANCE, "root", services);
+        Container.initialize(root, services);
+        BeanManagerImpl child = BeanManagerImpl.newRootManager(STATIC_INSTANCE, "child", services);
+        ObserverMethod<?> integerObserver = new SimpleObserverMethod(Integer.class);
+        root.addObserver(integerObserver);
+        // Builds the index
+        assertObservers(root.resolveObserverMethods(1), integerObserver);
+
+        ObserverMethod<?> numberObserver = new SimpleObserverMethod(Number.class);
+        child.addObserver(numberObserver);
+        // Long has not been resolved yet
+        assertObservers(root.resolveObserverMethods(2L), numberObserver);
+        // The resolved observer methods are only updated once the resolver is cleared
+        assertObservers(root.resolveObserverMethods(3), integerObserver);
+        root.getServices().get(GlobalObserverNotifierService.class).getGlobalStrictObserverNotifier().clear();
+        assertObservers(root.resolveObserverMethods(3), integerObserver, numberObserver);
+    }
+
+    @Test
+    public void testUnindexedObserverAddedAfterResolution() {
+        BeanManagerImpl root = BeanManagerImpl.newRootManager(STATIC_INSTANCE, "root", services);
+        Container.initialize(root, services);
+        ObserverMethod<?> stringObserver = new SimpleObserverMethod(String.class);
+        root.addObserver(stringObserver);
+        assertObservers(root.resolveObserverMethods("foo"), stringObserver);
+
+        // Neither the type variable nor the array types are indexed
+        Type typeVariable = Box.class.getTypeParameters()[0];
+        ObserverMethod<?> typeVariableObserver = new SimpleObserverMethod(typeVariable);
+        ObserverMethod<?> arrayObserver = new SimpleObserverMethod(String[].class);
+        ObserverMethod<?> genericArrayObserver = new SimpleObserverMethod(new GenericArrayTypeImpl(typeVariable));
+        root.addObserver(typeVariableObserver);
+        root.addObserver(arrayObserver);
+        root.addObserver(genericArrayObserver);
+
+        assertObservers(root.resolveObserverMethods(new StringBuilder("foo")), typeVariableObserver);
+        assertObservers(root.resolveObserverMethods(new String[] { "foo" }), arrayObserver, genericArrayObserver);
+        assertObservers(root.resolveObserverMethods(1));
+    }
+
+    private static void assertObservers(Iterable<? extends ObserverMethod<?>> resolved, ObserverMethod<?>... expected) {
+        Set<ObserverMethod<?>> expectedSet = new HashSet<ObserverMethod<?>>();
+        Collections.addAll(expectedSet, expected);
+        List<ObserverMethod<?>> resolvedList = new ArrayList<ObserverMethod<?>>();
+        for (ObserverMethod<?> observer : resolved) {
+            resolvedList.add(observer);
+        }
+        Assert.assertEquals(resolvedList.size(), expectedSet.size(), resolvedList.toString());
+        Assert.assertEquals(new HashSet<ObserverMethod<?>>(resolvedList), expectedSet);
+    }
+
+    static class Box<T extends CharSequence> {
+    }
+
+}